@@ -0,0 +1,103 @@
+package com.serviq.provider.backfill;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A backfill job while this instance runs it. Progress that outlives the run
+ * is kept in the checkpoint table.
+ */
+final class BackfillRun {
+
+    enum Status {
+        RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final UUID jobId;
+    private final long total;
+    private final RateLimiter rateLimiter;
+    private final boolean snapshotsOnly;
+    private final OffsetDateTime startedAt = OffsetDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLong published = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile OffsetDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    BackfillRun(UUID jobId, long total, int ratePerSecond, boolean snapshotsOnly) {
+        this.jobId = jobId;
+        this.total = total;
+        this.rateLimiter = new RateLimiter(ratePerSecond);
+        this.snapshotsOnly = snapshotsOnly;
+    }
+
+    UUID jobId() {
+        return jobId;
+    }
+
+    long total() {
+        return total;
+    }
+
+    RateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    boolean snapshotsOnly() {
+        return snapshotsOnly;
+    }
+
+    OffsetDateTime startedAt() {
+        return startedAt;
+    }
+
+    OffsetDateTime finishedAt() {
+        return finishedAt;
+    }
+
+    Status status() {
+        return status;
+    }
+
+    String error() {
+        return error;
+    }
+
+    boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    long published() {
+        return published.get();
+    }
+
+    void published(int events) {
+        published.addAndGet(events);
+    }
+
+    // Events per second published by this run so far
+    double eventsPerSecond() {
+        long end = status == Status.RUNNING ? System.nanoTime() : finishedNanos;
+        double seconds = (end - startedNanos) / 1_000_000_000.0;
+        return seconds > 0 ? published.get() / seconds : 0;
+    }
+
+    void finish(Status status, String error) {
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = OffsetDateTime.now();
+        this.error = error;
+        this.status = status;
+    }
+}
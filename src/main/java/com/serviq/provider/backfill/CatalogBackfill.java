@@ -0,0 +1,364 @@
+package com.serviq.provider.backfill;
+
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.request.BackfillRequest;
+import com.serviq.provider.dto.response.BackfillStatusResponse;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.entity.BackfillCheckpoint;
+import com.serviq.provider.events.publisher.ServiceEventPublisher;
+import com.serviq.provider.events.publisher.ServiceSnapshotPublisher;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.exception.EventPublishException;
+import com.serviq.provider.exception.ResourceNotFoundException;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.repository.BackfillCheckpointRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Republishes every active service to the service events topic, for example
+ * when the search cluster is rebuilt, and every service, active or not, to the
+ * snapshot topic, which is how a new snapshot topic gets seeded. The id space
+ * is split into ranges, each streamed through a server-side cursor of ids on
+ * its own virtual thread. The cursor may be minutes old when a batch is sent,
+ * so each batch reads its services again right before sending and a stale
+ * snapshot never overwrites a newer one from the outbox relay. Events go
+ * straight to Kafka rather than through the outbox, at a shared rate, and each
+ * partition checkpoints the last id the broker confirmed so a failed or
+ * cancelled job resumes where it stopped. One job runs at a time per instance.
+ * <p>
+ * A running partition holds two connections, one for its cursor and one for
+ * the checkpoint it commits alongside, so partitions are capped at half the
+ * connection pool. More would leave partitions waiting on each other for
+ * connections they never get back.
+ */
+@Slf4j
+@Component
+public class CatalogBackfill {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private final ProviderServiceRepository providerServiceRepository;
+    private final ServiceLocationRepository serviceLocationRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final ServiceEventPublisher serviceEventPublisher;
+    private final ServiceSnapshotPublisher serviceSnapshotPublisher;
+    private final ServiceEventMapper eventMapper;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate checkpointTransaction;
+    private final int defaultPartitions;
+    private final int maxPartitions;
+    private final int defaultRate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    private final AtomicReference<BackfillRun> current = new AtomicReference<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("backfill-", 0).factory());
+
+    public CatalogBackfill(ProviderServiceRepository providerServiceRepository,
+                           ServiceLocationRepository serviceLocationRepository,
+                           BackfillCheckpointRepository checkpointRepository,
+                           ServiceEventPublisher serviceEventPublisher,
+                           ServiceSnapshotPublisher serviceSnapshotPublisher,
+                           ServiceEventMapper eventMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${backfill.partitions:4}") int defaultPartitions,
+                           @Value("${backfill.rate:500}") int defaultRate,
+                           @Value("${backfill.batch-size:500}") int batchSize,
+                           @Value("${backfill.send-timeout:PT30S}") Duration sendTimeout,
+                           @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.providerServiceRepository = providerServiceRepository;
+        this.serviceLocationRepository = serviceLocationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.serviceEventPublisher = serviceEventPublisher;
+        this.serviceSnapshotPublisher = serviceSnapshotPublisher;
+        this.eventMapper = eventMapper;
+        this.maxPartitions = maxPartitions(connectionPoolSize);
+        if (defaultPartitions < 1 || defaultPartitions > maxPartitions) {
+            throw new IllegalStateException("backfill.partitions must be between 1 and " + maxPartitions
+                    + ", half the connection pool of " + connectionPoolSize);
+        }
+        this.defaultPartitions = defaultPartitions;
+        this.defaultRate = defaultRate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Checkpoints commit on their own while the partition's cursor stays open
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        this.checkpointTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BackfillStatusResponse start(BackfillRequest request) {
+        ensureIdle();
+        int partitions = request.getPartitions() != null ? request.getPartitions() : defaultPartitions;
+        ensureWithinPool(partitions);
+        UUID jobId = UUID.randomUUID();
+
+        List<UUID> bounds = partitionBounds(partitions);
+        List<BackfillCheckpoint> checkpoints = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            checkpoints.add(BackfillCheckpoint.builder()
+                    .jobId(jobId)
+                    .partitionNo(i)
+                    .rangeStart(bounds.get(i))
+                    .rangeEnd(bounds.get(i + 1))
+                    .updatedAt(OffsetDateTime.now())
+                    .build());
+        }
+        checkpoints = checkpointRepository.saveAll(checkpoints);
+
+        log.info("Starting catalog backfill {} with {} partitions", jobId, partitions);
+        return run(jobId, checkpoints, request);
+    }
+
+    public BackfillStatusResponse resume(UUID jobId, BackfillRequest request) {
+        List<BackfillCheckpoint> checkpoints = findCheckpoints(jobId);
+        ensureIdle();
+        if (checkpoints.stream().allMatch(BackfillCheckpoint::getCompleted)) {
+            throw new BusinessValidationException("Backfill " + jobId + " has already completed");
+        }
+        ensureWithinPool((int) checkpoints.stream().filter(checkpoint -> !checkpoint.getCompleted()).count());
+
+        log.info("Resuming catalog backfill {}", jobId);
+        return run(jobId, checkpoints, request);
+    }
+
+    public BackfillStatusResponse cancel(UUID jobId) {
+        BackfillRun run = current.get();
+        if (run == null || !run.isRunning() || !run.jobId().equals(jobId)) {
+            throw new BusinessValidationException("Backfill " + jobId + " is not running on this instance");
+        }
+        log.info("Cancelling catalog backfill {}", jobId);
+        run.cancel();
+        return getStatus(jobId);
+    }
+
+    public BackfillStatusResponse getStatus(UUID jobId) {
+        List<BackfillCheckpoint> checkpoints = findCheckpoints(jobId);
+        long published = checkpoints.stream().mapToLong(BackfillCheckpoint::getPublished).sum();
+        boolean completed = checkpoints.stream().allMatch(BackfillCheckpoint::getCompleted);
+
+        BackfillStatusResponse.BackfillStatusResponseBuilder status = BackfillStatusResponse.builder()
+                .jobId(jobId)
+                .status(completed ? BackfillRun.Status.COMPLETED.name() : "INCOMPLETE")
+                .published(published)
+                .partitions(checkpoints.stream()
+                        .map(checkpoint -> BackfillStatusResponse.Partition.builder()
+                                .partitionNo(checkpoint.getPartitionNo())
+                                .published(checkpoint.getPublished())
+                                .completed(checkpoint.getCompleted())
+                                .lastServiceId(checkpoint.getLastServiceId())
+                                .build())
+                        .toList());
+
+        BackfillRun run = current.get();
+        if (run != null && run.jobId().equals(jobId)) {
+            status.status(run.status().name())
+                    .total(run.total())
+                    .eventsPerSecond(Math.round(run.eventsPerSecond() * 10) / 10.0)
+                    .startedAt(run.startedAt())
+                    .finishedAt(run.finishedAt())
+                    .error(run.error());
+        }
+        return status.build();
+    }
+
+    private List<BackfillCheckpoint> findCheckpoints(UUID jobId) {
+        List<BackfillCheckpoint> checkpoints = checkpointRepository.findByJobIdOrderByPartitionNo(jobId);
+        if (checkpoints.isEmpty()) {
+            throw new ResourceNotFoundException("Backfill not found with id: " + jobId);
+        }
+        return checkpoints;
+    }
+
+    private void ensureIdle() {
+        BackfillRun run = current.get();
+        if (run != null && run.isRunning()) {
+            throw new BusinessValidationException("Backfill " + run.jobId() + " is already running");
+        }
+    }
+
+    private void ensureWithinPool(int partitions) {
+        if (partitions > maxPartitions) {
+            throw new BusinessValidationException("At most " + maxPartitions
+                    + " partitions can run with the current connection pool");
+        }
+    }
+
+    private BackfillStatusResponse run(UUID jobId, List<BackfillCheckpoint> checkpoints, BackfillRequest request) {
+        BackfillRun run = new BackfillRun(jobId, providerServiceRepository.count(),
+                request.getRatePerSecond() != null ? request.getRatePerSecond() : defaultRate,
+                Boolean.TRUE.equals(request.getSnapshotsOnly()));
+        // Two requests may both have passed ensureIdle, only one gets to run
+        BackfillRun previous = current.get();
+        if ((previous != null && previous.isRunning()) || !current.compareAndSet(previous, run)) {
+            throw new BusinessValidationException("Another backfill is already running");
+        }
+
+        List<CompletableFuture<Void>> partitions = checkpoints.stream()
+                .filter(checkpoint -> !checkpoint.getCompleted())
+                .map(checkpoint -> CompletableFuture.runAsync(() -> runPartition(run, checkpoint), executor))
+                .toList();
+        CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new)).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                run.finish(BackfillRun.Status.FAILED, cause.getMessage());
+                log.error("Catalog backfill {} failed, resume it to continue", jobId, cause);
+            } else if (run.isCancelRequested()) {
+                run.finish(BackfillRun.Status.CANCELLED, null);
+                log.info("Catalog backfill {} cancelled", jobId);
+            } else {
+                run.finish(BackfillRun.Status.COMPLETED, null);
+                log.info("Catalog backfill {} completed, {} events at {} events/sec",
+                        jobId, run.published(), Math.round(run.eventsPerSecond()));
+            }
+        });
+        return getStatus(jobId);
+    }
+
+    private void runPartition(BackfillRun run, BackfillCheckpoint checkpoint) {
+        UUID after = checkpoint.getLastServiceId() != null ? checkpoint.getLastServiceId() : checkpoint.getRangeStart();
+        boolean drained = Boolean.TRUE.equals(readTransaction.execute(status -> {
+            try (Stream<UUID> serviceIds = providerServiceRepository.streamIds(after, checkpoint.getRangeEnd())) {
+                Iterator<UUID> iterator = serviceIds.iterator();
+                List<UUID> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize) {
+                        publishBatch(run, checkpoint, batch);
+                        batch.clear();
+                        if (run.isCancelRequested()) {
+                            return false;
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    publishBatch(run, checkpoint, batch);
+                }
+                return true;
+            }
+        }));
+
+        if (drained) {
+            checkpoint.setCompleted(true);
+            saveCheckpoint(checkpoint);
+            log.info("Backfill {} partition {} done, {} events", run.jobId(), checkpoint.getPartitionNo(),
+                    checkpoint.getPublished());
+        }
+    }
+
+    private void publishBatch(BackfillRun run, BackfillCheckpoint checkpoint, List<UUID> batch) {
+        try {
+            run.rateLimiter().acquire(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishException("Backfill interrupted", e);
+        }
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size() * 2);
+        if (!run.snapshotsOnly()) {
+            // Current state, not the cursor's, so a change made since the cursor was opened is not undone
+            List<ProviderServiceResponse> active = providerServiceRepository.findResponsesByIdIn(batch).stream()
+                    .filter(service -> Boolean.TRUE.equals(service.getIsActive()))
+                    .toList();
+            Map<UUID, List<ServiceLocationView>> locations = active.isEmpty()
+                    ? Map.of()
+                    : serviceLocationRepository.findViewsByServiceIds(
+                                    active.stream().map(ProviderServiceResponse::getId).toList()).stream()
+                            .collect(Collectors.groupingBy(ServiceLocationView::serviceId));
+            for (ProviderServiceResponse service : active) {
+                futures.add(serviceEventPublisher.send(eventMapper.toServiceEventDto(ServiceEventType.SERVICE_BACKFILLED,
+                        service, locations.getOrDefault(service.getId(), List.of()))));
+            }
+        }
+        // Read when sent, like the relay's, and a tombstone for a service deleted since the cursor saw it
+        futures.addAll(serviceSnapshotPublisher.publishCurrentState(batch));
+        serviceEventPublisher.flush();
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        try {
+            for (CompletableFuture<?> future : futures) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            throw new EventPublishException("Backfill batch was not confirmed by the broker", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishException("Backfill interrupted", e);
+        }
+
+        // Only a fully confirmed batch moves the checkpoint, a resume sends the rest again
+        checkpoint.setLastServiceId(batch.getLast());
+        checkpoint.setPublished(checkpoint.getPublished() + batch.size());
+        saveCheckpoint(checkpoint);
+        run.published(batch.size());
+    }
+
+    private void saveCheckpoint(BackfillCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(OffsetDateTime.now());
+        checkpointTransaction.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+    }
+
+    /**
+     * Partitions that fit the connection pool, each takes two connections
+     */
+    static int maxPartitions(int connectionPoolSize) {
+        return Math.max(1, connectionPoolSize / 2);
+    }
+
+    /**
+     * Splits the id space into equal ranges by the leading 64 bits, compared
+     * unsigned as the database orders uuids. Partition {@code i} covers ids
+     * after bound {@code i} up to and including bound {@code i + 1}.
+     */
+    static List<UUID> partitionBounds(int partitions) {
+        List<UUID> bounds = new ArrayList<>(partitions + 1);
+        bounds.add(MIN_ID);
+        for (int i = 1; i < partitions; i++) {
+            long mostSignificant = BigInteger.valueOf(i).shiftLeft(64).divide(BigInteger.valueOf(partitions)).longValue();
+            bounds.add(new UUID(mostSignificant, 0L));
+        }
+        bounds.add(MAX_ID);
+        return bounds;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        BackfillRun run = current.get();
+        if (run != null) {
+            run.cancel();
+        }
+        executor.shutdownNow();
+    }
+}
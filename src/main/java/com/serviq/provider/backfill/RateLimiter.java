@@ -0,0 +1,31 @@
+package com.serviq.provider.backfill;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces permits evenly at a fixed rate, shared by all partitions of a run.
+ * A caller asking for several permits waits until the previous ones are paid
+ * for, so a batch goes out at once and the next one waits its turn.
+ */
+final class RateLimiter {
+
+    private final long nanosPerPermit;
+    private long nextFree = System.nanoTime();
+
+    RateLimiter(int permitsPerSecond) {
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    void acquire(int permits) throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(nextFree, now);
+            nextFree = start + permits * nanosPerPermit;
+            wait = start - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
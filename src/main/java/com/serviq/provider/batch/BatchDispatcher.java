@@ -0,0 +1,209 @@
+package com.serviq.provider.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.serviq.provider.dto.ErrorResponse;
+import com.serviq.provider.dto.request.BatchRequest;
+import com.serviq.provider.dto.response.BatchResponse;
+import com.serviq.provider.exception.BusinessValidationException;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the sub-requests of a batch through the dispatcher servlet, each on its
+ * own virtual thread, so they reach the same controllers, validation and
+ * exception handling as a direct call. Sub-requests are independent and run in
+ * no particular order. One limiter is shared by all batches, since every
+ * running sub-request holds a database connection. Whatever has not answered by
+ * the batch deadline is reported as 504: sub-requests still waiting for a
+ * permit never start, running ones are interrupted. Work that does not react
+ * to interrupts, such as a JDBC call, finishes and keeps its permit until then.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String BATCH_PATH = "/api/v1/batch";
+
+    /**
+     * Set on every sub-request, so a batch reached from inside a batch is refused
+     * however its path was spelled.
+     */
+    static final String SUB_REQUEST_ATTRIBUTE = BatchDispatcher.class.getName() + ".SUB_REQUEST";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+    private final Duration deadline;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("batch-", 0).factory());
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet,
+                           ObjectMapper objectMapper,
+                           @Value("${batch.deadline:PT10S}") Duration deadline,
+                           @Value("${batch.parallelism:4}") int parallelism) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.objectMapper = objectMapper;
+        this.deadline = deadline;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    public BatchResponse dispatch(BatchRequest batch, HttpServletRequest request, HttpServletResponse response) {
+        if (request instanceof BatchSubRequest || request.getAttribute(SUB_REQUEST_ATTRIBUTE) != null) {
+            throw new BusinessValidationException("Batches cannot be nested");
+        }
+        List<BatchRequest.SubRequest> subRequests = batch.getRequests();
+        subRequests.forEach(this::validate);
+
+        Duration batchDeadline = batch.getDeadlineMs() != null && batch.getDeadlineMs() < deadline.toMillis()
+                ? Duration.ofMillis(batch.getDeadlineMs())
+                : deadline;
+        long deadlineNanos = System.nanoTime() + batchDeadline.toNanos();
+
+        List<Future<BatchResponse.SubResponse>> futures = new ArrayList<>(subRequests.size());
+        for (BatchRequest.SubRequest subRequest : subRequests) {
+            BatchSubRequest servletRequest = new BatchSubRequest(request,
+                    subRequest.getMethod().toUpperCase(Locale.ROOT), subRequest.getPath(), toBytes(subRequest.getBody()));
+            servletRequest.setAttribute(SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+            BatchSubResponse servletResponse = new BatchSubResponse(response);
+            futures.add(executor.submit(() -> {
+                // A sub-request that cannot get a permit before the deadline is answered with 504 without running
+                if (!permits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                if (System.nanoTime() - deadlineNanos >= 0) {
+                    permits.release();
+                    throw new TimeoutException();
+                }
+                try {
+                    return execute(subRequest, servletRequest, servletResponse);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<BatchResponse.SubResponse> responses = new ArrayList<>(subRequests.size());
+        for (int i = 0; i < subRequests.size(); i++) {
+            responses.add(await(subRequests.get(i), futures.get(i), deadlineNanos));
+        }
+        return BatchResponse.builder().responses(responses).build();
+    }
+
+    private void validate(BatchRequest.SubRequest subRequest) {
+        // Checked decoded, the way the handler mappings will see it
+        String pathAndQuery = subRequest.getPath();
+        int query = pathAndQuery.indexOf('?');
+        String path;
+        try {
+            path = UriUtils.decode(query < 0 ? pathAndQuery : pathAndQuery.substring(0, query), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Sub-request path is not validly encoded: " + pathAndQuery);
+        }
+        if (!path.startsWith(API_PREFIX) || path.startsWith(BATCH_PATH) || path.contains("..")) {
+            throw new BusinessValidationException("Sub-request path must be under " + API_PREFIX
+                    + " and not a batch: " + pathAndQuery);
+        }
+    }
+
+    private byte[] toBytes(JsonNode body) {
+        if (body == null || body.isNull()) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new BusinessValidationException("Sub-request body is not valid JSON");
+        }
+    }
+
+    private BatchResponse.SubResponse execute(BatchRequest.SubRequest subRequest, BatchSubRequest request,
+                                              BatchSubResponse response) throws ServletException, IOException {
+        dispatcherServlet.service(request, response);
+
+        byte[] content = response.getContentAsByteArray();
+        JsonNode body = null;
+        if (content.length > 0) {
+            MediaType contentType = response.getContentType() != null
+                    ? MediaType.parseMediaType(response.getContentType())
+                    : null;
+            boolean json = contentType != null && ("json".equals(contentType.getSubtype())
+                    || "json".equals(contentType.getSubtypeSuffix()));
+            body = json ? objectMapper.readTree(content) : TextNode.valueOf(new String(content, response.getCharset()));
+        }
+        return BatchResponse.SubResponse.builder()
+                .id(subRequest.getId())
+                .status(response.getStatus())
+                .body(body)
+                .build();
+    }
+
+    private BatchResponse.SubResponse await(BatchRequest.SubRequest subRequest,
+                                            Future<BatchResponse.SubResponse> future, long deadlineNanos) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Batch sub-request {} {} missed the deadline", subRequest.getMethod(), subRequest.getPath());
+            return error(subRequest, HttpStatus.GATEWAY_TIMEOUT, "Sub-request did not complete within the batch deadline");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                log.warn("Batch sub-request {} {} did not start before the deadline", subRequest.getMethod(),
+                        subRequest.getPath());
+                return error(subRequest, HttpStatus.GATEWAY_TIMEOUT, "Sub-request did not complete within the batch deadline");
+            }
+            log.error("Batch sub-request {} {} failed", subRequest.getMethod(), subRequest.getPath(), e.getCause());
+            return error(subRequest, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return error(subRequest, HttpStatus.SERVICE_UNAVAILABLE, "Batch was interrupted");
+        }
+    }
+
+    private BatchResponse.SubResponse error(BatchRequest.SubRequest subRequest, HttpStatus status, String message) {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(OffsetDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(subRequest.getPath())
+                .build();
+        return BatchResponse.SubResponse.builder()
+                .id(subRequest.getId())
+                .status(status.value())
+                .body(objectMapper.valueToTree(error))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
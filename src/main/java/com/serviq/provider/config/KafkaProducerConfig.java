@@ -1,15 +1,24 @@
 package com.serviq.provider.config;
 
-import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import com.serviq.provider.events.schema.ServiceEventSchemaIds;
+import com.serviq.provider.events.schema.ServiceEventSerializer;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,13 +31,28 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.producer.properties.schema.registry.url}")
     private String schemaRegistryUrl;
 
+    @Value("${outbox.relay.max-block:PT5S}")
+    private Duration maxBlock;
+
+    @Value("${kafka.schema.registry-timeout:PT5S}")
+    private Duration registryTimeout;
+
+    /**
+     * Only used to resolve schema ids, at startup or on the first send of a
+     * subject that could not be resolved then
+     */
+    @Bean
+    public SchemaRegistryClient schemaRegistryClient() {
+        int timeoutMillis = (int) registryTimeout.toMillis();
+        return new CachedSchemaRegistryClient(schemaRegistryUrl, 100, Map.of(
+                "http.connect.timeout.ms", timeoutMillis,
+                "http.read.timeout.ms", timeoutMillis));
+    }
+
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory(ServiceEventSchemaIds schemaIds, MeterRegistry meterRegistry) {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaAvroSerializer.class);
-        config.put("schema.registry.url", schemaRegistryUrl);
 
         // Producer optimizations
         config.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -38,12 +62,33 @@ public class KafkaProducerConfig {
         config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
+        // Bounds how long send() waits for metadata when the broker is unreachable
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlock.toMillis());
+
+        DefaultKafkaProducerFactory<String, Object> producerFactory =
+                new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new ServiceEventSerializer(schemaIds));
+        // Binds the producer's own metrics (buffer, in-flight requests, batches) as kafka.producer.* meters
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
+    }
 
-        return new DefaultKafkaProducerFactory<>(config);
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 
+    /**
+     * Snapshot topic, compacted so it keeps only the latest state of each service
+     */
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    @ConditionalOnProperty(name = "kafka.snapshot.create-topic", havingValue = "true")
+    public NewTopic serviceSnapshotTopic(@Value("${kafka.topic.service-snapshots}") String topic,
+                                         @Value("${kafka.snapshot.partitions:6}") int partitions,
+                                         @Value("${kafka.snapshot.replicas:1}") int replicas) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .build();
     }
 }
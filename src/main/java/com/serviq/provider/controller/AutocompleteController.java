@@ -0,0 +1,56 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.dto.response.SuggestionResponse;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.search.AutocompleteIndex;
+import com.serviq.provider.search.SuggestionType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Search box suggestions served from memory")
+public class AutocompleteController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    @GetMapping
+    @Operation(summary = "Suggest cities, locations, providers and services",
+            description = "Matches the start of any word, most popular first. Restrict with types=CITY,SERVICE")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<SuggestionType> types,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to autocomplete: {}", q);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Set<SuggestionType> requested = types == null || types.isEmpty()
+                ? EnumSet.allOf(SuggestionType.class)
+                : EnumSet.copyOf(types);
+        List<SuggestionResponse> suggestions = autocompleteIndex.suggest(q, requested, limit).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.text())
+                        .type(suggestion.type())
+                        .weight(suggestion.weight())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(suggestions);
+    }
+}
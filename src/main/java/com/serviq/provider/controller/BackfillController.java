@@ -0,0 +1,62 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.backfill.CatalogBackfill;
+import com.serviq.provider.dto.request.BackfillRequest;
+import com.serviq.provider.dto.response.BackfillStatusResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/backfill")
+@RequiredArgsConstructor
+@Tag(name = "Backfill", description = "Republish the service catalog to Kafka")
+public class BackfillController {
+
+    private final CatalogBackfill catalogBackfill;
+
+    @PostMapping
+    @Operation(summary = "Start a catalog backfill",
+            description = "Republishes every active service as a SERVICE_BACKFILLED event, and every service to the " +
+                    "snapshot topic, from its state at the time each batch is sent. " +
+                    "Runs in the background, poll the returned job for progress")
+    public ResponseEntity<BackfillStatusResponse> start(@Valid @RequestBody(required = false) BackfillRequest request) {
+        log.info("REST request to start a catalog backfill");
+        BackfillRequest options = request != null ? request : new BackfillRequest();
+        return new ResponseEntity<>(catalogBackfill.start(options), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(summary = "Resume a catalog backfill",
+            description = "Continues the unfinished partitions of a failed or cancelled backfill from their checkpoints")
+    public ResponseEntity<BackfillStatusResponse> resume(
+            @PathVariable UUID jobId,
+            @Valid @RequestBody(required = false) BackfillRequest request) {
+        log.info("REST request to resume catalog backfill: {}", jobId);
+        BackfillRequest options = request != null ? request : new BackfillRequest();
+        return new ResponseEntity<>(catalogBackfill.resume(jobId, options), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get backfill progress", description = "Events published per partition and the current rate")
+    public ResponseEntity<BackfillStatusResponse> getStatus(@PathVariable UUID jobId) {
+        log.debug("REST request to get catalog backfill: {}", jobId);
+        return ResponseEntity.ok(catalogBackfill.getStatus(jobId));
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "Cancel a catalog backfill",
+            description = "Stops after the batch in flight, the job can be resumed later")
+    public ResponseEntity<BackfillStatusResponse> cancel(@PathVariable UUID jobId) {
+        log.info("REST request to cancel catalog backfill: {}", jobId);
+        return new ResponseEntity<>(catalogBackfill.cancel(jobId), HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,39 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.batch.BatchDispatcher;
+import com.serviq.provider.dto.request.BatchRequest;
+import com.serviq.provider.dto.response.BatchResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Several API calls in one round trip")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    @Operation(summary = "Run sub-requests in parallel",
+            description = "Up to 20 independent sub-requests to /api/v1 endpoints, run concurrently. Responses come back " +
+                    "in request order with their own status; any not done by the batch deadline are answered with 504")
+    public ResponseEntity<BatchResponse> batch(
+            @Valid @RequestBody BatchRequest request,
+            HttpServletRequest servletRequest,
+            HttpServletResponse servletResponse) {
+        log.info("REST request to run a batch of {} sub-requests", request.getRequests().size());
+        return ResponseEntity.ok(batchDispatcher.dispatch(request, servletRequest, servletResponse));
+    }
+}
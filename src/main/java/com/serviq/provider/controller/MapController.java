@@ -0,0 +1,43 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.dto.response.DensityMapResponse;
+import com.serviq.provider.geo.GeoBounds;
+import com.serviq.provider.service.ServiceDensityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/map")
+@RequiredArgsConstructor
+@Tag(name = "Map", description = "Service density for the map view")
+public class MapController {
+
+    private final ServiceDensityService serviceDensityService;
+
+    @GetMapping("/tiles")
+    @Operation(summary = "Count active services per tile",
+            description = "Non-empty geohash tiles inside the bounding box with service counts per category. " +
+                    "Tile size follows the zoom, a minLon greater than maxLon crosses the antimeridian")
+    public ResponseEntity<DensityMapResponse> getTiles(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam int zoom,
+            @RequestParam(required = false) Set<UUID> categoryIds) {
+        log.debug("REST request to get service density tiles at zoom {}", zoom);
+        GeoBounds bounds = new GeoBounds(minLat, minLon, maxLat, maxLon);
+        return ResponseEntity.ok(serviceDensityService.getTiles(bounds, zoom, categoryIds));
+    }
+}
@@ -0,0 +1,80 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.dto.response.NearbyServiceResponse;
+import com.serviq.provider.dto.response.NearbySlotResponse;
+import com.serviq.provider.service.GeoSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/nearby")
+@RequiredArgsConstructor
+@Tag(name = "Nearby", description = "Services and slots near a point, served from an in-memory location grid")
+public class NearbyController {
+
+    private final GeoSearchService geoSearchService;
+
+    @GetMapping("/services")
+    @Operation(summary = "Find services within a radius",
+            description = "Active services offered within radiusKm (max 100) of the point, each at its nearest location, nearest first")
+    public ResponseEntity<List<NearbyServiceResponse>> findServicesWithinRadius(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("REST request to find services within {} km of {}, {}", radiusKm, lat, lon);
+        return ResponseEntity.ok(geoSearchService.findServicesWithinRadius(lat, lon, radiusKm, categoryId, limit));
+    }
+
+    @GetMapping("/services/nearest")
+    @Operation(summary = "Find the nearest services",
+            description = "The k active services offered nearest to the point, within 100 km, nearest first")
+    public ResponseEntity<List<NearbyServiceResponse>> findNearestServices(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) UUID categoryId) {
+        log.info("REST request to find {} nearest services to {}, {}", k, lat, lon);
+        return ResponseEntity.ok(geoSearchService.findNearestServices(lat, lon, k, categoryId));
+    }
+
+    @GetMapping("/slots")
+    @Operation(summary = "Find available slots nearby",
+            description = "Bookable slots starting in [from, to) on the date at services within radiusKm of the point, " +
+                    "ordered by distance then start time. Date defaults to today and the window to the whole day")
+    public ResponseEntity<Slice<NearbySlotResponse>> findAvailableSlotsNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+            @PageableDefault(size = 20) Pageable pageable) {
+        log.info("REST request to find available slots within {} km of {}, {}", radiusKm, lat, lon);
+        Slice<NearbySlotResponse> response = geoSearchService.findAvailableSlotsNearby(lat, lon, radiusKm, categoryId,
+                date != null ? date : LocalDate.now(),
+                from != null ? from : LocalTime.MIDNIGHT,
+                to != null ? to : LocalTime.MAX,
+                pageable);
+        return ResponseEntity.ok(response);
+    }
+}
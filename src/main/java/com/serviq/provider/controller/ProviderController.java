@@ -3,6 +3,8 @@ package com.serviq.provider.controller;
 import com.serviq.provider.dto.ProviderContactDTO;
 import com.serviq.provider.dto.ProviderDTO;
 import com.serviq.provider.dto.ProviderLocationDTO;
+import com.serviq.provider.dto.request.BatchGetRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.entity.enums.ProviderType;
 import com.serviq.provider.entity.enums.VerificationStatus;
 import com.serviq.provider.service.ProviderManagementService;
@@ -20,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -39,13 +42,26 @@ public class ProviderController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get provider by ID")
-    public ResponseEntity<ProviderDTO> getProviderById(@PathVariable UUID id) {
-        log.info("REST request to get provider: {}", id);
-        ProviderDTO provider = providerManagementService.getProviderById(id);
+    @Operation(summary = "Get provider by ID",
+            description = "Returns the provider with its active contacts and locations. Use include=contacts or "
+                    + "include=locations to load only one of them, or include=none for the provider alone")
+    public ResponseEntity<ProviderDTO> getProviderById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Set<String> include) {
+        log.info("REST request to get provider: {} including: {}", id, include);
+        ProviderDTO provider = providerManagementService.getProviderById(id, include);
         return ResponseEntity.ok(provider);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get providers by IDs",
+            description = "Up to 100 active providers in one query, keyed by ID. Unknown or inactive IDs are listed as missing")
+    public ResponseEntity<BatchGetResponse<ProviderDTO>> getProvidersByIds(@Valid @RequestBody BatchGetRequest request) {
+        log.info("REST request to get {} providers by ID", request.getIds().size());
+        BatchGetResponse<ProviderDTO> providers = providerManagementService.getProvidersByIds(request);
+        return ResponseEntity.ok(providers);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update provider")
     public ResponseEntity<ProviderDTO> updateProvider(
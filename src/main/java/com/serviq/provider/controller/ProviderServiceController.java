@@ -1,8 +1,10 @@
 package com.serviq.provider.controller;
 
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.CreateProviderServiceRequest;
 import com.serviq.provider.dto.request.SearchRequest;
 import com.serviq.provider.dto.request.UpdateProviderServiceRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.dto.response.ProviderServiceResponse;
 import com.serviq.provider.service.ProviderServiceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -77,6 +79,21 @@ public class ProviderServiceController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get provider services by IDs",
+            description = "Retrieves up to 100 provider services keyed by ID, unknown IDs are listed as missing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Provider services retrieved"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BatchGetResponse<ProviderServiceResponse>> getServicesByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        log.info("REST request to get {} provider services by id", request.getIds().size());
+        BatchGetResponse<ProviderServiceResponse> response = providerServiceService.getServicesByIds(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}/org/{orgId}")
     @Operation(summary = "Get a provider service by ID and Org ID",
             description = "Retrieves a provider service by its ID and organization ID")
@@ -0,0 +1,53 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.dto.response.ServiceSearchResponse;
+import com.serviq.provider.search.ServiceSearchIndex;
+import com.serviq.provider.search.ServiceSearchQuery;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "search.embedded.enabled", havingValue = "true")
+@Tag(name = "Service Search", description = "Full-text service discovery served from the embedded index")
+public class ServiceSearchController {
+
+    private final ServiceSearchIndex serviceSearchIndex;
+
+    @GetMapping("/services")
+    @Operation(summary = "Search active services",
+            description = "Full-text search over service title, provider and locations with category, city, " +
+                    "price band and duration band facets. Facet values can be passed back as filters.")
+    public ResponseEntity<ServiceSearchResponse> searchServices(
+            @Parameter(description = "Search text") @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID orgId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String priceBand,
+            @RequestParam(required = false) String durationBand,
+            @Parameter(description = "Page number (0-indexed)")
+            @RequestParam(defaultValue = "0") @Min(0) @Max(ServiceSearchQuery.MAX_PAGE) int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(ServiceSearchQuery.MAX_PAGE_SIZE) int size) {
+        log.info("REST request to search services: {}", q);
+        ServiceSearchQuery query = new ServiceSearchQuery(q, orgId, category, city, priceBand, durationBand, page, size);
+        return ResponseEntity.ok(serviceSearchIndex.search(query));
+    }
+}
@@ -1,8 +1,15 @@
 package com.serviq.provider.controller;
 
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.BulkCreateSlotRequestDto;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
 import com.serviq.provider.dto.request.CreateSlotRequestDto;
+import com.serviq.provider.dto.request.NextAvailableSlotsRequestDto;
 import com.serviq.provider.dto.request.UpdateSlotRequestDto;
+import com.serviq.provider.dto.response.BatchGetResponse;
+import com.serviq.provider.dto.response.BulkSlotStatusUpdateResponseDto;
+import com.serviq.provider.dto.response.CompactAvailabilityResponseDto;
+import com.serviq.provider.dto.response.NextAvailableSlotsResponseDto;
 import com.serviq.provider.dto.response.SlotResponseDto;
 import com.serviq.provider.entity.enums.SlotStatus;
 import com.serviq.provider.service.SlotService;
@@ -18,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +58,13 @@ public class SlotController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<SlotResponseDto>> getSlotsByIds(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Request to get {} slots by ID", request.getIds().size());
+        BatchGetResponse<SlotResponseDto> response = slotService.getSlotsByIds(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{slotId}")
     public ResponseEntity<SlotResponseDto> updateSlot(
             @PathVariable UUID slotId,
@@ -83,6 +98,45 @@ public class SlotController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/next-available/service/{providerServiceId}")
+    public ResponseEntity<SlotResponseDto> getNextAvailableSlot(
+            @PathVariable UUID providerServiceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        log.info("Request to get next available slot for service: {} from: {}", providerServiceId, from);
+        SlotResponseDto response = slotService.getNextAvailableSlot(providerServiceId,
+                from != null ? from : LocalDateTime.now());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/next-available/provider/{providerId}")
+    public ResponseEntity<SlotResponseDto> getNextAvailableSlotForProvider(
+            @PathVariable UUID providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        log.info("Request to get next available slot for provider: {} from: {}", providerId, from);
+        SlotResponseDto response = slotService.getNextAvailableSlotForProvider(providerId,
+                from != null ? from : LocalDateTime.now());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/next-available")
+    public ResponseEntity<NextAvailableSlotsResponseDto> getNextAvailableSlots(
+            @Valid @RequestBody NextAvailableSlotsRequestDto requestDto) {
+        log.info("Request to get next available slots for {} services", requestDto.getProviderServiceIds().size());
+        NextAvailableSlotsResponseDto response = slotService.getNextAvailableSlots(requestDto);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/service/{providerServiceId}/calendar")
+    public ResponseEntity<CompactAvailabilityResponseDto> getCompactAvailability(
+            @PathVariable UUID providerServiceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "30") int days) {
+        log.info("Request to get compact availability for service: {} from: {} for {} days", providerServiceId, startDate, days);
+        CompactAvailabilityResponseDto response = slotService.getCompactAvailability(providerServiceId,
+                startDate != null ? startDate : LocalDate.now(), days);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<List<SlotResponseDto>> getSlotsByDateRange(
             @RequestParam UUID providerId,
@@ -130,6 +184,15 @@ public class SlotController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkSlotStatusUpdateResponseDto> bulkUpdateSlotStatus(
+            @Valid @RequestBody BulkUpdateSlotStatusRequestDto requestDto) {
+        log.info("Request to bulk update slot status to {} for provider: {}",
+                requestDto.getStatus(), requestDto.getProviderId());
+        BulkSlotStatusUpdateResponseDto response = slotService.bulkUpdateSlotStatus(requestDto);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{slotId}/availability")
     public ResponseEntity<Boolean> checkSlotAvailability(@PathVariable UUID slotId) {
         log.info("Request to check availability for slot ID: {}", slotId);
@@ -0,0 +1,56 @@
+package com.serviq.provider.dto.event;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Reads {@code occurredOn} of outbox payloads. Rows written before the event
+ * time became an {@link Instant} hold {@code Date.toString()}, such as
+ * {@code Mon Oct 19 05:39:32 UTC 2026}; everything else goes to the standard
+ * {@link Instant} deserializer.
+ */
+public class OccurredOnDeserializer extends StdDeserializer<Instant> {
+
+    private static final DateTimeFormatter DATE_TO_STRING =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.ROOT);
+
+    public OccurredOnDeserializer() {
+        super(Instant.class);
+    }
+
+    @Override
+    public Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            Instant legacy = parseLegacy(parser.getText());
+            if (legacy != null) {
+                return legacy;
+            }
+        }
+        return InstantDeserializer.INSTANT.deserialize(parser, context);
+    }
+
+    /**
+     * The instant of a {@code Date.toString()} value, null when the text is in
+     * any other format
+     */
+    public static Instant parseLegacy(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(text.trim(), DATE_TO_STRING).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
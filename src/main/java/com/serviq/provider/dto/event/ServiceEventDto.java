@@ -1,17 +1,31 @@
 package com.serviq.provider.dto.event;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * A service event as recorded in the outbox. Delta events leave every field
+ * they do not change null and name the ones they set in {@code changedFields}.
+ * Older rows hold {@code occurredOn} as {@code Date.toString()} and the
+ * coordinates as strings; both still read into the current types.
+ */
 @Data
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ServiceEventDto {
     private String eventId;
     private String eventType;
-    private String occurredOn;
+    @JsonDeserialize(using = OccurredOnDeserializer.class)
+    private Instant occurredOn;
     private String orgId;
     private String serviceId;
     private String title;
@@ -21,11 +35,24 @@ public class ServiceEventDto {
     private String providerName;
     private String primaryLocation;
     private List<String> locations;
-    private int duration;
+    private Integer duration;
     private String unit;
     private BigDecimal price;
     private String currency;
-    private String latitude;
-    private String longitude;
-    private boolean isActive;
+    private Double latitude;
+    private Double longitude;
+    private Boolean isActive;
+    @Builder.Default
+    private List<String> changedFields = List.of();
+
+    /**
+     * Starts an event of the given type for a service, with a fresh event id.
+     */
+    public static ServiceEventDtoBuilder forService(ServiceEventType type, UUID serviceId) {
+        return builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(type.name())
+                .occurredOn(Instant.now())
+                .serviceId(serviceId.toString());
+    }
 }
@@ -0,0 +1,20 @@
+package com.serviq.provider.dto.event;
+
+/**
+ * Names of the service event fields a delta event can list in
+ * {@code changedFields}, as they appear in the Avro schema.
+ */
+public final class ServiceEventFields {
+
+    public static final String TITLE = "title";
+    public static final String DURATION = "duration";
+    public static final String UNIT = "unit";
+    public static final String PRICE = "price";
+    public static final String CURRENCY = "currency";
+    public static final String IS_ACTIVE = "isActive";
+    public static final String PRIMARY_LOCATION = "primaryLocation";
+    public static final String LOCATIONS = "locations";
+
+    private ServiceEventFields() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.serviq.provider.dto.event;
+
+/**
+ * Kinds of service events. {@link #SERVICE_CREATED}, {@link #SERVICE_BACKFILLED}
+ * and {@link #SERVICE_SNAPSHOT} carry the full service, the others are deltas.
+ */
+public enum ServiceEventType {
+    SERVICE_CREATED,
+    SERVICE_UPDATED,
+    SERVICE_ACTIVATED,
+    SERVICE_DEACTIVATED,
+    SERVICE_DELETED,
+    SERVICE_LOCATIONS_CHANGED,
+    // Current state of an existing service, republished by a catalog backfill
+    SERVICE_BACKFILLED,
+    // Latest full state on the compacted snapshot topic, never on the events topic
+    SERVICE_SNAPSHOT
+}
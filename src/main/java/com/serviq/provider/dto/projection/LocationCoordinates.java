@@ -0,0 +1,14 @@
+package com.serviq.provider.dto.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Id and position of a location, all the nearby index keeps in memory.
+ */
+public record LocationCoordinates(
+        UUID id,
+        BigDecimal latitude,
+        BigDecimal longitude
+) {
+}
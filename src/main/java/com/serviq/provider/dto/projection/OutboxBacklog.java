@@ -0,0 +1,12 @@
+package com.serviq.provider.dto.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Pending outbox events and when the oldest was written, null when none are pending.
+ */
+public record OutboxBacklog(
+        Long pending,
+        OffsetDateTime oldestCreatedAt
+) {
+}
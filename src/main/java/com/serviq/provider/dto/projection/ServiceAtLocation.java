@@ -0,0 +1,15 @@
+package com.serviq.provider.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * An active service offered at a location, the join between nearby locations
+ * and the services to return for them.
+ */
+public record ServiceAtLocation(
+        UUID serviceId,
+        UUID locationId,
+        String locationName,
+        String city
+) {
+}
@@ -0,0 +1,40 @@
+package com.serviq.provider.dto.projection;
+
+import com.serviq.provider.dto.response.LocationResponse;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Flat projection of a service location mapping joined with its location,
+ * keyed by service so a whole page of services can be resolved in one query.
+ */
+public record ServiceLocationView(
+        UUID serviceId,
+        UUID id,
+        String name,
+        String city,
+        String state,
+        String country,
+        String postalCode,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        Boolean isPrimary,
+        Boolean isActive
+) {
+
+    public LocationResponse toLocationResponse() {
+        return LocationResponse.builder()
+                .id(id)
+                .name(name)
+                .city(city)
+                .state(state)
+                .country(country)
+                .postalCode(postalCode)
+                .latitude(latitude)
+                .longitude(longitude)
+                .isPrimary(isPrimary)
+                .isActive(isActive)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.serviq.provider.dto.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A bookable slot of a service offered at a location, one row per slot and
+ * location the service is mapped to.
+ */
+public record SlotAtLocation(
+        UUID slotId,
+        UUID providerServiceId,
+        UUID providerId,
+        UUID categoryId,
+        String serviceTitle,
+        UUID locationId,
+        String locationName,
+        String city,
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        Integer capacity,
+        Integer bookedCount
+) {
+}
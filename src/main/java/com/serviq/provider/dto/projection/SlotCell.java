@@ -0,0 +1,16 @@
+package com.serviq.provider.dto.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Time span of a slot and whether it can still be booked, the only columns
+ * the compact availability calendar needs.
+ */
+public record SlotCell(
+        LocalDate slotDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean bookable
+) {
+}
@@ -0,0 +1,11 @@
+package com.serviq.provider.dto.projection;
+
+/**
+ * A distinct display term with its popularity, read by the autocomplete rebuild.
+ */
+public interface TermWeight {
+
+    String getTerm();
+
+    long getWeight();
+}
@@ -0,0 +1,28 @@
+package com.serviq.provider.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillRequest {
+
+    // Optional, id ranges streamed in parallel, defaults to backfill.partitions, also capped at half the connection pool
+    @Min(value = 1, message = "At least one partition is required")
+    @Max(value = 32, message = "At most 32 partitions")
+    private Integer partitions;
+
+    // Optional, events per second across all partitions, defaults to backfill.rate
+    @Min(value = 1, message = "Rate must be at least 1 event per second")
+    @Max(value = 50_000, message = "Rate cannot exceed 50000 events per second")
+    private Integer ratePerSecond;
+
+    // Optional, only seed the snapshot topic, with every service active or not, and leave the events topic alone
+    private Boolean snapshotsOnly;
+}
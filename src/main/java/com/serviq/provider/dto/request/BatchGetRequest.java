@@ -0,0 +1,28 @@
+package com.serviq.provider.dto.request;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs per request")
+    // Duplicates collapse, the rest keeps request order for the response
+    @JsonDeserialize(as = LinkedHashSet.class)
+    private Set<UUID> ids;
+}
@@ -0,0 +1,52 @@
+package com.serviq.provider.dto.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    public static final int MAX_REQUESTS = 20;
+
+    @NotEmpty(message = "At least one sub-request is required")
+    @Size(max = MAX_REQUESTS, message = "At most " + MAX_REQUESTS + " sub-requests per batch")
+    private List<@Valid SubRequest> requests;
+
+    // Optional, shortens the configured batch deadline
+    @Positive(message = "Deadline must be positive")
+    private Long deadlineMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SubRequest {
+
+        // Echoed back on the matching response
+        private String id;
+
+        @NotBlank(message = "Method is required")
+        @Pattern(regexp = "(?i)GET|POST|PUT|PATCH|DELETE", message = "Method must be GET, POST, PUT, PATCH or DELETE")
+        private String method;
+
+        // Path under /api/v1 with an optional query string, e.g. /api/v1/providers/{id}?include=contacts
+        @NotBlank(message = "Path is required")
+        private String path;
+
+        private JsonNode body;
+    }
+}
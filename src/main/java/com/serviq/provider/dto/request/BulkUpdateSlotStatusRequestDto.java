@@ -0,0 +1,43 @@
+package com.serviq.provider.dto.request;
+
+import com.serviq.provider.annotation.ValidDateRange;
+import com.serviq.provider.annotation.ValidTimeRange;
+import com.serviq.provider.entity.enums.SlotStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ValidDateRange
+@ValidTimeRange(allowNull = true)
+public class BulkUpdateSlotStatusRequestDto {
+
+    @NotNull(message = "Provider ID is required")
+    private UUID providerId;
+
+    // Optional, all services of the provider when absent
+    private UUID providerServiceId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Optional time window, only slots fully inside it are updated
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    @NotNull(message = "Status is required")
+    private SlotStatus status;
+}
@@ -0,0 +1,26 @@
+package com.serviq.provider.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NextAvailableSlotsRequestDto {
+
+    @NotEmpty(message = "At least one provider service ID is required")
+    @Size(max = 100, message = "At most 100 provider service IDs per request")
+    private Set<UUID> providerServiceIds;
+
+    // Optional, now when absent
+    private LocalDateTime from;
+}
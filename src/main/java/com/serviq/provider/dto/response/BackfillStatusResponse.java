@@ -0,0 +1,43 @@
+package com.serviq.provider.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackfillStatusResponse {
+    private UUID jobId;
+    // RUNNING, COMPLETED, FAILED or CANCELLED while this instance runs the job, INCOMPLETE when it can be resumed
+    private String status;
+    // Services, active or not, when the run started
+    private Long total;
+    // Services done, inactive ones only get a snapshot
+    private Long published;
+    // Average over the current run, absent when the job is not running here
+    private Double eventsPerSecond;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private String error;
+    private List<Partition> partitions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Partition {
+        private Integer partitionNo;
+        private Long published;
+        private Boolean completed;
+        private UUID lastServiceId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse<T> {
+
+    // Found entries keyed by ID, in request order
+    private Map<UUID, T> found;
+
+    // Requested IDs that do not exist or are not visible
+    private List<UUID> missing;
+
+    public static <T> BatchGetResponse<T> of(Collection<UUID> ids, Collection<T> items, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = new LinkedHashMap<>();
+        for (T item : items) {
+            byId.put(idOf.apply(item), item);
+        }
+
+        Map<UUID, T> found = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                found.put(id, item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResponse<>(found, missing);
+    }
+}
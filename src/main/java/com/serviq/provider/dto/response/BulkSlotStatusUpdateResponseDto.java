@@ -0,0 +1,17 @@
+package com.serviq.provider.dto.response;
+
+import com.serviq.provider.entity.enums.SlotStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSlotStatusUpdateResponseDto {
+
+    private SlotStatus status;
+    private Integer updatedCount;
+}
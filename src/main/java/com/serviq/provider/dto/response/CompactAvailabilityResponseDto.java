@@ -0,0 +1,37 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Availability of a service as a grid of equal time cells per day. Cell i of a
+ * day starts at gridStart + i * cellMinutes and is bit i (i % 8 of byte i / 8)
+ * of that day's base64 bitmaps. Trailing zero bytes are dropped, so a day
+ * without slots is an empty string. A cell in neither bitmap has no slot.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactAvailabilityResponseDto {
+
+    private UUID providerServiceId;
+    private LocalDate startDate;
+    private Integer days;
+    private LocalTime gridStart;
+    private Integer cellMinutes;
+    private Integer cellsPerDay;
+
+    // One bitmap per day from startDate, cells covered by a bookable slot
+    private List<String> free;
+
+    // One bitmap per day from startDate, cells covered by a booked, full or blocked slot
+    private List<String> booked;
+}
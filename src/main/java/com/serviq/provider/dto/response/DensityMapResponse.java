@@ -0,0 +1,20 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DensityMapResponse {
+
+    private int zoom;
+    private int precision;
+    private long totalServices;
+    private List<DensityTileResponse> tiles;
+}
@@ -0,0 +1,26 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DensityTileResponse {
+
+    private String geohash;
+    private double latitude;
+    private double longitude;
+    private double minLatitude;
+    private double minLongitude;
+    private double maxLatitude;
+    private double maxLongitude;
+    private long serviceCount;
+    private Map<UUID, Long> countsByCategory;
+}
@@ -0,0 +1,46 @@
+package com.serviq.provider.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventPublisherStatusResponse {
+    // UP, DEGRADED when the producer is backing up or the outbox lags, DOWN while the broker circuit is open
+    private String status;
+    private String circuitState;
+    private Long outboxPending;
+    private Double outboxLagSeconds;
+    // Events given up on after repeated failures that were not the broker's
+    private Long outboxDeadLetters;
+    // Share of the producer buffer holding unsent records, absent until the producer has started
+    private Double bufferUtilization;
+    private Long requestsInFlight;
+    // Sends blocked on a full producer buffer
+    private Long waitingThreads;
+    private OffsetDateTime lastSuccessAt;
+    private OffsetDateTime lastFailureAt;
+    // Newest first
+    private List<Failure> recentFailures;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private OffsetDateTime occurredAt;
+        private String topic;
+        private String eventType;
+        private String serviceId;
+        private String error;
+    }
+}
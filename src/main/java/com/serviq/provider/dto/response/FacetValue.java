@@ -0,0 +1,16 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetValue {
+
+    private String value;
+    private long count;
+}
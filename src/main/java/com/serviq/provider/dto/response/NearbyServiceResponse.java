@@ -0,0 +1,21 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyServiceResponse {
+
+    private ProviderServiceResponse service;
+    private UUID locationId;
+    private String locationName;
+    private String city;
+    private double distanceKm;
+}
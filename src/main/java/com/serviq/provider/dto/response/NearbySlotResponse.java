@@ -0,0 +1,31 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbySlotResponse {
+
+    private UUID slotId;
+    private UUID providerServiceId;
+    private UUID providerId;
+    private UUID categoryId;
+    private String serviceTitle;
+    private UUID locationId;
+    private String locationName;
+    private String city;
+    private double distanceKm;
+    private LocalDate slotDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int remainingCapacity;
+}
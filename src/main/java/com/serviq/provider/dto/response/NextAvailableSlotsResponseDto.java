@@ -0,0 +1,26 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NextAvailableSlotsResponseDto {
+
+    private LocalDateTime from;
+
+    // First bookable slot per provider service ID
+    private Map<UUID, SlotResponseDto> slots;
+
+    // Requested services without any bookable slot on or after from
+    private List<UUID> unavailable;
+}
@@ -31,4 +31,16 @@ public class ProviderServiceResponse {
     private Map<String, Object> metadata;
     private String primaryLocation;
     private Set<LocationResponse> locations;
+
+    /**
+     * Constructor used by JPQL projection queries, locations are attached
+     * afterwards with a single query for the whole result
+     */
+    public ProviderServiceResponse(UUID id, UUID orgId, UUID providerId, UUID categoryId, String providerName,
+                                   String title, String description, Integer duration, String unit,
+                                   BigDecimal price, String currency, Integer maxCapacity, Boolean isActive,
+                                   Map<String, Object> metadata) {
+        this(id, orgId, providerId, categoryId, providerName, title, description, duration, unit, price,
+                currency, maxCapacity, isActive, metadata, null, null);
+    }
 }
@@ -0,0 +1,30 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSearchHit {
+
+    private UUID serviceId;
+    private UUID orgId;
+    private UUID providerId;
+    private UUID categoryId;
+    private String title;
+    private String providerName;
+    private Integer duration;
+    private BigDecimal price;
+    private String currency;
+    private String primaryLocation;
+    private List<String> cities;
+    private float score;
+}
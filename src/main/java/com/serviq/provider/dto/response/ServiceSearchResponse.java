@@ -0,0 +1,22 @@
+package com.serviq.provider.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSearchResponse {
+
+    private List<ServiceSearchHit> hits;
+    private long totalHits;
+    private int page;
+    private int size;
+    private Map<String, List<FacetValue>> facets;
+}
@@ -43,4 +43,17 @@ public class SlotResponseDto {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    /**
+     * Constructor used by JPQL projection queries, availability is derived
+     * the same way as {@link com.serviq.provider.entity.Slot#isAvailable()}
+     */
+    public SlotResponseDto(UUID id, UUID orgId, UUID providerId, UUID providerServiceId,
+                           LocalDate slotDate, LocalTime startTime, LocalTime endTime,
+                           Integer durationMinutes, Integer capacity, Integer bookedCount,
+                           SlotStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, orgId, providerId, providerServiceId, slotDate, startTime, endTime, durationMinutes,
+                capacity, bookedCount, status, status == SlotStatus.AVAILABLE && bookedCount < capacity,
+                createdAt, updatedAt);
+    }
 }
@@ -0,0 +1,18 @@
+package com.serviq.provider.dto.response;
+
+import com.serviq.provider.search.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    private String text;
+    private SuggestionType type;
+    private long weight;
+}
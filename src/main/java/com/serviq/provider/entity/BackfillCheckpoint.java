@@ -0,0 +1,51 @@
+package com.serviq.provider.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * How far one partition of a catalog backfill got. The partition covers
+ * service ids after {@code rangeStart} up to and including {@code rangeEnd}.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackfillCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    @Column(name = "range_start", nullable = false)
+    private UUID rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private UUID rangeEnd;
+
+    @Column(name = "last_service_id")
+    private UUID lastServiceId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long published = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean completed = false;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
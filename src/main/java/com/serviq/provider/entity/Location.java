@@ -50,6 +50,10 @@ public class Location {
     @Column(nullable = false, precision = 11, scale = 8)
     private BigDecimal longitude;
 
+    // Maintained by a database trigger from latitude and longitude
+    @Column(length = 12, insertable = false, updatable = false)
+    private String geohash;
+
     @Column(name = "is_active")
     @Builder.Default
     private Boolean isActive = true;
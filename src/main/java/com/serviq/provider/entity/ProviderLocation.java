@@ -53,6 +53,10 @@ public class ProviderLocation {
     @Column(name = "longitude", precision = 9, scale = 6)
     private BigDecimal longitude;
 
+    // Maintained by a database trigger from latitude and longitude
+    @Column(name = "geohash", length = 12, insertable = false, updatable = false)
+    private String geohash;
+
     @Column(name = "is_primary")
     private Boolean isPrimary = false;
 
@@ -0,0 +1,24 @@
+package com.serviq.provider.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Count of active services in a geohash cell for one category. Rows exist
+ * for every prefix of a location's geohash up to the finest map precision.
+ */
+@Entity
+@Table(name = "service_density_tile")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceDensityTile {
+
+    @EmbeddedId
+    private ServiceDensityTileId id;
+
+    @Column(name = "service_count", nullable = false)
+    private int serviceCount;
+}
@@ -0,0 +1,23 @@
+package com.serviq.provider.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceDensityTileId implements Serializable {
+
+    @Column(name = "geohash", nullable = false, length = 7)
+    private String geohash;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+}
@@ -0,0 +1,48 @@
+package com.serviq.provider.entity;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A service event waiting to be sent to Kafka, written in the transaction
+ * of the change it describes.
+ */
+@Entity
+@Table(name = "service_event_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private UUID serviceId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Type(JsonBinaryType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private ServiceEventDto payload;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    // Failed sends not caused by the broker, maintained by the relay with bulk updates
+    @Column(name = "attempts", nullable = false, insertable = false, updatable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", insertable = false, updatable = false)
+    private String lastError;
+}
@@ -0,0 +1,77 @@
+package com.serviq.provider.events;
+
+import com.serviq.provider.dto.response.EventPublisherStatusResponse;
+import com.serviq.provider.events.outbox.BrokerCircuitBreaker;
+import com.serviq.provider.events.outbox.OutboxRelay;
+import com.serviq.provider.events.publisher.PublisherMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code /actuator/eventpublisher}: whether service events are getting to
+ * Kafka, and the latest failures when they are not. It turns degraded when the
+ * producer buffer fills up, sends wait for buffer space, or the outbox falls
+ * behind. That happens before backpressure reaches request latency, so it is
+ * the signal to alert on. It is down while the broker circuit is open.
+ */
+@Component
+@Endpoint(id = "eventpublisher")
+public class EventPublisherEndpoint {
+
+    private final PublisherMetrics publisherMetrics;
+    private final BrokerCircuitBreaker circuitBreaker;
+    private final OutboxRelay outboxRelay;
+    private final double bufferUtilizationThreshold;
+    private final Duration maxOutboxLag;
+
+    public EventPublisherEndpoint(PublisherMetrics publisherMetrics,
+                                  BrokerCircuitBreaker circuitBreaker,
+                                  OutboxRelay outboxRelay,
+                                  @Value("${event.publisher.health.buffer-utilization-threshold:0.8}")
+                                  double bufferUtilizationThreshold,
+                                  @Value("${event.publisher.health.max-outbox-lag:PT1M}") Duration maxOutboxLag) {
+        this.publisherMetrics = publisherMetrics;
+        this.circuitBreaker = circuitBreaker;
+        this.outboxRelay = outboxRelay;
+        this.bufferUtilizationThreshold = bufferUtilizationThreshold;
+        this.maxOutboxLag = maxOutboxLag;
+    }
+
+    @ReadOperation
+    public EventPublisherStatusResponse status() {
+        BrokerCircuitBreaker.State circuitState = circuitBreaker.getState();
+        Double bufferUtilization = publisherMetrics.bufferUtilization();
+        Long waitingThreads = publisherMetrics.waitingThreads();
+        Duration lag = outboxRelay.getLag();
+
+        String status;
+        if (circuitState == BrokerCircuitBreaker.State.OPEN) {
+            status = "DOWN";
+        } else if (circuitState == BrokerCircuitBreaker.State.HALF_OPEN
+                || (bufferUtilization != null && bufferUtilization >= bufferUtilizationThreshold)
+                || (waitingThreads != null && waitingThreads > 0)
+                || lag.compareTo(maxOutboxLag) > 0) {
+            status = "DEGRADED";
+        } else {
+            status = "UP";
+        }
+
+        return EventPublisherStatusResponse.builder()
+                .status(status)
+                .circuitState(circuitState.name())
+                .outboxPending(outboxRelay.getPending())
+                .outboxLagSeconds(lag.toMillis() / 1_000.0)
+                .outboxDeadLetters(outboxRelay.getDeadLetters())
+                .bufferUtilization(bufferUtilization)
+                .requestsInFlight(publisherMetrics.requestsInFlight())
+                .waitingThreads(waitingThreads)
+                .lastSuccessAt(publisherMetrics.getLastSuccessAt())
+                .lastFailureAt(publisherMetrics.getLastFailureAt())
+                .recentFailures(publisherMetrics.getRecentFailures())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.serviq.provider.events;
+
+import java.util.UUID;
+
+/**
+ * In-process notification that a provider service, or one of its location
+ * mappings, was created, updated, toggled or deleted. Listeners reload the
+ * current state themselves, the event only carries the id.
+ */
+public record ProviderServiceChangedEvent(UUID serviceId) {
+}
@@ -0,0 +1,70 @@
+package com.serviq.provider.events.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Stops the outbox relay from talking to Kafka while the broker is down.
+ * After a number of failed batches in a row the circuit opens and the relay
+ * leaves events in the outbox; once the open duration has passed a single
+ * event is sent as a probe, which either closes the circuit or opens it again.
+ */
+@Slf4j
+@Component
+public class BrokerCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public BrokerCircuitBreaker(@Value("${outbox.relay.circuit.failure-threshold:3}") int failureThreshold,
+                                @Value("${outbox.relay.circuit.open-duration:PT30S}") Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether the relay may send now. Moves an open circuit to half-open once
+     * the open duration has passed.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            log.info("Kafka circuit half-open, probing the broker");
+        }
+        return state != State.OPEN;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Kafka circuit closed, broker is reachable again");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Kafka circuit opened after {} failed batches, events stay in the outbox", consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,42 @@
+package com.serviq.provider.events.outbox;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.entity.ServiceEventOutbox;
+import com.serviq.provider.events.EventPublisher;
+import com.serviq.provider.repository.ServiceEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Records service events in the outbox table. Must join the transaction of
+ * the change, so the event is stored if and only if the change commits; the
+ * {@link OutboxRelay} sends it to Kafka right after the commit. Nothing here
+ * talks to the broker, so a Kafka outage never reaches the request thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements EventPublisher<ServiceEventDto> {
+
+    private final ServiceEventOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(ServiceEventDto event) {
+        UUID serviceId = UUID.fromString(event.getServiceId());
+        outboxRepository.save(ServiceEventOutbox.builder()
+                .serviceId(serviceId)
+                .eventType(event.getEventType())
+                .payload(event)
+                .build());
+        applicationEventPublisher.publishEvent(new OutboxEventRecorded(serviceId));
+        log.debug("Recorded {} event for service: {} in the outbox", event.getEventType(), event.getServiceId());
+    }
+}
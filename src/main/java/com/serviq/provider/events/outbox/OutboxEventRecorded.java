@@ -0,0 +1,11 @@
+package com.serviq.provider.events.outbox;
+
+import java.util.UUID;
+
+/**
+ * In-process notification that a service event was written to the outbox.
+ * Only acted on after the transaction commits, when the row is visible to the
+ * relay.
+ */
+public record OutboxEventRecorded(UUID serviceId) {
+}
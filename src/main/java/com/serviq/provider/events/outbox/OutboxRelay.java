@@ -0,0 +1,459 @@
+package com.serviq.provider.events.outbox;
+
+import com.serviq.provider.dto.projection.OutboxBacklog;
+import com.serviq.provider.entity.ServiceEventOutbox;
+import com.serviq.provider.events.publisher.ServiceEventPublisher;
+import com.serviq.provider.events.publisher.ServiceSnapshotPublisher;
+import com.serviq.provider.repository.ServiceEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the service event outbox to Kafka in id order. Each batch is locked
+ * with {@code FOR UPDATE SKIP LOCKED}, so replicas share the work without
+ * sending a row twice, handed to the producer, flushed once and deleted in the
+ * same transaction. A service is only ever in one replica's batch at a time,
+ * so its events reach Kafka in the order they were recorded. Delivery is at
+ * least once: a batch that fails part way keeps the unconfirmed rows and sends
+ * them again on the next run.
+ * <p>
+ * Only broker failures, a timeout or a retriable Kafka error, count against
+ * the {@link BrokerCircuitBreaker}. A schema registry that cannot be reached
+ * for an id lookup is reported as retriable and counts the same way. Any
+ * other failure, such as a payload that
+ * does not serialize, is charged to the rows of that event: their attempt
+ * count goes up and once it reaches {@code outbox.relay.max-attempts} they
+ * move to the dead letter table, so one bad row cannot hold up the outbox.
+ * <p>
+ * A run starts right after each commit that recorded an event, on a virtual
+ * thread, and on a fixed delay as a fallback. Runs never overlap within one
+ * instance, and at most one more is queued. While the {@link BrokerCircuitBreaker}
+ * is open nothing is sent; the outbox is the buffer and is drained in order
+ * once the broker answers again.
+ * <p>
+ * Each batch also refreshes the snapshot topic for the services it touches.
+ * A row is only deleted once its own event and the snapshot of its service
+ * are both confirmed; a snapshot that fails for a reason other than the
+ * broker is charged to that service's rows like a failed event.
+ * <p>
+ * With a coalescing window, events of a service are held until it has had no
+ * new event for the window, or the oldest has waited the maximum delay, and
+ * then go out as a single event through {@link ServiceEventCoalescer}. Bulk
+ * edits then cost downstream one event per service instead of one per change.
+ * A fresh event is never settled, so while coalescing only the fixed delay
+ * runs send and commits do not start one. Coalescing is off by default.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final ServiceEventOutboxRepository outboxRepository;
+    private final ServiceEventPublisher serviceEventPublisher;
+    private final ServiceSnapshotPublisher serviceSnapshotPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BrokerCircuitBreaker circuitBreaker;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final int maxAttempts;
+    private final Duration coalesceWindow;
+    private final Duration coalesceMaxDelay;
+    private final boolean enabled;
+
+    private final Counter sentEvents;
+    private final Counter retriedEvents;
+    private final Counter deadLetteredEvents;
+    private final Counter coalescedEvents;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+    private final AtomicBoolean triggered = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("outbox-relay-", 0).factory());
+
+    public OutboxRelay(ServiceEventOutboxRepository outboxRepository,
+                       ServiceEventPublisher serviceEventPublisher,
+                       ServiceSnapshotPublisher serviceSnapshotPublisher,
+                       TransactionTemplate transactionTemplate,
+                       BrokerCircuitBreaker circuitBreaker,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.send-timeout:PT30S}") Duration sendTimeout,
+                       @Value("${outbox.relay.max-attempts:5}") int maxAttempts,
+                       @Value("${outbox.relay.coalesce.window:PT0S}") Duration coalesceWindow,
+                       @Value("${outbox.relay.coalesce.max-delay:PT10S}") Duration coalesceMaxDelay,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.serviceEventPublisher = serviceEventPublisher;
+        this.serviceSnapshotPublisher = serviceSnapshotPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.maxAttempts = maxAttempts;
+        this.coalesceWindow = coalesceWindow;
+        this.coalesceMaxDelay = coalesceMaxDelay;
+        this.enabled = enabled;
+
+        this.sentEvents = Counter.builder("outbox.relay.events")
+                .description("Outbox events confirmed by the broker")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.retriedEvents = Counter.builder("outbox.relay.events")
+                .description("Outbox events left for the next run after a failed send")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.deadLetteredEvents = Counter.builder("outbox.relay.events")
+                .description("Outbox events moved to the dead letter table after too many failed sends")
+                .tag("outcome", "dead_lettered")
+                .register(meterRegistry);
+        this.coalescedEvents = Counter.builder("outbox.relay.coalesced")
+                .description("Outbox events folded into a later event of the same service instead of sent on their own")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to lock, send, flush and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1_000.0)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead.letters", deadLetters, AtomicLong::get)
+                .description("Events given up on and kept in the dead letter table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a run once the transaction that recorded an event has committed.
+     * Events recorded while a run is already queued ride along with it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventRecorded(OutboxEventRecorded event) {
+        // A run right after the commit would only find the new event still unsettled
+        if (enabled && !coalescing() && triggered.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                triggered.set(false);
+                relay();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.tryLock()) {
+            // The run in progress goes round once more for whatever this caller came for
+            rerun.set(true);
+            return;
+        }
+        try {
+            do {
+                rerun.set(false);
+                drain();
+            } while (rerun.get());
+        } catch (RuntimeException e) {
+            log.error("Outbox relay run failed", e);
+        } finally {
+            running.unlock();
+        }
+        updateBacklog();
+    }
+
+    private void drain() {
+        // Keep going while batches come back full and fully sent
+        int limit;
+        Integer sent;
+        do {
+            if (!circuitBreaker.tryAcquire()) {
+                return;
+            }
+            // A half-open circuit risks a single event on the broker
+            limit = circuitBreaker.getState() == BrokerCircuitBreaker.State.HALF_OPEN ? 1 : batchSize;
+            int batchLimit = limit;
+            sent = transactionTemplate.execute(status -> relayBatch(batchLimit));
+        } while (sent != null && sent == limit);
+    }
+
+    /**
+     * Sends one locked batch and deletes the rows whose event and snapshot the
+     * broker confirmed.
+     *
+     * @return number of events sent and deleted, less than the limit when the
+     * outbox is drained or a send failed
+     */
+    int relayBatch(int limit) {
+        List<ServiceEventOutbox> batch = coalescing()
+                ? outboxRepository.lockNextSettledBatch(limit, coalesceWindow.toMillis(), coalesceMaxDelay.toMillis())
+                : outboxRepository.lockNextBatch(limit);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        // One event per service when coalescing, in order of each service's oldest event
+        List<List<ServiceEventOutbox>> groups = coalescing()
+                ? List.copyOf(batch.stream().collect(Collectors.groupingBy(
+                        ServiceEventOutbox::getServiceId, LinkedHashMap::new, Collectors.toList())).values())
+                : batch.stream().map(event -> List.of(event)).toList();
+        List<CompletableFuture<?>> futures = new ArrayList<>(groups.size());
+        Throwable failure = null;
+        for (List<ServiceEventOutbox> group : groups) {
+            CompletableFuture<?> future;
+            try {
+                future = serviceEventPublisher.send(
+                        ServiceEventCoalescer.coalesce(group.stream().map(ServiceEventOutbox::getPayload).toList()));
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay stopped handing events to the producer after {} of {}: {}",
+                        futures.size(), groups.size(), e.getMessage());
+                failure = e;
+                break;
+            }
+            futures.add(future);
+            // Without broker metadata every send blocks for max.block.ms, stop at the first one
+            if (future.isCompletedExceptionally()) {
+                break;
+            }
+        }
+
+        // One snapshot per service handed over, read after the events so it is at least as new as any of them
+        Set<UUID> serviceIds = new LinkedHashSet<>();
+        for (int i = 0; i < futures.size() && !futures.get(i).isCompletedExceptionally(); i++) {
+            serviceIds.add(groups.get(i).getFirst().getServiceId());
+        }
+        List<? extends CompletableFuture<?>> snapshots;
+        RuntimeException snapshotsUnavailable = null;
+        try {
+            snapshots = serviceSnapshotPublisher.publishCurrentState(serviceIds);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay could not read the state of the services to snapshot: {}", e.getMessage());
+            snapshots = List.of();
+            snapshotsUnavailable = e;
+        }
+        serviceEventPublisher.flush();
+
+        // Events up to the first failure are confirmed, the rest stay to be sent again in order
+        int confirmedGroups = 0;
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                confirmedGroups++;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+                break;
+            } catch (TimeoutException e) {
+                failure = e;
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+                break;
+            }
+        }
+
+        boolean brokerFailed = failure != null && isBrokerFailure(failure);
+        int deadLettered = 0;
+        if (failure != null) {
+            List<ServiceEventOutbox> failed = groups.get(confirmedGroups);
+            log.warn("Outbox event {} was not confirmed, it and the events after it are left for the next run: {}",
+                    failed.getFirst().getId(), failure.toString());
+            if (!brokerFailed && !(failure instanceof InterruptedException)) {
+                deadLettered += recordFailedAttempt(failed, failure);
+            }
+        }
+
+        // A row is done once its own event and the snapshot of its service are both confirmed
+        Map<UUID, Throwable> snapshotFailures = confirmedGroups == 0 || snapshotsUnavailable != null
+                ? Map.of()
+                : awaitSnapshots(List.copyOf(serviceIds), snapshots, deadline);
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        int sentGroups = 0;
+        Map<UUID, List<ServiceEventOutbox>> heldBack = new LinkedHashMap<>();
+        for (List<ServiceEventOutbox> group : groups.subList(0, confirmedGroups)) {
+            UUID serviceId = group.getFirst().getServiceId();
+            if (snapshotsUnavailable == null && !snapshotFailures.containsKey(serviceId)) {
+                group.forEach(event -> sentIds.add(event.getId()));
+                sentGroups++;
+            } else {
+                heldBack.computeIfAbsent(serviceId, id -> new ArrayList<>()).addAll(group);
+            }
+        }
+        for (Map.Entry<UUID, Throwable> snapshotFailure : snapshotFailures.entrySet()) {
+            Throwable cause = snapshotFailure.getValue();
+            List<ServiceEventOutbox> rows = heldBack.get(snapshotFailure.getKey());
+            log.warn("Snapshot of service {} was not confirmed, its events are left for the next run: {}",
+                    snapshotFailure.getKey(), cause.toString());
+            if (isBrokerFailure(cause)) {
+                brokerFailed = true;
+            } else if (rows != null && !(cause instanceof InterruptedException)) {
+                // Like a failed event, a snapshot that cannot be sent is charged to that service's rows
+                deadLettered += recordFailedAttempt(rows, cause);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxRepository.deleteByIdIn(sentIds);
+        }
+        // A failure the broker had no part in says nothing about the circuit, and neither does a batch that sent nothing
+        if (brokerFailed) {
+            circuitBreaker.recordFailure();
+        } else if (!sentIds.isEmpty()) {
+            circuitBreaker.recordSuccess();
+        }
+
+        sentEvents.increment(sentIds.size());
+        retriedEvents.increment(batch.size() - sentIds.size() - deadLettered);
+        deadLetteredEvents.increment(deadLettered);
+        coalescedEvents.increment(sentIds.size() - sentGroups);
+        batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Outbox relay sent {} of {} events as {}", sentIds.size(), batch.size(), sentGroups);
+        return sentIds.size();
+    }
+
+    /**
+     * Charges a failed send to the rows of one event and moves those that
+     * reached the attempt cap to the dead letter table.
+     *
+     * @return number of rows moved
+     */
+    private int recordFailedAttempt(List<ServiceEventOutbox> rows, Throwable failure) {
+        List<Long> ids = rows.stream().map(ServiceEventOutbox::getId).toList();
+        try {
+            outboxRepository.recordFailedAttempt(ids, describe(failure));
+            int moved = outboxRepository.moveToDeadLetter(ids, maxAttempts);
+            if (moved > 0) {
+                log.error("Outbox events {} failed {} times and were moved to the dead letter table: {}",
+                        ids, maxAttempts, describe(failure));
+            }
+            return moved;
+        } catch (RuntimeException e) {
+            log.warn("Could not record the failed attempt of outbox events {}: {}", ids, e.getMessage());
+            return 0;
+        }
+    }
+
+    // The failure and, when it only wraps another, the root cause
+    private static String describe(Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root == failure ? failure.toString() : failure + " caused by " + root;
+    }
+
+    /**
+     * Whether a send failed because the broker or the schema registry could not
+     * be reached or did not answer in time, as opposed to something wrong with
+     * the event itself.
+     */
+    static boolean isBrokerFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof RetriableException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private boolean coalescing() {
+        return coalesceWindow.isPositive();
+    }
+
+    // Failed snapshots by service, empty once all are confirmed
+    private Map<UUID, Throwable> awaitSnapshots(List<UUID> serviceIds, List<? extends CompletableFuture<?>> snapshots,
+                                                long deadline) {
+        Map<UUID, Throwable> failures = new LinkedHashMap<>();
+        for (int i = 0; i < snapshots.size() && i < serviceIds.size(); i++) {
+            try {
+                snapshots.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                failures.put(serviceIds.get(i), e.getCause());
+            } catch (TimeoutException e) {
+                failures.put(serviceIds.get(i), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(serviceIds.get(i), e);
+            }
+        }
+        return failures;
+    }
+
+    private void updateBacklog() {
+        try {
+            OutboxBacklog backlog = outboxRepository.findBacklog();
+            pending.set(backlog.pending());
+            OffsetDateTime oldest = backlog.oldestCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, OffsetDateTime.now()).toMillis()));
+            deadLetters.set(outboxRepository.countDeadLetters());
+        } catch (RuntimeException e) {
+            log.warn("Could not read the outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Events waiting in the outbox as of the last run
+     */
+    public long getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Age of the oldest waiting event as of the last run
+     */
+    public Duration getLag() {
+        return Duration.ofMillis(lagMillis.get());
+    }
+
+    /**
+     * Events in the dead letter table as of the last run
+     */
+    public long getDeadLetters() {
+        return deadLetters.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
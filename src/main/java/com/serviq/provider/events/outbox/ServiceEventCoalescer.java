@@ -0,0 +1,91 @@
+package com.serviq.provider.events.outbox;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collapses the pending events of one service, oldest first, into the single
+ * event a consumer would end up with after applying them in order.
+ * <ul>
+ *     <li>A delete wins over everything before it.</li>
+ *     <li>Deltas on top of a created event stay a created event with the
+ *     changed fields applied.</li>
+ *     <li>Otherwise the deltas merge into one, listing every changed field with
+ *     its latest value. It keeps their type when they all share one and is an
+ *     update when they do not.</li>
+ * </ul>
+ * A field this class has no rule for takes the value of the event property
+ * of the same name from the newer event, so a new kind of delta never stops
+ * the outbox.
+ */
+final class ServiceEventCoalescer {
+
+    private ServiceEventCoalescer() {
+    }
+
+    static ServiceEventDto coalesce(List<ServiceEventDto> events) {
+        ServiceEventDto last = events.getLast();
+        if (events.size() == 1 || ServiceEventType.SERVICE_DELETED.name().equals(last.getEventType())) {
+            return last;
+        }
+
+        ServiceEventDto first = events.getFirst();
+        boolean created = ServiceEventType.SERVICE_CREATED.name().equals(first.getEventType());
+        ServiceEventDto merged = first.toBuilder().build();
+        Set<String> changedFields = new LinkedHashSet<>(first.getChangedFields());
+        for (ServiceEventDto event : events.subList(1, events.size())) {
+            event.getChangedFields().forEach(field -> copyField(field, event, merged));
+            changedFields.addAll(event.getChangedFields());
+            if (!created && !event.getEventType().equals(merged.getEventType())) {
+                merged.setEventType(ServiceEventType.SERVICE_UPDATED.name());
+            }
+        }
+
+        merged.setEventId(UUID.randomUUID().toString());
+        merged.setOccurredOn(last.getOccurredOn());
+        // A created event carries every field and lists none
+        merged.setChangedFields(created ? List.of() : List.copyOf(changedFields));
+        return merged;
+    }
+
+    private static void copyField(String field, ServiceEventDto source, ServiceEventDto target) {
+        switch (field) {
+            case ServiceEventFields.TITLE -> target.setTitle(source.getTitle());
+            case ServiceEventFields.DURATION -> target.setDuration(source.getDuration());
+            case ServiceEventFields.UNIT -> target.setUnit(source.getUnit());
+            case ServiceEventFields.PRICE -> target.setPrice(source.getPrice());
+            case ServiceEventFields.CURRENCY -> target.setCurrency(source.getCurrency());
+            case ServiceEventFields.IS_ACTIVE -> target.setIsActive(source.getIsActive());
+            case ServiceEventFields.PRIMARY_LOCATION -> {
+                target.setPrimaryLocation(source.getPrimaryLocation());
+                // Coordinates belong to the primary location. Events recorded before they were carried
+                // leave the known ones in place, unless the service no longer has a primary location.
+                if (source.getLatitude() != null || source.getLongitude() != null) {
+                    target.setLatitude(source.getLatitude());
+                    target.setLongitude(source.getLongitude());
+                } else if (source.getPrimaryLocation() == null || source.getPrimaryLocation().isEmpty()) {
+                    target.setLatitude(null);
+                    target.setLongitude(null);
+                }
+            }
+            case ServiceEventFields.LOCATIONS -> target.setLocations(source.getLocations());
+            default -> copyProperty(field, source, target);
+        }
+    }
+
+    private static void copyProperty(String field, ServiceEventDto source, ServiceEventDto target) {
+        BeanWrapper from = PropertyAccessorFactory.forBeanPropertyAccess(source);
+        BeanWrapper to = PropertyAccessorFactory.forBeanPropertyAccess(target);
+        if (from.isReadableProperty(field) && to.isWritableProperty(field)) {
+            to.setPropertyValue(field, from.getPropertyValue(field));
+        }
+    }
+}
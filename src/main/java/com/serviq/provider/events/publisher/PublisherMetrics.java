@@ -0,0 +1,177 @@
+package com.serviq.provider.events.publisher;
+
+import com.serviq.provider.dto.response.EventPublisherStatusResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Outcome, latency and size of every record the publishers hand to Kafka,
+ * plus the last few failures for the event publisher endpoint. Producer
+ * internals such as buffer use and in-flight requests come from the Kafka
+ * client metrics bound in {@code KafkaProducerConfig}; this class reads them
+ * back from the registry.
+ */
+@Component
+public class PublisherMetrics {
+
+    static final String BUFFER_AVAILABLE = "kafka.producer.buffer.available.bytes";
+    static final String BUFFER_TOTAL = "kafka.producer.buffer.total.bytes";
+    static final String REQUESTS_IN_FLIGHT = "kafka.producer.requests.in.flight";
+    static final String WAITING_THREADS = "kafka.producer.waiting.threads";
+
+    private final MeterRegistry meterRegistry;
+    private final int recentFailureLimit;
+
+    private final Deque<EventPublisherStatusResponse.Failure> recentFailures = new ArrayDeque<>();
+    private final AtomicReference<OffsetDateTime> lastSuccessAt = new AtomicReference<>();
+    private final AtomicReference<OffsetDateTime> lastFailureAt = new AtomicReference<>();
+
+    public PublisherMetrics(MeterRegistry meterRegistry,
+                            @Value("${event.publisher.recent-failures:50}") int recentFailureLimit) {
+        this.meterRegistry = meterRegistry;
+        this.recentFailureLimit = recentFailureLimit;
+        Gauge.builder("service.events.producer.buffer.utilization", this, metrics -> {
+                    Double utilization = metrics.bufferUtilization();
+                    return utilization != null ? utilization : Double.NaN;
+                })
+                .description("Share of the Kafka producer buffer holding records not yet sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a send and records its outcome once the broker answers. Latency
+     * includes any time the send blocked on metadata or a full buffer, and a
+     * send that throws counts as failed.
+     */
+    public <K, V> CompletableFuture<SendResult<K, V>> record(Supplier<CompletableFuture<SendResult<K, V>>> send,
+                                                             String topic, String eventType, String serviceId) {
+        long started = System.nanoTime();
+        CompletableFuture<SendResult<K, V>> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            recordFailed(topic, eventType, serviceId, System.nanoTime() - started, e);
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> {
+            long elapsed = System.nanoTime() - started;
+            if (ex == null) {
+                recordPublished(topic, eventType, elapsed, result);
+            } else {
+                recordFailed(topic, eventType, serviceId, elapsed, ex);
+            }
+        });
+    }
+
+    private void recordPublished(String topic, String eventType, long elapsedNanos, SendResult<?, ?> result) {
+        events(topic, eventType, "published").increment();
+        latency(topic, "published").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (result != null && result.getRecordMetadata() != null) {
+            DistributionSummary.builder("service.events.record.size")
+                    .description("Serialized size of published service event records")
+                    .baseUnit("bytes")
+                    .tag("topic", topic)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Math.max(0, result.getRecordMetadata().serializedValueSize()));
+        }
+        lastSuccessAt.set(OffsetDateTime.now());
+    }
+
+    private void recordFailed(String topic, String eventType, String serviceId, long elapsedNanos, Throwable ex) {
+        events(topic, eventType, "failed").increment();
+        latency(topic, "failed").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        OffsetDateTime now = OffsetDateTime.now();
+        lastFailureAt.set(now);
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        EventPublisherStatusResponse.Failure failure = EventPublisherStatusResponse.Failure.builder()
+                .occurredAt(now)
+                .topic(topic)
+                .eventType(eventType)
+                .serviceId(serviceId)
+                .error(cause.getClass().getSimpleName() + ": " + cause.getMessage())
+                .build();
+        synchronized (recentFailures) {
+            recentFailures.addFirst(failure);
+            while (recentFailures.size() > recentFailureLimit) {
+                recentFailures.removeLast();
+            }
+        }
+    }
+
+    private Counter events(String topic, String eventType, String outcome) {
+        return Counter.builder("service.events")
+                .description("Service event records handed to Kafka, by outcome")
+                .tag("topic", topic)
+                .tag("type", eventType)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer latency(String topic, String outcome) {
+        return Timer.builder("service.events.send")
+                .description("Time from handing a record to the producer until the broker answered")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public List<EventPublisherStatusResponse.Failure> getRecentFailures() {
+        synchronized (recentFailures) {
+            return List.copyOf(recentFailures);
+        }
+    }
+
+    public OffsetDateTime getLastSuccessAt() {
+        return lastSuccessAt.get();
+    }
+
+    public OffsetDateTime getLastFailureAt() {
+        return lastFailureAt.get();
+    }
+
+    /**
+     * Used share of the producer buffer, null until a producer has registered its metrics
+     */
+    public Double bufferUtilization() {
+        double total = sum(BUFFER_TOTAL);
+        if (!(total > 0)) {
+            return null;
+        }
+        return 1 - sum(BUFFER_AVAILABLE) / total;
+    }
+
+    public Long requestsInFlight() {
+        double value = sum(REQUESTS_IN_FLIGHT);
+        return Double.isNaN(value) ? null : (long) value;
+    }
+
+    public Long waitingThreads() {
+        double value = sum(WAITING_THREADS);
+        return Double.isNaN(value) ? null : (long) value;
+    }
+
+    // Summed over producers, NaN when none has registered the metric yet
+    private double sum(String name) {
+        return meterRegistry.find(name).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .reduce(Double::sum)
+                .orElse(Double.NaN);
+    }
+}
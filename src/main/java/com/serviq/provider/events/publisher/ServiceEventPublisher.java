@@ -1,7 +1,6 @@
 package com.serviq.provider.events.publisher;
 
 import com.serviq.provider.dto.event.ServiceEventDto;
-import com.serviq.provider.events.EventPublisher;
 import com.serviq.provider.exception.EventPublishException;
 import com.serviq.provider.mapper.ServiceEventMapper;
 import com.serviq.provider.service.events.ServiceEvent;
@@ -14,44 +13,56 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Sends service events to Kafka. Only the outbox relay calls it, application
+ * code records events through the outbox in its own transaction.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ServiceEventPublisher implements EventPublisher<ServiceEventDto> {
+public class ServiceEventPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final ServiceEventMapper eventMapper;
+    private final PublisherMetrics publisherMetrics;
 
     @Value("${kafka.topic.service-events}")
     private String topic;
 
-
-    @Override
-    public void publish(ServiceEventDto eventDto) {
+    /**
+     * Hands the event to the producer without waiting for the broker. Callers
+     * sending a batch flush once and then wait on the futures.
+     */
+    public CompletableFuture<SendResult<String, Object>> send(ServiceEventDto eventDto) {
         try {
             ServiceEvent avroEvent = eventMapper.toServiceEventAvro(eventDto);
             String key = eventDto.getServiceId(); // Using serviceId as partition key
 
-            CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(topic, key, avroEvent);
-
-            future.whenComplete((result, ex) -> {
+            return publisherMetrics.record(() -> kafkaTemplate.send(topic, key, avroEvent),
+                    topic, eventDto.getEventType(), key).whenComplete((result, ex) -> {
                 if (ex == null) {
-                    log.info("Successfully published service created event. ServiceId: {}, Topic: {}, Partition: {}, Offset: {}",
+                    log.debug("Published {} event. ServiceId: {}, Topic: {}, Partition: {}, Offset: {}",
+                            eventDto.getEventType(),
                             eventDto.getServiceId(),
                             result.getRecordMetadata().topic(),
                             result.getRecordMetadata().partition(),
                             result.getRecordMetadata().offset());
                 } else {
-                    log.error("Failed to publish service created event. ServiceId: {}, Error: {}",
-                            eventDto.getServiceId(), ex.getMessage(), ex);
+                    log.error("Failed to publish {} event. ServiceId: {}, Error: {}",
+                            eventDto.getEventType(), eventDto.getServiceId(), ex.getMessage());
                 }
             });
-
         } catch (Exception e) {
             log.error("Error while publishing service event. ServiceId: {}",
                     eventDto.getServiceId(), e);
             throw new EventPublishException("Failed to publish service event", e);
         }
     }
+
+    /**
+     * Sends everything the producer has buffered without waiting for linger.ms.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
 }
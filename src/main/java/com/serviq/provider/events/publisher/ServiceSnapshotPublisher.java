@@ -0,0 +1,117 @@
+package com.serviq.provider.events.publisher;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the log-compacted snapshot topic at the latest full state of every
+ * service, keyed by service id, so a new consumer can hydrate the catalog from
+ * Kafka alone. A deleted service gets a tombstone and drops out at the next
+ * compaction. State is read when the snapshot is sent, so whichever snapshot
+ * of a service goes out last carries its latest committed state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceSnapshotPublisher {
+
+    // Event type tag of snapshot tombstones in the publisher metrics
+    private static final String TOMBSTONE = "TOMBSTONE";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ServiceEventMapper eventMapper;
+    private final ProviderServiceRepository providerServiceRepository;
+    private final ServiceLocationRepository serviceLocationRepository;
+    private final PublisherMetrics publisherMetrics;
+
+    @Value("${kafka.topic.service-snapshots}")
+    private String topic;
+
+    @Value("${kafka.snapshot.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Sends the current state of the given services, loaded with one query for
+     * the services and one for their locations. Services that no longer exist
+     * are sent as tombstones.
+     *
+     * @return one future per service, in the order given. A snapshot that
+     * cannot be built or handed to the producer completes exceptionally
+     * without holding up the others.
+     */
+    public List<CompletableFuture<SendResult<String, Object>>> publishCurrentState(Collection<UUID> serviceIds) {
+        if (!enabled || serviceIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, ProviderServiceResponse> services = providerServiceRepository.findResponsesByIdIn(serviceIds).stream()
+                .collect(Collectors.toMap(ProviderServiceResponse::getId, Function.identity()));
+        Map<UUID, List<ServiceLocationView>> locations = services.isEmpty()
+                ? Map.of()
+                : serviceLocationRepository.findViewsByServiceIds(services.keySet()).stream()
+                        .collect(Collectors.groupingBy(ServiceLocationView::serviceId));
+
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(serviceIds.size());
+        for (UUID serviceId : serviceIds) {
+            ProviderServiceResponse service = services.get(serviceId);
+            try {
+                futures.add(service != null
+                        ? send(eventMapper.toServiceEventDto(ServiceEventType.SERVICE_SNAPSHOT, service,
+                                locations.getOrDefault(serviceId, List.of())))
+                        : sendTombstone(serviceId));
+            } catch (RuntimeException e) {
+                log.error("Failed to publish snapshot. ServiceId: {}, Error: {}", serviceId, e.getMessage());
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Sends a snapshot built by the caller, who already holds the full state.
+     */
+    public CompletableFuture<SendResult<String, Object>> send(ServiceEventDto snapshot) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return logFailure(publisherMetrics.record(
+                        () -> kafkaTemplate.send(topic, snapshot.getServiceId(), eventMapper.toServiceEventAvro(snapshot)),
+                        topic, snapshot.getEventType(), snapshot.getServiceId()),
+                snapshot.getServiceId());
+    }
+
+    private CompletableFuture<SendResult<String, Object>> sendTombstone(UUID serviceId) {
+        log.debug("Sending snapshot tombstone for deleted service: {}", serviceId);
+        return logFailure(publisherMetrics.record(() -> kafkaTemplate.send(topic, serviceId.toString(), null),
+                topic, TOMBSTONE, serviceId.toString()), serviceId.toString());
+    }
+
+    private CompletableFuture<SendResult<String, Object>> logFailure(
+            CompletableFuture<SendResult<String, Object>> future, String serviceId) {
+        return future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Failed to publish snapshot. ServiceId: {}, Error: {}", serviceId, ex.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.serviq.provider.events.schema;
+
+import org.apache.kafka.common.errors.RetriableException;
+
+/**
+ * The schema registry could not be reached, or failed on its side, while a
+ * schema id was looked up for a send. Retriable like a broker outage: the
+ * event itself is fine and goes through once the registry answers again.
+ */
+public class SchemaRegistryUnavailableException extends RetriableException {
+
+    public SchemaRegistryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,185 @@
+package com.serviq.provider.events.schema;
+
+import com.serviq.provider.service.events.ServiceEvent;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.SchemaNormalization;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry ids of the service event schema, one per subject the producer
+ * writes to. They are resolved once when the application starts and kept in
+ * memory, so sends never wait on the schema registry. They are also written to
+ * a local file, keyed by schema fingerprint, and read back from it when the
+ * registry cannot be reached at startup.
+ * <p>
+ * With a pinned id the registry is not contacted at all. The id must be the
+ * one the registry holds for the current schema.
+ */
+@Slf4j
+@Component
+public class ServiceEventSchemaIds implements SmartInitializingSingleton {
+
+    private static final AvroSchema SCHEMA = new AvroSchema(ServiceEvent.getClassSchema());
+    private static final String FINGERPRINT = Long.toHexString(
+            SchemaNormalization.parsingFingerprint64(ServiceEvent.getClassSchema()));
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final List<String> subjects;
+    private final OptionalInt pinnedId;
+    private final boolean autoRegister;
+    private final boolean resolveOnStartup;
+    private final Path idCacheFile;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    public ServiceEventSchemaIds(SchemaRegistryClient schemaRegistryClient,
+                                 @Value("${kafka.topic.service-events}") String eventsTopic,
+                                 @Value("${kafka.topic.service-snapshots}") String snapshotsTopic,
+                                 @Value("${kafka.schema.pinned-id:#{null}}") Integer pinnedId,
+                                 @Value("${kafka.schema.auto-register:true}") boolean autoRegister,
+                                 @Value("${kafka.schema.resolve-on-startup:true}") boolean resolveOnStartup,
+                                 @Value("${kafka.schema.id-cache-file:${java.io.tmpdir}/provider-service-schema-ids.properties}")
+                                 Path idCacheFile) {
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.subjects = List.of(subject(eventsTopic), subject(snapshotsTopic));
+        this.pinnedId = pinnedId != null ? OptionalInt.of(pinnedId) : OptionalInt.empty();
+        this.autoRegister = autoRegister;
+        this.resolveOnStartup = resolveOnStartup;
+        this.idCacheFile = idCacheFile;
+    }
+
+    /**
+     * Runs once every singleton exists, which is before the context refresh
+     * starts scheduled tasks such as the outbox relay and before the web
+     * server takes requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        resolveAll();
+    }
+
+    /**
+     * Resolves the id of every subject before traffic arrives. Subjects the
+     * registry does not answer for fall back to the ids saved by an earlier
+     * start; anything still missing is looked up on its first send.
+     */
+    public void resolveAll() {
+        if (pinnedId.isPresent()) {
+            log.info("Service event schema pinned to id {}, schema registry lookups disabled", pinnedId.getAsInt());
+            return;
+        }
+        if (!resolveOnStartup) {
+            return;
+        }
+
+        Properties saved = load();
+        boolean registryAvailable = true;
+        for (String subject : subjects) {
+            if (registryAvailable) {
+                try {
+                    ids.put(subject, lookup(subject));
+                    continue;
+                } catch (IOException | RestClientException e) {
+                    // Once the registry failed, the remaining subjects go straight to the saved ids
+                    registryAvailable = false;
+                    log.warn("Schema registry unavailable for subject {}: {}", subject, e.getMessage());
+                }
+            }
+            Optional.ofNullable(saved.getProperty(cacheKey(subject))).map(Integer::valueOf).ifPresentOrElse(
+                    id -> {
+                        ids.put(subject, id);
+                        log.info("Using saved schema id {} for subject {}", id, subject);
+                    },
+                    () -> log.warn("No saved schema id for subject {}, it is resolved on first send", subject));
+        }
+        if (registryAvailable) {
+            save();
+        }
+        log.info("Service event schema ids resolved: {}", ids);
+    }
+
+    /**
+     * Id to write in front of a service event sent to the given topic.
+     *
+     * @throws SchemaRegistryUnavailableException when the id has to be looked
+     * up and the registry cannot be reached or answers with a server error
+     * @throws SerializationException when the registry refuses the schema
+     */
+    public int idFor(String topic) {
+        if (pinnedId.isPresent()) {
+            return pinnedId.getAsInt();
+        }
+        return ids.computeIfAbsent(subject(topic), subject -> {
+            try {
+                return lookup(subject);
+            } catch (IOException e) {
+                throw new SchemaRegistryUnavailableException("Schema registry unreachable for " + subject, e);
+            } catch (RestClientException e) {
+                if (e.getStatus() >= 500) {
+                    throw new SchemaRegistryUnavailableException("Schema registry failed for " + subject, e);
+                }
+                throw new SerializationException("Could not resolve the service event schema id for " + subject, e);
+            }
+        });
+    }
+
+    private int lookup(String subject) throws IOException, RestClientException {
+        return autoRegister
+                ? schemaRegistryClient.register(subject, SCHEMA)
+                : schemaRegistryClient.getId(subject, SCHEMA);
+    }
+
+    private Properties load() {
+        Properties properties = new Properties();
+        if (Files.isReadable(idCacheFile)) {
+            try (InputStream in = Files.newInputStream(idCacheFile)) {
+                properties.load(in);
+            } catch (IOException e) {
+                log.warn("Could not read saved schema ids from {}: {}", idCacheFile, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private void save() {
+        Properties properties = load();
+        ids.forEach((subject, id) -> properties.setProperty(cacheKey(subject), id.toString()));
+        try {
+            if (idCacheFile.getParent() != null) {
+                Files.createDirectories(idCacheFile.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(idCacheFile)) {
+                properties.store(out, "Schema registry ids by subject and schema fingerprint");
+            }
+        } catch (IOException e) {
+            log.warn("Could not save schema ids to {}: {}", idCacheFile, e.getMessage());
+        }
+    }
+
+    // Keyed by fingerprint too, so an id saved for an older schema is never used for a newer one
+    private static String cacheKey(String subject) {
+        return subject + "." + FINGERPRINT;
+    }
+
+    private static String subject(String topic) {
+        return topic + "-value";
+    }
+}
@@ -0,0 +1,62 @@
+package com.serviq.provider.events.schema;
+
+import com.serviq.provider.service.events.ServiceEvent;
+import org.apache.avro.Conversions;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes service events in the schema registry wire format: a zero magic
+ * byte, the four byte schema id and the Avro binary record. The id comes from
+ * {@link ServiceEventSchemaIds}, so unlike {@code KafkaAvroSerializer} a send
+ * never calls the registry. Null values pass through as tombstones.
+ */
+public class ServiceEventSerializer implements Serializer<Object> {
+
+    private static final byte MAGIC_BYTE = 0;
+    private static final int ID_SIZE = 4;
+
+    private final ServiceEventSchemaIds schemaIds;
+    private final DatumWriter<ServiceEvent> writer;
+
+    public ServiceEventSerializer(ServiceEventSchemaIds schemaIds) {
+        this.schemaIds = schemaIds;
+        // Writes decimal and timestamp-millis fields, also inside nullable unions, from BigDecimal and Instant
+        SpecificData specificData = new SpecificData();
+        specificData.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        specificData.addLogicalTypeConversion(new TimeConversions.TimestampMillisConversion());
+        this.writer = new SpecificDatumWriter<>(ServiceEvent.getClassSchema(), specificData);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof ServiceEvent event)) {
+            throw new SerializationException("Only service events can be sent, got " + data.getClass().getName());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(ID_SIZE).putInt(schemaIds.idFor(topic)).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(event, encoder);
+            encoder.flush();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not serialize service event " + event.getEventId(), e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,20 @@
+package com.serviq.provider.geo;
+
+/**
+ * Latitude and longitude box. A box whose minimum longitude is greater than
+ * its maximum longitude crosses the antimeridian.
+ */
+public record GeoBounds(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    public double centerLatitude() {
+        return (minLatitude + maxLatitude) / 2;
+    }
+
+    public double centerLongitude() {
+        return (minLongitude + maxLongitude) / 2;
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+}
@@ -0,0 +1,184 @@
+package com.serviq.provider.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geohash encoding, cell geometry and great circle distance. Encoding matches the
+ * {@code provider.geohash_encode} database function, so a hash computed here
+ * is a prefix of the {@code geohash} column of every location inside the cell.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        validate(latitude, longitude);
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+
+        double latLo = -90, latHi = 90, lonLo = -180, lonHi = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        int bits = 0;
+        int bitCount = 0;
+        boolean even = true;
+        while (hash.length() < precision) {
+            // Even bits split longitude, odd bits split latitude
+            if (even) {
+                double mid = (lonLo + lonHi) / 2;
+                if (longitude >= mid) {
+                    bits = bits * 2 + 1;
+                    lonLo = mid;
+                } else {
+                    bits = bits * 2;
+                    lonHi = mid;
+                }
+            } else {
+                double mid = (latLo + latHi) / 2;
+                if (latitude >= mid) {
+                    bits = bits * 2 + 1;
+                    latLo = mid;
+                } else {
+                    bits = bits * 2;
+                    latHi = mid;
+                }
+            }
+            even = !even;
+            if (++bitCount == 5) {
+                hash.append(BASE32.charAt(bits));
+                bits = 0;
+                bitCount = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Box covered by a geohash cell.
+     */
+    public static GeoBounds bounds(String hash) {
+        double latLo = -90, latHi = 90, lonLo = -180, lonHi = 180;
+        boolean even = true;
+        for (int i = 0; i < hash.length(); i++) {
+            int bits = BASE32.indexOf(hash.charAt(i));
+            if (bits < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((bits >> bit) & 1) == 1;
+                if (even) {
+                    double mid = (lonLo + lonHi) / 2;
+                    if (set) {
+                        lonLo = mid;
+                    } else {
+                        lonHi = mid;
+                    }
+                } else {
+                    double mid = (latLo + latHi) / 2;
+                    if (set) {
+                        latLo = mid;
+                    } else {
+                        latHi = mid;
+                    }
+                }
+                even = !even;
+            }
+        }
+        return new GeoBounds(latLo, lonLo, latHi, lonHi);
+    }
+
+    /**
+     * Number of cells of the given precision that {@link #covering} returns for the box.
+     */
+    public static long coveringSize(GeoBounds box, int precision) {
+        return (long) rowCount(box, precision) * columnRanges(box, precision).stream()
+                .mapToLong(range -> range[1] - range[0] + 1)
+                .sum();
+    }
+
+    /**
+     * Geohashes of all cells of the given precision that overlap the box.
+     */
+    public static List<String> covering(GeoBounds box, int precision) {
+        double latSpan = latitudeSpan(precision);
+        double lonSpan = longitudeSpan(precision);
+        int rowFrom = cellIndex(box.minLatitude() + 90, latSpan, (int) Math.round(180 / latSpan));
+        int rows = rowCount(box, precision);
+
+        List<String> cells = new ArrayList<>();
+        for (int row = rowFrom; row < rowFrom + rows; row++) {
+            double latitude = -90 + (row + 0.5) * latSpan;
+            for (int[] range : columnRanges(box, precision)) {
+                for (int column = range[0]; column <= range[1]; column++) {
+                    cells.add(encode(latitude, -180 + (column + 0.5) * lonSpan, precision));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static int rowCount(GeoBounds box, int precision) {
+        double latSpan = latitudeSpan(precision);
+        int rows = (int) Math.round(180 / latSpan);
+        return cellIndex(box.maxLatitude() + 90, latSpan, rows) - cellIndex(box.minLatitude() + 90, latSpan, rows) + 1;
+    }
+
+    // Inclusive column ranges, two of them when the box crosses the antimeridian
+    private static List<int[]> columnRanges(GeoBounds box, int precision) {
+        double lonSpan = longitudeSpan(precision);
+        int columns = (int) Math.round(360 / lonSpan);
+        int from = cellIndex(box.minLongitude() + 180, lonSpan, columns);
+        int to = cellIndex(box.maxLongitude() + 180, lonSpan, columns);
+        if (box.crossesAntimeridian()) {
+            return List.of(new int[]{from, columns - 1}, new int[]{0, to});
+        }
+        return List.of(new int[]{from, to});
+    }
+
+    private static int cellIndex(double offset, double span, int count) {
+        return Math.max(0, Math.min(count - 1, (int) Math.floor(offset / span)));
+    }
+
+    /**
+     * Height of a cell of the given precision in degrees of latitude.
+     */
+    public static double latitudeSpan(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /**
+     * Width of a cell of the given precision in degrees of longitude.
+     */
+    public static double longitudeSpan(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Haversine distance between two points in kilometers.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static void validate(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+    }
+}
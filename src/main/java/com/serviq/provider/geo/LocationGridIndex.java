@@ -0,0 +1,186 @@
+package com.serviq.provider.geo;
+
+import com.serviq.provider.dto.projection.LocationCoordinates;
+import com.serviq.provider.repository.LocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory grid of active locations for radius and nearest neighbour
+ * lookups. Grid cells are the geohash cells of {@link #GRID_PRECISION}
+ * (about 4.9 x 4.9 km at the equator), so a query only looks at the cells
+ * its circle overlaps instead of every location. The grid is rebuilt from
+ * the database in the background and swapped in whole.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocationGridIndex {
+
+    static final int GRID_PRECISION = 5;
+
+    private static final double CELL_LAT = GeoHash.latitudeSpan(GRID_PRECISION);
+    private static final double CELL_LON = GeoHash.longitudeSpan(GRID_PRECISION);
+    private static final int ROWS = (int) Math.round(180 / CELL_LAT);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_LON);
+    // Longitude degrees grow without bound towards the poles, cells there are searched as if at this latitude
+    private static final double MAX_LATITUDE_FOR_WIDTH = 85;
+
+    private final LocationRepository locationRepository;
+
+    @Value("${geo.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Grid grid = Grid.build(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread.ofVirtual().name("location-grid-rebuild").start(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${geo.rebuild-interval:PT5M}",
+            initialDelayString = "${geo.rebuild-interval:PT5M}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            Grid rebuilt = Grid.build(locationRepository.findActiveCoordinates());
+            grid = rebuilt;
+            log.info("Location grid rebuilt with {} locations in {} cells in {} ms",
+                    rebuilt.size(), rebuilt.cells.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Location grid rebuild failed, keeping the previous grid", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * Locations within the radius of the point, nearest first.
+     */
+    public List<NearbyLocation> withinRadius(double latitude, double longitude, double radiusKm) {
+        GeoHash.validate(latitude, longitude);
+        Grid current = grid;
+        List<NearbyLocation> result = new ArrayList<>();
+
+        double latDelta = radiusKm / GeoHash.KM_PER_DEGREE;
+        int rowFrom = row(latitude - latDelta);
+        int rowTo = row(latitude + latDelta);
+
+        // The circle is widest in degrees at its edge nearest to a pole
+        double widestLatitude = Math.min(MAX_LATITUDE_FOR_WIDTH, Math.abs(latitude) + latDelta);
+        double lonDelta = latDelta / Math.cos(Math.toRadians(widestLatitude));
+        long columnFrom = (long) Math.floor((longitude - lonDelta + 180) / CELL_LON);
+        long columnTo = (long) Math.floor((longitude + lonDelta + 180) / CELL_LON);
+        if (columnTo - columnFrom >= COLUMNS) {
+            columnFrom = 0;
+            columnTo = COLUMNS - 1;
+        }
+
+        for (int row = rowFrom; row <= rowTo; row++) {
+            for (long column = columnFrom; column <= columnTo; column++) {
+                Point[] points = current.cells.get(key(row, Math.floorMod(column, COLUMNS)));
+                if (points == null) {
+                    continue;
+                }
+                for (Point point : points) {
+                    double distance = GeoHash.distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusKm) {
+                        result.add(new NearbyLocation(point.id(), distance));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(NearbyLocation::distanceKm));
+        return result;
+    }
+
+    /**
+     * Up to {@code k} locations nearest to the point, no further than the
+     * radius, nearest first. The search circle starts at one grid cell and
+     * doubles until it holds {@code k} locations.
+     */
+    public List<NearbyLocation> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        double radiusKm = Math.min(maxRadiusKm, CELL_LAT * GeoHash.KM_PER_DEGREE);
+        while (true) {
+            List<NearbyLocation> found = withinRadius(latitude, longitude, radiusKm);
+            if (found.size() >= k || radiusKm >= maxRadiusKm) {
+                return found.size() > k ? List.copyOf(found.subList(0, k)) : found;
+            }
+            radiusKm = Math.min(maxRadiusKm, radiusKm * 2);
+        }
+    }
+
+    private static int row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_LAT)));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_LON), COLUMNS);
+    }
+
+    private static int key(int row, int column) {
+        return row * COLUMNS + column;
+    }
+
+    private record Point(UUID id, double latitude, double longitude) {
+    }
+
+    private static final class Grid {
+
+        private final Map<Integer, Point[]> cells;
+        private final int size;
+
+        private Grid(Map<Integer, Point[]> cells, int size) {
+            this.cells = cells;
+            this.size = size;
+        }
+
+        static Grid build(Collection<LocationCoordinates> locations) {
+            Map<Integer, List<Point>> byCell = new HashMap<>();
+            int size = 0;
+            for (LocationCoordinates location : locations) {
+                if (location.latitude() == null || location.longitude() == null) {
+                    continue;
+                }
+                Point point = new Point(location.id(), location.latitude().doubleValue(),
+                        location.longitude().doubleValue());
+                byCell.computeIfAbsent(key(row(point.latitude()), column(point.longitude())), cell -> new ArrayList<>())
+                        .add(point);
+                size++;
+            }
+
+            Map<Integer, Point[]> cells = new HashMap<>(byCell.size() * 2);
+            byCell.forEach((cell, points) -> cells.put(cell, points.toArray(Point[]::new)));
+            return new Grid(cells, size);
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
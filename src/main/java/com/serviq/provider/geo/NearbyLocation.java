@@ -0,0 +1,9 @@
+package com.serviq.provider.geo;
+
+import java.util.UUID;
+
+/**
+ * A location and its distance from the point a nearby query was made for.
+ */
+public record NearbyLocation(UUID locationId, double distanceKm) {
+}
@@ -1,19 +1,37 @@
 package com.serviq.provider.mapper;
 
+import com.serviq.provider.dto.event.OccurredOnDeserializer;
 import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
 import com.serviq.provider.service.events.ServiceEvent;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class ServiceEventMapper {
 
+    // Scale of the price decimal in service-event.avsc, same as the price column
+    private static final int PRICE_SCALE = 2;
+
+    /**
+     * Reads the typed fields, falling back to the deprecated string fields for
+     * events from producers that only write those
+     */
     public ServiceEventDto toServiceEventDto(ServiceEvent serviceEvent) {
         return ServiceEventDto.builder()
                 .eventId(serviceEvent.getEventId())
                 .eventType(serviceEvent.getEventType())
-                .occurredOn(serviceEvent.getOccurredOn())
+                .occurredOn(serviceEvent.getOccurredAt() != null
+                        ? serviceEvent.getOccurredAt()
+                        : OccurredOnDeserializer.parseLegacy(serviceEvent.getOccurredOn()))
                 .orgId(serviceEvent.getOrgId())
                 .serviceId(serviceEvent.getServiceId())
                 .title(serviceEvent.getTitle())
@@ -21,21 +39,63 @@ public class ServiceEventMapper {
                 .category(serviceEvent.getCategory())
                 .providerId(serviceEvent.getProviderId())
                 .providerName(serviceEvent.getProviderName())
+                .primaryLocation(serviceEvent.getPrimaryLocation())
+                .locations(serviceEvent.getLocations())
                 .duration(serviceEvent.getDuration())
                 .unit(serviceEvent.getUnit())
-                .price(new BigDecimal(serviceEvent.getPrice()))
+                .price(serviceEvent.getPriceAmount() != null
+                        ? serviceEvent.getPriceAmount()
+                        : serviceEvent.getPrice() != null ? new BigDecimal(serviceEvent.getPrice()) : null)
                 .currency(serviceEvent.getCurrency())
-                .latitude(serviceEvent.getLatitude())
-                .longitude(serviceEvent.getLongitude())
+                .latitude(degrees(serviceEvent.getLatitudeDegrees(), serviceEvent.getLatitude()))
+                .longitude(degrees(serviceEvent.getLongitudeDegrees(), serviceEvent.getLongitude()))
                 .isActive(serviceEvent.getIsActive())
+                .changedFields(serviceEvent.getChangedFields())
                 .build();
     }
 
+    /**
+     * Full state of a service, from the response projection and its location
+     * views, for events that carry every field
+     */
+    public ServiceEventDto toServiceEventDto(ServiceEventType type, ProviderServiceResponse service,
+                                             List<ServiceLocationView> locations) {
+        Optional<ServiceLocationView> primary = locations.stream()
+                .filter(view -> Boolean.TRUE.equals(view.isPrimary()))
+                .findFirst();
+        return ServiceEventDto.forService(type, service.getId())
+                .orgId(service.getOrgId().toString())
+                .title(service.getTitle())
+                .categoryId(service.getCategoryId().toString())
+                // Same placeholder as SERVICE_CREATED until categories are resolved
+                .category("HealthCare")
+                .providerId(service.getProviderId().toString())
+                .providerName(service.getProviderName() != null ? service.getProviderName() : "")
+                .primaryLocation(primary.map(ServiceLocationView::name).orElse(""))
+                .locations(locations.stream().map(ServiceLocationView::name).toList())
+                .duration(service.getDuration())
+                .unit(service.getUnit())
+                .price(service.getPrice())
+                .currency(service.getCurrency())
+                .latitude(primary.map(ServiceLocationView::latitude).map(ServiceEventMapper::toDegrees).orElse(null))
+                .longitude(primary.map(ServiceLocationView::longitude).map(ServiceEventMapper::toDegrees).orElse(null))
+                .isActive(service.getIsActive())
+                .build();
+    }
+
+    /**
+     * Writes the typed fields and, until every consumer reads those, the
+     * deprecated string fields in their old format
+     */
     public ServiceEvent toServiceEventAvro(ServiceEventDto serviceEventDto) {
+        BigDecimal price = serviceEventDto.getPrice() != null
+                ? serviceEventDto.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP)
+                : null;
         return ServiceEvent.newBuilder()
                 .setEventId(serviceEventDto.getEventId())
                 .setEventType(serviceEventDto.getEventType())
-                .setOccurredOn(serviceEventDto.getOccurredOn())
+                .setOccurredOn(String.valueOf(Date.from(serviceEventDto.getOccurredOn())))
+                .setOccurredAt(serviceEventDto.getOccurredOn())
                 .setOrgId(serviceEventDto.getOrgId())
                 .setServiceId(serviceEventDto.getServiceId())
                 .setTitle(serviceEventDto.getTitle())
@@ -47,11 +107,35 @@ public class ServiceEventMapper {
                 .setLocations(serviceEventDto.getLocations())
                 .setDuration(serviceEventDto.getDuration())
                 .setUnit(serviceEventDto.getUnit())
-                .setPrice(serviceEventDto.getPrice().toString())
+                .setPrice(price != null ? price.toString() : null)
+                .setPriceAmount(price)
                 .setCurrency(serviceEventDto.getCurrency())
-                .setLatitude(serviceEventDto.getLatitude())
-                .setLongitude(serviceEventDto.getLongitude())
-                .setIsActive(serviceEventDto.isActive())
+                .setLatitude(legacyDegrees(serviceEventDto.getLatitude()))
+                .setLatitudeDegrees(serviceEventDto.getLatitude())
+                .setLongitude(legacyDegrees(serviceEventDto.getLongitude()))
+                .setLongitudeDegrees(serviceEventDto.getLongitude())
+                .setIsActive(serviceEventDto.getIsActive())
+                .setChangedFields(serviceEventDto.getChangedFields())
                 .build();
     }
+
+    /**
+     * Coordinates go out as doubles, which hold the six to eight decimals of
+     * the location columns well below a metre
+     */
+    public static Double toDegrees(BigDecimal coordinate) {
+        return coordinate != null ? coordinate.doubleValue() : null;
+    }
+
+    private static Double degrees(Double typed, String legacy) {
+        if (typed != null) {
+            return typed;
+        }
+        return legacy != null ? Double.valueOf(legacy) : null;
+    }
+
+    // Decimal string as the location columns used to be written, without exponent
+    private static String legacyDegrees(Double degrees) {
+        return degrees != null ? BigDecimal.valueOf(degrees).toPlainString() : null;
+    }
 }
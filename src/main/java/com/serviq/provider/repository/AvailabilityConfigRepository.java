@@ -5,11 +5,13 @@ import com.serviq.provider.entity.enums.ConfigType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -56,4 +58,13 @@ public interface AvailabilityConfigRepository extends JpaRepository<Availability
             @Param("excludeId") UUID excludeId);
 
     void deleteByProviderIdAndId(UUID providerId, UUID id);
+
+    @Modifying
+    @Query("UPDATE AvailabilityConfig ac SET ac.isActive = :active, ac.updatedAt = :updatedAt " +
+            "WHERE ac.id = :id AND ac.providerId = :providerId")
+    int updateActiveStatus(
+            @Param("id") UUID id,
+            @Param("providerId") UUID providerId,
+            @Param("active") boolean active,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,15 @@
+package com.serviq.provider.repository;
+
+import com.serviq.provider.entity.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, Long> {
+
+    // Find the partitions of a backfill job in partition order
+    List<BackfillCheckpoint> findByJobIdOrderByPartitionNo(UUID jobId);
+}
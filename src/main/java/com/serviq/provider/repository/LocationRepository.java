@@ -1,7 +1,10 @@
 package com.serviq.provider.repository;
 
+import com.serviq.provider.dto.projection.LocationCoordinates;
+import com.serviq.provider.dto.projection.TermWeight;
 import com.serviq.provider.entity.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -22,4 +25,21 @@ public interface LocationRepository extends JpaRepository<Location, UUID> {
 
     boolean existsByLatitudeAndLongitude(BigDecimal latitude, BigDecimal longitude);
 
+    // Find positions of all active locations, to build the in-memory nearby index
+    @Query("SELECT new com.serviq.provider.dto.projection.LocationCoordinates(l.id, l.latitude, l.longitude) " +
+            "FROM Location l WHERE l.isActive = true")
+    List<LocationCoordinates> findActiveCoordinates();
+
+    // Distinct cities of active locations, weighted by the active services offered there
+    @Query(value = "SELECT l.city AS term, COUNT(sl.id) AS weight FROM provider.locations l " +
+            "LEFT JOIN provider.service_locations sl ON sl.location_id = l.id AND sl.is_active = true " +
+            "WHERE l.is_active = true GROUP BY l.city", nativeQuery = true)
+    List<TermWeight> findCityTermWeights();
+
+    // Distinct names of active locations, weighted by the active services offered there
+    @Query(value = "SELECT l.name AS term, COUNT(sl.id) AS weight FROM provider.locations l " +
+            "LEFT JOIN provider.service_locations sl ON sl.location_id = l.id AND sl.is_active = true " +
+            "WHERE l.is_active = true GROUP BY l.name", nativeQuery = true)
+    List<TermWeight> findNameTermWeights();
+
 }
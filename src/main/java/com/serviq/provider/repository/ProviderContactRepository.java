@@ -2,8 +2,12 @@ package com.serviq.provider.repository;
 
 import com.serviq.provider.entity.ProviderContact;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +22,12 @@ public interface ProviderContactRepository extends JpaRepository<ProviderContact
     boolean existsByEmailAndIsActiveTrue(String email);
 
     boolean existsByEmailAndProviderIdNotAndIsActiveTrue(String email, UUID providerId);
+
+    @Modifying
+    @Query("UPDATE ProviderContact pc SET pc.isActive = false, pc.updatedAt = :updatedAt " +
+            "WHERE pc.id = :id AND pc.provider.id = :providerId AND pc.isActive = true")
+    int deactivateByIdAndProviderId(
+            @Param("id") UUID id,
+            @Param("providerId") UUID providerId,
+            @Param("updatedAt") OffsetDateTime updatedAt);
 }
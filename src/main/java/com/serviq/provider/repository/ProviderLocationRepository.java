@@ -2,8 +2,12 @@ package com.serviq.provider.repository;
 
 import com.serviq.provider.entity.ProviderLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +22,13 @@ public interface ProviderLocationRepository extends JpaRepository<ProviderLocati
     Optional<ProviderLocation> findByProviderIdAndIsPrimaryTrueAndIsActiveTrue(UUID providerId);
 
     List<ProviderLocation> findByCityAndIsActiveTrue(String city);
+
+    @Modifying
+    @Query("UPDATE ProviderLocation pl SET pl.isActive = false, pl.updatedAt = :updatedAt " +
+            "WHERE pl.id = :id AND pl.provider.id = :providerId AND pl.isActive = true " +
+            "AND (pl.isPrimary = false OR pl.isPrimary IS NULL)")
+    int deactivateNonPrimaryByIdAndProviderId(
+            @Param("id") UUID id,
+            @Param("providerId") UUID providerId,
+            @Param("updatedAt") OffsetDateTime updatedAt);
 }
@@ -1,5 +1,6 @@
 package com.serviq.provider.repository;
 
+import com.serviq.provider.dto.projection.TermWeight;
 import com.serviq.provider.entity.Provider;
 import com.serviq.provider.entity.enums.ProviderType;
 import com.serviq.provider.entity.enums.VerificationStatus;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +21,12 @@ public interface ProviderRepository extends JpaRepository<Provider, UUID> {
 
     Optional<Provider> findByIdAndIsActiveTrue(UUID id);
 
+    List<Provider> findByIdInAndIsActiveTrue(Collection<UUID> ids);
+
+    // Find an active provider with its contacts fetched in the same statement
+    @Query("SELECT p FROM Provider p LEFT JOIN FETCH p.contacts WHERE p.id = :id AND p.isActive = true")
+    Optional<Provider> findWithContactsByIdAndIsActiveTrue(@Param("id") UUID id);
+
     List<Provider> findByOrgIdAndIsActiveTrue(UUID orgId);
 
     Page<Provider> findByIsActiveTrue(Pageable pageable);
@@ -27,10 +35,23 @@ public interface ProviderRepository extends JpaRepository<Provider, UUID> {
 
     Page<Provider> findByVerificationStatusAndIsActiveTrue(VerificationStatus verificationStatus, Pageable pageable);
 
-    @Query("SELECT p FROM Provider p WHERE p.isActive = true AND " +
-            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.displayName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    // Trigram match on name or display name (pg_trgm GIN indexes), best word similarity first.
+    // Callers pass an unsorted page, the ranking is the order.
+    @Query(value = "SELECT p.* FROM provider.provider p WHERE p.is_active = true AND " +
+            "(:searchTerm <% p.name OR :searchTerm <% p.display_name OR " +
+            "p.name ILIKE CONCAT('%', :searchTerm, '%') OR p.display_name ILIKE CONCAT('%', :searchTerm, '%')) " +
+            "ORDER BY GREATEST(word_similarity(:searchTerm, p.name), word_similarity(:searchTerm, p.display_name)) DESC, p.name",
+            countQuery = "SELECT COUNT(*) FROM provider.provider p WHERE p.is_active = true AND " +
+                    "(:searchTerm <% p.name OR :searchTerm <% p.display_name OR " +
+                    "p.name ILIKE CONCAT('%', :searchTerm, '%') OR p.display_name ILIKE CONCAT('%', :searchTerm, '%'))",
+            nativeQuery = true)
     Page<Provider> searchProviders(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     boolean existsByOrgIdAndNameAndIsActiveTrue(UUID orgId, String name);
+
+    // Distinct names of active providers, weighted by their active services
+    @Query(value = "SELECT p.name AS term, COUNT(ps.id) AS weight FROM provider.provider p " +
+            "LEFT JOIN provider.provider_service ps ON ps.provider_id = p.id AND ps.is_active = true " +
+            "WHERE p.is_active = true GROUP BY p.name", nativeQuery = true)
+    List<TermWeight> findNameTermWeights();
 }
@@ -1,20 +1,41 @@
 package com.serviq.provider.repository;
 
+import com.serviq.provider.dto.projection.TermWeight;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
 import com.serviq.provider.entity.ProviderService;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProviderServiceRepository extends JpaRepository<ProviderService, UUID> {
 
+    String SERVICE_RESPONSE_PROJECTION = "SELECT new com.serviq.provider.dto.response.ProviderServiceResponse(" +
+            "ps.id, ps.orgId, ps.providerId, ps.categoryId, p.name, ps.title, ps.description, ps.duration, " +
+            "ps.unit, ps.price, ps.currency, ps.maxCapacity, ps.isActive, ps.metadata) " +
+            "FROM ProviderService ps LEFT JOIN Provider p ON p.id = ps.providerId ";
+
+    /**
+     * Find service by ID with its locations fetched in the same statement
+     */
+    @EntityGraph(attributePaths = {"serviceLocations", "serviceLocations.location"})
+    Optional<ProviderService> findWithLocationsById(UUID id);
+
     /**
      * Find all services by provider ID
      */
@@ -46,9 +67,6 @@ public interface ProviderServiceRepository extends JpaRepository<ProviderService
     @Query("SELECT ps FROM ProviderService ps WHERE ps.orgId = :orgId AND ps.isActive = true")
     Page<ProviderService> findActiveServicesByOrgId(@Param("orgId") UUID orgId, Pageable pageable);
 
-    @Query("SELECT ps from ProviderService ps WHERE LOWER(ps.title) like LOWER(CONCAT('%', :searchTerm, '%')) and ps.isActive=true")
-    Page<ProviderService> searchProviderServiceByName(@Param("searchTerm") String searchTerm, Pageable pageable);
-
     /**
      * Check if provider has any active services
      */
@@ -59,4 +77,104 @@ public interface ProviderServiceRepository extends JpaRepository<ProviderService
      */
     long countByProviderId(UUID providerId);
 
+    /**
+     * Projection of a single service, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.id = :id")
+    Optional<ProviderServiceResponse> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Projection of a single service within an organization, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.id = :id AND ps.orgId = :orgId")
+    Optional<ProviderServiceResponse> findResponseByIdAndOrgId(@Param("id") UUID id, @Param("orgId") UUID orgId);
+
+    /**
+     * Projection of all services by provider ID, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.providerId = :providerId")
+    List<ProviderServiceResponse> findResponsesByProviderId(@Param("providerId") UUID providerId);
+
+    /**
+     * Projection of active services by provider ID, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.providerId = :providerId AND ps.isActive = true")
+    List<ProviderServiceResponse> findActiveResponsesByProviderId(@Param("providerId") UUID providerId);
+
+    /**
+     * Projection of services by organization ID, locations are not populated
+     */
+    @Query(value = SERVICE_RESPONSE_PROJECTION + "WHERE ps.orgId = :orgId",
+            countQuery = "SELECT COUNT(ps) FROM ProviderService ps WHERE ps.orgId = :orgId")
+    Page<ProviderServiceResponse> findResponsesByOrgId(@Param("orgId") UUID orgId, Pageable pageable);
+
+    /**
+     * Projection of active services by organization ID, locations are not populated
+     */
+    @Query(value = SERVICE_RESPONSE_PROJECTION + "WHERE ps.orgId = :orgId AND ps.isActive = true",
+            countQuery = "SELECT COUNT(ps) FROM ProviderService ps WHERE ps.orgId = :orgId AND ps.isActive = true")
+    Page<ProviderServiceResponse> findActiveResponsesByOrgId(@Param("orgId") UUID orgId, Pageable pageable);
+
+    /**
+     * Ids of active services whose title matches the term, ranked by trigram word similarity.
+     * Backed by the pg_trgm GIN index on title, so typos still match. Callers pass an unsorted page.
+     */
+    @Query(value = "SELECT ps.id FROM provider.provider_service ps WHERE ps.is_active = true AND " +
+            "(:searchTerm <% ps.title OR ps.title ILIKE CONCAT('%', :searchTerm, '%')) " +
+            "ORDER BY word_similarity(:searchTerm, ps.title) DESC, ps.title",
+            countQuery = "SELECT COUNT(*) FROM provider.provider_service ps WHERE ps.is_active = true AND " +
+                    "(:searchTerm <% ps.title OR ps.title ILIKE CONCAT('%', :searchTerm, '%'))",
+            nativeQuery = true)
+    Page<UUID> searchIdsByTitle(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Projection of the given services, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.id IN :ids")
+    List<ProviderServiceResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Distinct titles of active services, weighted by how many services share the title
+     */
+    @Query(value = "SELECT ps.title AS term, COUNT(*) AS weight FROM provider.provider_service ps " +
+            "WHERE ps.is_active = true GROUP BY ps.title", nativeQuery = true)
+    List<TermWeight> findTitleTermWeights();
+
+    /**
+     * Slice of all active services, used to rebuild the embedded search index
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.isActive = true")
+    Slice<ProviderServiceResponse> findActiveResponses(Pageable pageable);
+
+    /**
+     * Ids of all services, active or not, after {@code after} up to and including {@code upTo}, in id order.
+     * Read through a server-side cursor, so the caller must consume the stream within a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT ps.id FROM ProviderService ps WHERE ps.id > :after AND ps.id <= :upTo ORDER BY ps.id")
+    Stream<UUID> streamIds(@Param("after") UUID after, @Param("upTo") UUID upTo);
+
+    /**
+     * Projection of services by category ID, locations are not populated
+     */
+    @Query(SERVICE_RESPONSE_PROJECTION + "WHERE ps.categoryId = :categoryId")
+    List<ProviderServiceResponse> findResponsesByCategoryId(@Param("categoryId") UUID categoryId);
+
+    /**
+     * Set the active flag of a service in a single statement
+     */
+    @Modifying
+    @Query("UPDATE ProviderService ps SET ps.isActive = :active, ps.updatedAt = :updatedAt WHERE ps.id = :id")
+    int updateActiveStatus(@Param("id") UUID id,
+                           @Param("active") boolean active,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Delete a service together with its location mappings in a single statement
+     */
+    @Modifying
+    @Query(value = "WITH removed_locations AS (DELETE FROM provider.service_locations WHERE service_id = :id) " +
+            "DELETE FROM provider.provider_service WHERE id = :id", nativeQuery = true)
+    int deleteServiceById(@Param("id") UUID id);
+
 }
@@ -0,0 +1,69 @@
+package com.serviq.provider.repository;
+
+import com.serviq.provider.entity.ServiceDensityTile;
+import com.serviq.provider.entity.ServiceDensityTileId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ServiceDensityTileRepository extends JpaRepository<ServiceDensityTile, ServiceDensityTileId> {
+
+    /**
+     * Finest geohash precision kept in the table
+     */
+    int MAX_PRECISION = 7;
+
+    // Find the tiles of the given cells that still have services
+    @Query("SELECT t FROM ServiceDensityTile t WHERE t.id.geohash IN :geohashes AND t.serviceCount > 0")
+    List<ServiceDensityTile> findNonEmptyByGeohashIn(@Param("geohashes") Collection<String> geohashes);
+
+    /**
+     * Add delta to the count of every cell containing the geohash, from precision 1 to 7
+     */
+    @Modifying
+    @Query(value = "INSERT INTO provider.service_density_tile (geohash, category_id, service_count) " +
+            "SELECT left(CAST(:geohash AS varchar), p.len), CAST(:categoryId AS uuid), :delta " +
+            "FROM generate_series(1, LEAST(7, length(CAST(:geohash AS varchar)))) AS p(len) " +
+            "ON CONFLICT (geohash, category_id) " +
+            "DO UPDATE SET service_count = service_density_tile.service_count + EXCLUDED.service_count",
+            nativeQuery = true)
+    int adjustCounts(@Param("geohash") String geohash,
+                     @Param("categoryId") UUID categoryId,
+                     @Param("delta") int delta);
+
+    /**
+     * Hold off count adjustments and other recounts until the transaction ends.
+     * Adjustments already in flight are waited for, so a recount that follows
+     * sees their mapping changes.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE provider.service_density_tile IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRecount();
+
+    @Modifying
+    @Query(value = "DELETE FROM provider.service_density_tile", nativeQuery = true)
+    int deleteAllTiles();
+
+    /**
+     * Recount every tile from the active service location mappings
+     */
+    @Modifying
+    @Query(value = "INSERT INTO provider.service_density_tile (geohash, category_id, service_count) " +
+            "SELECT left(l.geohash, p.len), ps.category_id, COUNT(*) " +
+            "FROM provider.service_locations sl " +
+            "JOIN provider.locations l ON l.id = sl.location_id " +
+            "JOIN provider.provider_service ps ON ps.id = sl.service_id " +
+            "CROSS JOIN generate_series(1, 7) AS p(len) " +
+            "WHERE sl.is_active = true AND l.is_active = true AND ps.is_active = true AND l.geohash IS NOT NULL " +
+            "GROUP BY left(l.geohash, p.len), ps.category_id " +
+            "ON CONFLICT (geohash, category_id) DO UPDATE SET service_count = EXCLUDED.service_count",
+            nativeQuery = true)
+    int insertRecountedTiles();
+}
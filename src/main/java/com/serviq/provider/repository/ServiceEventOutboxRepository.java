@@ -0,0 +1,86 @@
+package com.serviq.provider.repository;
+
+import com.serviq.provider.dto.projection.OutboxBacklog;
+import com.serviq.provider.entity.ServiceEventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ServiceEventOutboxRepository extends JpaRepository<ServiceEventOutbox, Long> {
+
+    // Per service advisory lock of the relays, in its own key space, released when the transaction ends
+    String CLAIM_SERVICE = "pg_try_advisory_xact_lock(hashtext('service_event_outbox'), hashtext(o.service_id::text))";
+
+    /**
+     * Oldest pending events, locked until the transaction ends. Rows another
+     * relay already holds are skipped, so replicas drain disjoint batches.
+     * Each service is also claimed with a transaction-scoped advisory lock, and
+     * services another relay has claimed are skipped as a whole. A later event
+     * of a service can then never be sent by one replica while an earlier one
+     * is still in flight on another. A service the scan passed over may stay
+     * claimed until the batch commits, which only delays it to the next run.
+     */
+    @Query(value = "SELECT * FROM provider.service_event_outbox o " +
+            "WHERE " + CLAIM_SERVICE + " " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ServiceEventOutbox> lockNextBatch(@Param("limit") int limit);
+
+    /**
+     * Like {@link #lockNextBatch}, but only for services that are settled: no
+     * event in the last {@code quietMillis}, or one waiting longer than
+     * {@code maxDelayMillis}. Events of a service still being changed stay
+     * behind so they can be sent as one.
+     */
+    @Query(value = "SELECT * FROM provider.service_event_outbox o " +
+            "WHERE (NOT EXISTS (SELECT 1 FROM provider.service_event_outbox n WHERE n.service_id = o.service_id " +
+            "AND n.created_at > now() - :quietMillis * interval '1 millisecond') " +
+            "OR EXISTS (SELECT 1 FROM provider.service_event_outbox d WHERE d.service_id = o.service_id " +
+            "AND d.created_at <= now() - :maxDelayMillis * interval '1 millisecond')) " +
+            "AND " + CLAIM_SERVICE + " " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE OF o SKIP LOCKED",
+            nativeQuery = true)
+    List<ServiceEventOutbox> lockNextSettledBatch(@Param("limit") int limit,
+                                                  @Param("quietMillis") long quietMillis,
+                                                  @Param("maxDelayMillis") long maxDelayMillis);
+
+    @Modifying
+    @Query("DELETE FROM ServiceEventOutbox o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Counts a failed send against the given rows and keeps the error.
+     */
+    @Modifying
+    @Query(value = "UPDATE provider.service_event_outbox SET attempts = attempts + 1, last_error = :error " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    /**
+     * Moves the given rows that have failed {@code maxAttempts} times to the
+     * dead letter table in one statement.
+     *
+     * @return number of rows moved
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM provider.service_event_outbox " +
+            "WHERE id IN (:ids) AND attempts >= :maxAttempts RETURNING *) " +
+            "INSERT INTO provider.service_event_dead_letter " +
+            "(id, service_id, event_type, payload, created_at, attempts, last_error) " +
+            "SELECT id, service_id, event_type, payload, created_at, attempts, last_error FROM moved",
+            nativeQuery = true)
+    int moveToDeadLetter(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT new com.serviq.provider.dto.projection.OutboxBacklog(COUNT(o), MIN(o.createdAt)) " +
+            "FROM ServiceEventOutbox o")
+    OutboxBacklog findBacklog();
+
+    @Query(value = "SELECT COUNT(*) FROM provider.service_event_dead_letter", nativeQuery = true)
+    long countDeadLetters();
+}
@@ -1,11 +1,14 @@
 package com.serviq.provider.repository;
 
+import com.serviq.provider.dto.projection.ServiceAtLocation;
+import com.serviq.provider.dto.projection.ServiceLocationView;
 import com.serviq.provider.entity.ServiceLocation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,4 +31,17 @@ public interface ServiceLocationRepository extends JpaRepository<ServiceLocation
 
     @Query("SELECT COUNT(sl) FROM ServiceLocation sl WHERE sl.location.id = :locationId")
     long countServicesByLocationId(@Param("locationId") UUID locationId);
+
+    @Query("SELECT new com.serviq.provider.dto.projection.ServiceLocationView(" +
+            "sl.service.id, sl.id, l.name, l.city, l.state, l.country, l.postalCode, " +
+            "l.latitude, l.longitude, sl.isPrimary, sl.isActive) " +
+            "FROM ServiceLocation sl JOIN sl.location l WHERE sl.service.id IN :serviceIds")
+    List<ServiceLocationView> findViewsByServiceIds(@Param("serviceIds") Collection<UUID> serviceIds);
+
+    @Query("SELECT new com.serviq.provider.dto.projection.ServiceAtLocation(s.id, l.id, l.name, l.city) " +
+            "FROM ServiceLocation sl JOIN sl.service s JOIN sl.location l " +
+            "WHERE l.id IN :locationIds AND sl.isActive = true AND s.isActive = true AND l.isActive = true " +
+            "AND (:categoryId IS NULL OR s.categoryId = :categoryId)")
+    List<ServiceAtLocation> findActiveServicesAtLocations(@Param("locationIds") Collection<UUID> locationIds,
+                                                          @Param("categoryId") UUID categoryId);
 }
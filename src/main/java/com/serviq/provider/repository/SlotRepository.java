@@ -1,22 +1,35 @@
 package com.serviq.provider.repository;
 
+import com.serviq.provider.dto.projection.SlotAtLocation;
+import com.serviq.provider.dto.projection.SlotCell;
+import com.serviq.provider.dto.response.SlotResponseDto;
 import com.serviq.provider.entity.Slot;
 import com.serviq.provider.entity.enums.SlotStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SlotRepository extends JpaRepository<Slot, UUID> {
 
+    String SLOT_RESPONSE_PROJECTION = "SELECT new com.serviq.provider.dto.response.SlotResponseDto(" +
+            "s.id, s.orgId, s.providerId, s.providerServiceId, s.slotDate, s.startTime, s.endTime, " +
+            "s.durationMinutes, s.capacity, s.bookedCount, s.status, s.createdAt, s.updatedAt) " +
+            "FROM Slot s ";
+
     // Find slots by provider and date
     List<Slot> findByProviderIdAndSlotDate(UUID providerId, LocalDate slotDate);
 
@@ -100,9 +113,172 @@ public interface SlotRepository extends JpaRepository<Slot, UUID> {
             "AND s.status = 'AVAILABLE'")
     List<Slot> findExpiredAvailableSlots(@Param("currentDate") LocalDate currentDate);
 
+    // Transition slot status in a single statement and return the updated row
+    @Query(value = "UPDATE provider.slots SET status = :status, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :slotId RETURNING *", nativeQuery = true)
+    Optional<Slot> updateStatusReturning(
+            @Param("slotId") UUID slotId,
+            @Param("status") String status
+    );
+
+    // Transition every unbooked slot matching the filters in a single statement
+    @Modifying
+    @Query("UPDATE Slot s SET s.status = :status, s.updatedAt = :updatedAt " +
+            "WHERE s.providerId = :providerId " +
+            "AND (:providerServiceId IS NULL OR s.providerServiceId = :providerServiceId) " +
+            "AND s.slotDate >= :startDate " +
+            "AND s.slotDate <= :endDate " +
+            "AND (:startTime IS NULL OR s.startTime >= :startTime) " +
+            "AND (:endTime IS NULL OR s.endTime <= :endTime) " +
+            "AND s.bookedCount = 0 " +
+            "AND s.status <> :status")
+    int bulkUpdateStatus(
+            @Param("providerId") UUID providerId,
+            @Param("providerServiceId") UUID providerServiceId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("status") SlotStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
     // Find slots by provider service
     Page<Slot> findByProviderServiceId(UUID providerServiceId, Pageable pageable);
 
+    // Projection queries, these select straight into the response DTO without managed entities
+    @Query(value = SLOT_RESPONSE_PROJECTION + "WHERE s.providerId = :providerId",
+            countQuery = "SELECT COUNT(s) FROM Slot s WHERE s.providerId = :providerId")
+    Page<SlotResponseDto> findResponsesByProviderId(@Param("providerId") UUID providerId, Pageable pageable);
+
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.providerServiceId = :providerServiceId " +
+            "AND s.slotDate = :slotDate " +
+            "AND s.status = 'AVAILABLE' " +
+            "AND s.bookedCount < s.capacity " +
+            "ORDER BY s.startTime")
+    List<SlotResponseDto> findAvailableSlotResponses(
+            @Param("providerServiceId") UUID providerServiceId,
+            @Param("slotDate") LocalDate slotDate
+    );
+
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.providerServiceId = :providerServiceId " +
+            "AND s.slotDate = :slotDate " +
+            "ORDER BY s.startTime")
+    List<SlotResponseDto> findAllSlotResponsesForTheDate(
+            @Param("providerServiceId") UUID providerServiceId,
+            @Param("slotDate") LocalDate slotDate
+    );
+
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.providerId = :providerId " +
+            "AND s.slotDate >= :startDate " +
+            "AND s.slotDate <= :endDate " +
+            "ORDER BY s.slotDate, s.startTime")
+    List<SlotResponseDto> findResponsesByProviderAndDateRange(
+            @Param("providerId") UUID providerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query(value = SLOT_RESPONSE_PROJECTION + "WHERE s.orgId = :orgId",
+            countQuery = "SELECT COUNT(s) FROM Slot s WHERE s.orgId = :orgId")
+    Page<SlotResponseDto> findResponsesByOrgId(@Param("orgId") UUID orgId, Pageable pageable);
+
+    @Query(value = SLOT_RESPONSE_PROJECTION + "WHERE s.providerServiceId = :providerServiceId",
+            countQuery = "SELECT COUNT(s) FROM Slot s WHERE s.providerServiceId = :providerServiceId")
+    Page<SlotResponseDto> findResponsesByProviderServiceId(
+            @Param("providerServiceId") UUID providerServiceId,
+            Pageable pageable
+    );
+
+    @Query(value = SLOT_RESPONSE_PROJECTION + "WHERE s.providerId = :providerId AND s.status = :status",
+            countQuery = "SELECT COUNT(s) FROM Slot s WHERE s.providerId = :providerId AND s.status = :status")
+    Page<SlotResponseDto> findResponsesByProviderIdAndStatus(
+            @Param("providerId") UUID providerId,
+            @Param("status") SlotStatus status,
+            Pageable pageable
+    );
+
+    // Find bookable slots in a start time window of active services offered at the given locations
+    @Query("SELECT new com.serviq.provider.dto.projection.SlotAtLocation(" +
+            "s.id, ps.id, ps.providerId, ps.categoryId, ps.title, l.id, l.name, l.city, " +
+            "s.slotDate, s.startTime, s.endTime, s.capacity, s.bookedCount) " +
+            "FROM ServiceLocation sl JOIN sl.service ps JOIN sl.location l " +
+            "JOIN Slot s ON s.providerServiceId = ps.id " +
+            "WHERE l.id IN :locationIds AND sl.isActive = true AND ps.isActive = true AND l.isActive = true " +
+            "AND (:categoryId IS NULL OR ps.categoryId = :categoryId) " +
+            "AND s.slotDate = :slotDate " +
+            "AND s.startTime >= :fromTime AND s.startTime < :toTime " +
+            "AND s.status = 'AVAILABLE' " +
+            "AND s.bookedCount < s.capacity")
+    List<SlotAtLocation> findAvailableSlotsAtLocations(
+            @Param("locationIds") Collection<UUID> locationIds,
+            @Param("categoryId") UUID categoryId,
+            @Param("slotDate") LocalDate slotDate,
+            @Param("fromTime") LocalTime fromTime,
+            @Param("toTime") LocalTime toTime
+    );
+
+    // Find slots by IDs
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.id IN :ids")
+    List<SlotResponseDto> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Find the first bookable slot of a service starting on or after the given date and time
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.providerServiceId = :providerServiceId " +
+            "AND s.status = 'AVAILABLE' " +
+            "AND s.bookedCount < s.capacity " +
+            "AND s.slotDate >= :fromDate " +
+            "AND (s.slotDate > :fromDate OR s.startTime >= :fromTime) " +
+            "ORDER BY s.slotDate, s.startTime")
+    List<SlotResponseDto> findNextAvailableSlotResponses(
+            @Param("providerServiceId") UUID providerServiceId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("fromTime") LocalTime fromTime,
+            Limit limit
+    );
+
+    // Find the first bookable slot of a provider starting on or after the given date and time
+    @Query(SLOT_RESPONSE_PROJECTION + "WHERE s.providerId = :providerId " +
+            "AND s.status = 'AVAILABLE' " +
+            "AND s.bookedCount < s.capacity " +
+            "AND s.slotDate >= :fromDate " +
+            "AND (s.slotDate > :fromDate OR s.startTime >= :fromTime) " +
+            "ORDER BY s.slotDate, s.startTime")
+    List<SlotResponseDto> findNextAvailableSlotResponsesByProvider(
+            @Param("providerId") UUID providerId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("fromTime") LocalTime fromTime,
+            Limit limit
+    );
+
+    // Find the first bookable slot of each service, one index seek per service through a lateral join
+    @Query(value = "SELECT s.* FROM provider.provider_service ps " +
+            "CROSS JOIN LATERAL (SELECT * FROM provider.slots sl " +
+            "WHERE sl.provider_service_id = ps.id " +
+            "AND sl.status = 'AVAILABLE' " +
+            "AND sl.booked_count < sl.capacity " +
+            "AND sl.slot_date >= :fromDate " +
+            "AND (sl.slot_date > :fromDate OR sl.start_time >= :fromTime) " +
+            "ORDER BY sl.slot_date, sl.start_time LIMIT 1) s " +
+            "WHERE ps.id IN (:providerServiceIds)", nativeQuery = true)
+    List<Slot> findNextAvailableSlots(
+            @Param("providerServiceIds") Collection<UUID> providerServiceIds,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("fromTime") LocalTime fromTime
+    );
+
+    // Find the time span and bookability of a service's slots in a date range, cancelled slots left out
+    @Query("SELECT new com.serviq.provider.dto.projection.SlotCell(s.slotDate, s.startTime, s.endTime, " +
+            "CASE WHEN s.status = 'AVAILABLE' AND s.bookedCount < s.capacity THEN true ELSE false END) " +
+            "FROM Slot s " +
+            "WHERE s.providerServiceId = :providerServiceId " +
+            "AND s.slotDate BETWEEN :startDate AND :endDate " +
+            "AND s.status <> 'CANCELLED'")
+    List<SlotCell> findSlotCells(
+            @Param("providerServiceId") UUID providerServiceId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     // Check if slot exists
     boolean existsByProviderIdAndProviderServiceIdAndSlotDateAndStartTime(
             UUID providerId,
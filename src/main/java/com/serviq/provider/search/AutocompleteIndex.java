@@ -0,0 +1,209 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.projection.TermWeight;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
+import com.serviq.provider.repository.LocationRepository;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves search box suggestions for cities, locations, providers and service
+ * titles from memory. The prefix indexes are rebuilt from the database in the
+ * background, and terms written since the last rebuild are kept in a small
+ * overlay that is merged at query time. Committed service changes are only
+ * queued by the request thread; a scheduled task reads them in one batch and
+ * adds them to the overlay.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutocompleteIndex {
+
+    private final LocationRepository locationRepository;
+    private final ProviderRepository providerRepository;
+    private final ProviderServiceRepository providerServiceRepository;
+    private final ServiceLocationRepository serviceLocationRepository;
+
+    @Value("${autocomplete.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${autocomplete.incremental-updates:true}")
+    private boolean incrementalUpdates;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<UUID> changedServiceIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, PendingSuggestion> overlay = new ConcurrentHashMap<>();
+    private volatile Map<SuggestionType, PrefixIndex> indexes = emptyIndexes();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread.ofVirtual().name("autocomplete-rebuild").start(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${autocomplete.rebuild-interval:PT10M}",
+            initialDelayString = "${autocomplete.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            Map<SuggestionType, PrefixIndex> rebuilt = new EnumMap<>(SuggestionType.class);
+            rebuilt.put(SuggestionType.CITY, build(SuggestionType.CITY, locationRepository.findCityTermWeights()));
+            rebuilt.put(SuggestionType.LOCATION, build(SuggestionType.LOCATION, locationRepository.findNameTermWeights()));
+            rebuilt.put(SuggestionType.PROVIDER, build(SuggestionType.PROVIDER, providerRepository.findNameTermWeights()));
+            rebuilt.put(SuggestionType.SERVICE, build(SuggestionType.SERVICE, providerServiceRepository.findTitleTermWeights()));
+            indexes = rebuilt;
+
+            // Patches older than this rebuild are part of it now
+            overlay.values().removeIf(pending -> pending.addedAt() < started);
+
+            log.info("Autocomplete rebuilt with {} suggestions in {} ms",
+                    rebuilt.values().stream().mapToInt(PrefixIndex::suggestionCount).sum(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Autocomplete rebuild failed, keeping the previous suggestions", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Top suggestions of the given types for the prefix, heaviest first.
+     */
+    public List<Suggestion> suggest(String prefix, Set<SuggestionType> types, int limit) {
+        String normalizedPrefix = PrefixIndex.normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        // Same text and type from the index and the overlay collapse into one suggestion
+        Map<String, Suggestion> merged = new LinkedHashMap<>();
+        Map<SuggestionType, PrefixIndex> current = indexes;
+        for (SuggestionType type : types) {
+            current.get(type).top(normalizedPrefix, limit).forEach(suggestion -> merge(merged, suggestion));
+        }
+        for (PendingSuggestion pending : overlay.values()) {
+            Suggestion suggestion = pending.suggestion();
+            if (types.contains(suggestion.type()) && matches(pending.normalized(), normalizedPrefix)) {
+                merge(merged, suggestion);
+            }
+        }
+
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(Suggestion::weight).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onServiceChanged(ProviderServiceChangedEvent event) {
+        if (incrementalUpdates) {
+            changedServiceIds.add(event.serviceId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${autocomplete.incremental-interval:PT1S}")
+    public void applyServiceChanges() {
+        if (changedServiceIds.isEmpty()) {
+            return;
+        }
+        List<UUID> serviceIds = List.copyOf(changedServiceIds);
+        changedServiceIds.removeAll(serviceIds);
+        try {
+            List<ProviderServiceResponse> services = providerServiceRepository.findResponsesByIdIn(serviceIds).stream()
+                    .filter(service -> Boolean.TRUE.equals(service.getIsActive()))
+                    .toList();
+            if (!services.isEmpty()) {
+                patch(services);
+            }
+        } catch (RuntimeException e) {
+            // The changes are committed, the next rebuild picks them up
+            log.error("Failed to patch autocomplete for {} services", serviceIds.size(), e);
+        }
+    }
+
+    private void patch(List<ProviderServiceResponse> services) {
+        long now = System.nanoTime();
+        for (ProviderServiceResponse service : services) {
+            add(new Suggestion(service.getTitle(), SuggestionType.SERVICE, 1), now);
+            if (service.getProviderName() != null) {
+                add(new Suggestion(service.getProviderName(), SuggestionType.PROVIDER, 1), now);
+            }
+        }
+        List<UUID> serviceIds = services.stream().map(ProviderServiceResponse::getId).toList();
+        for (ServiceLocationView location : serviceLocationRepository.findViewsByServiceIds(serviceIds)) {
+            add(new Suggestion(location.name(), SuggestionType.LOCATION, 1), now);
+            add(new Suggestion(location.city(), SuggestionType.CITY, 1), now);
+        }
+    }
+
+    private void add(Suggestion suggestion, long addedAt) {
+        String normalized = PrefixIndex.normalize(suggestion.text());
+        if (!normalized.isEmpty()) {
+            overlay.put(suggestion.type() + ":" + normalized, new PendingSuggestion(suggestion, normalized, addedAt));
+        }
+    }
+
+    private static PrefixIndex build(SuggestionType type, Collection<TermWeight> terms) {
+        List<Suggestion> suggestions = new ArrayList<>(terms.size());
+        for (TermWeight term : terms) {
+            if (term.getTerm() != null && !term.getTerm().isBlank()) {
+                suggestions.add(new Suggestion(term.getTerm(), type, term.getWeight()));
+            }
+        }
+        return PrefixIndex.build(suggestions);
+    }
+
+    private static void merge(Map<String, Suggestion> merged, Suggestion suggestion) {
+        merged.merge(suggestion.type() + ":" + PrefixIndex.normalize(suggestion.text()), suggestion,
+                (existing, candidate) -> candidate.weight() > existing.weight() ? candidate : existing);
+    }
+
+    private static boolean matches(String normalized, String normalizedPrefix) {
+        for (int start : PrefixIndex.wordStarts(normalized)) {
+            if (normalized.startsWith(normalizedPrefix, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<SuggestionType, PrefixIndex> emptyIndexes() {
+        Map<SuggestionType, PrefixIndex> empty = new EnumMap<>(SuggestionType.class);
+        for (SuggestionType type : SuggestionType.values()) {
+            empty.put(type, PrefixIndex.EMPTY);
+        }
+        return empty;
+    }
+
+    private record PendingSuggestion(Suggestion suggestion, String normalized, long addedAt) {
+    }
+}
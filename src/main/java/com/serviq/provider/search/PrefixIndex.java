@@ -0,0 +1,181 @@
+package com.serviq.provider.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over suggestions. Every word start of a normalized
+ * suggestion is a key, so "den" finds both "Dentist" and "Family Dental
+ * Care". Keys sit in one sorted array, a prefix is a contiguous range of it,
+ * and a max segment tree over the key weights yields the top K of any range
+ * in O(log n + K log n) without looking at the rest of the range.
+ */
+final class PrefixIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final PrefixIndex EMPTY = build(List.of());
+
+    private final String[] keys;
+    private final int[] suggestionIds;
+    private final Suggestion[] suggestions;
+    // tree[size + i] is key i, every inner node holds the key index with the highest weight below it
+    private final int[] tree;
+    private final int size;
+
+    private PrefixIndex(String[] keys, int[] suggestionIds, Suggestion[] suggestions) {
+        this.keys = keys;
+        this.suggestionIds = suggestionIds;
+        this.suggestions = suggestions;
+        this.size = Math.max(1, keys.length);
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    static PrefixIndex build(Collection<Suggestion> source) {
+        Suggestion[] suggestions = source.toArray(Suggestion[]::new);
+        List<Key> entries = new ArrayList<>();
+        for (int id = 0; id < suggestions.length; id++) {
+            String normalized = normalize(suggestions[id].text());
+            for (int start : wordStarts(normalized)) {
+                entries.add(new Key(normalized.substring(start), id));
+            }
+        }
+        entries.sort(Comparator.comparing(Key::key));
+
+        String[] keys = new String[entries.size()];
+        int[] suggestionIds = new int[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).key();
+            suggestionIds[i] = entries.get(i).suggestionId();
+        }
+        return new PrefixIndex(keys, suggestionIds, suggestions);
+    }
+
+    int suggestionCount() {
+        return suggestions.length;
+    }
+
+    /**
+     * Highest weighted suggestions having a word that starts with the prefix, heaviest first.
+     */
+    List<Suggestion> top(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || keys.length == 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        List<Suggestion> result = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        PriorityQueue<Range> ranges = new PriorityQueue<>(Comparator.comparingLong(Range::weight).reversed());
+        ranges.add(range(from, to));
+        while (!ranges.isEmpty() && result.size() < limit) {
+            Range range = ranges.poll();
+            int best = range.best();
+            // several words of one suggestion can share the prefix
+            if (seen.add(suggestionIds[best])) {
+                result.add(suggestions[suggestionIds[best]]);
+            }
+            if (range.from() < best) {
+                ranges.add(range(range.from(), best));
+            }
+            if (best + 1 < range.to()) {
+                ranges.add(range(best + 1, range.to()));
+            }
+        }
+        return result;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private Range range(int from, int to) {
+        int best = maxIndex(from, to);
+        return new Range(from, to, best, weight(best));
+    }
+
+    // Index of the heaviest key in [from, to)
+    private int maxIndex(int from, int to) {
+        int best = -1;
+        for (int lo = from + size, hi = to + size; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                best = heavier(best, tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                best = heavier(best, tree[--hi]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int left, int right) {
+        if (left < 0) {
+            return right;
+        }
+        if (right < 0) {
+            return left;
+        }
+        return weight(right) > weight(left) ? right : left;
+    }
+
+    private long weight(int keyIndex) {
+        return suggestions[suggestionIds[keyIndex]].weight();
+    }
+
+    private int lowerBound(String target) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(target) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private record Key(String key, int suggestionId) {
+    }
+
+    private record Range(int from, int to, int best, long weight) {
+    }
+}
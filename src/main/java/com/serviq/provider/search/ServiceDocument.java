@@ -0,0 +1,55 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flattened view of an active service with its provider and locations, the
+ * unit written to the embedded search index.
+ */
+public record ServiceDocument(
+        UUID serviceId,
+        UUID orgId,
+        UUID providerId,
+        UUID categoryId,
+        String title,
+        String description,
+        String providerName,
+        Integer duration,
+        BigDecimal price,
+        String currency,
+        String primaryLocation,
+        List<String> locationNames,
+        List<String> cities
+) {
+
+    public static ServiceDocument from(ProviderServiceResponse service, List<ServiceLocationView> locations) {
+        List<ServiceLocationView> active = locations.stream()
+                .filter(location -> !Boolean.FALSE.equals(location.isActive()))
+                .toList();
+        String primaryLocation = active.stream()
+                .filter(location -> Boolean.TRUE.equals(location.isPrimary()))
+                .map(ServiceLocationView::name)
+                .findFirst()
+                .orElse(null);
+
+        return new ServiceDocument(
+                service.getId(),
+                service.getOrgId(),
+                service.getProviderId(),
+                service.getCategoryId(),
+                service.getTitle(),
+                service.getDescription(),
+                service.getProviderName(),
+                service.getDuration(),
+                service.getPrice(),
+                service.getCurrency(),
+                primaryLocation,
+                active.stream().map(ServiceLocationView::name).distinct().toList(),
+                active.stream().map(ServiceLocationView::city).distinct().toList());
+    }
+}
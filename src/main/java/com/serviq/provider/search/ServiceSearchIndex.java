@@ -0,0 +1,366 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.response.FacetValue;
+import com.serviq.provider.dto.response.ServiceSearchHit;
+import com.serviq.provider.dto.response.ServiceSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process Lucene index of active services on a memory-mapped directory.
+ * Serves full-text search with category, city, price band and duration band
+ * facets. The database stays the source of truth, see {@link ServiceSearchIndexer}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.embedded.enabled", havingValue = "true")
+public class ServiceSearchIndex implements Closeable {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_CITY = "city";
+    public static final String FACET_PRICE_BAND = "priceBand";
+    public static final String FACET_DURATION_BAND = "durationBand";
+
+    private static final List<String> FACET_DIMENSIONS =
+            List.of(FACET_CATEGORY, FACET_CITY, FACET_PRICE_BAND, FACET_DURATION_BAND);
+    private static final int FACET_TOP_N = 20;
+
+    private static final String ID = "id";
+    private static final String ORG_ID = "orgId";
+    private static final String PROVIDER_ID = "providerId";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String PROVIDER_NAME = "providerName";
+    private static final String LOCATIONS = "locations";
+    private static final String CITY = "city";
+    private static final String PRIMARY_LOCATION = "primaryLocation";
+    private static final String DURATION = "duration";
+    private static final String PRICE = "price";
+    private static final String CURRENCY = "currency";
+
+    // Title matches outrank provider and location matches
+    private static final Map<String, Float> FIELD_WEIGHTS =
+            Map.of(TITLE, 3.0f, PROVIDER_NAME, 1.5f, LOCATIONS, 1.0f, DESCRIPTION, 0.5f);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private volatile FacetReaderState facetReaderState;
+
+    public ServiceSearchIndex(@Value("${search.embedded.index-path}") Path indexPath) throws IOException {
+        facetsConfig.setMultiValued(FACET_CITY, true);
+
+        Files.createDirectories(indexPath);
+        this.directory = new MMapDirectory(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Embedded search index opened at {}", indexPath.toAbsolutePath());
+    }
+
+    public void index(ServiceDocument document) {
+        try {
+            writer.updateDocument(new Term(ID, document.serviceId().toString()), facetsConfig.build(toDocument(document)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index service " + document.serviceId(), e);
+        }
+    }
+
+    public void delete(UUID serviceId) {
+        try {
+            writer.deleteDocuments(new Term(ID, serviceId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove service " + serviceId + " from the index", e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear the search index", e);
+        }
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to commit the search index", e);
+        }
+    }
+
+    /**
+     * Makes writes visible to searches without waiting for a commit.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to refresh the search index", e);
+        }
+    }
+
+    public ServiceSearchResponse search(ServiceSearchQuery query) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return search(searcher, query);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to search the index", e);
+        }
+    }
+
+    private ServiceSearchResponse search(IndexSearcher searcher, ServiceSearchQuery query) throws IOException {
+        if (searcher.getIndexReader().numDocs() == 0) {
+            return response(query, List.of(), 0, Map.of());
+        }
+
+        DrillDownQuery drillDown = new DrillDownQuery(facetsConfig, baseQuery(query));
+        addDrillDown(drillDown, FACET_CATEGORY, query.category());
+        addDrillDown(drillDown, FACET_CITY, query.city());
+        addDrillDown(drillDown, FACET_PRICE_BAND, query.priceBand());
+        addDrillDown(drillDown, FACET_DURATION_BAND, query.durationBand());
+
+        FacetsCollector facetsCollector = new FacetsCollector();
+        int from = query.page() * query.size();
+        TopDocs topDocs = FacetsCollector.search(searcher, drillDown, from + query.size(), facetsCollector);
+
+        List<ServiceSearchHit> hits = new ArrayList<>(query.size());
+        StoredFields storedFields = searcher.storedFields();
+        ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+        for (int i = from; i < scoreDocs.length; i++) {
+            hits.add(toHit(storedFields.document(scoreDocs[i].doc), scoreDocs[i].score));
+        }
+
+        Facets facets = new SortedSetDocValuesFacetCounts(readerState(searcher.getIndexReader()), facetsCollector);
+        Map<String, List<FacetValue>> facetValues = new LinkedHashMap<>();
+        for (String dimension : FACET_DIMENSIONS) {
+            facetValues.put(dimension, topChildren(facets, dimension));
+        }
+
+        return response(query, hits, topDocs.totalHits.value, facetValues);
+    }
+
+    private List<FacetValue> topChildren(Facets facets, String dimension) throws IOException {
+        FacetResult result;
+        try {
+            result = facets.getTopChildren(FACET_TOP_N, dimension);
+        } catch (IllegalArgumentException e) {
+            // dimension has no values in the current reader, e.g. no service has a price yet
+            return List.of();
+        }
+        return result == null ? List.of() : Arrays.stream(result.labelValues)
+                .map(this::toFacetValue)
+                .toList();
+    }
+
+    private Query baseQuery(ServiceSearchQuery query) {
+        Query text;
+        if (query.text() == null || query.text().isBlank()) {
+            text = new MatchAllDocsQuery();
+        } else {
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            text = parser.parse(query.text());
+        }
+
+        if (query.orgId() == null) {
+            return text;
+        }
+        return new BooleanQuery.Builder()
+                .add(text, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(ORG_ID, query.orgId().toString())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private void addDrillDown(DrillDownQuery drillDown, String dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            drillDown.add(dimension, value);
+        }
+    }
+
+    /**
+     * Facet ordinals belong to a reader, the state is rebuilt only when a refresh opened a new one.
+     */
+    private SortedSetDocValuesReaderState readerState(IndexReader reader) throws IOException {
+        FacetReaderState current = facetReaderState;
+        if (current == null || current.reader() != reader) {
+            current = new FacetReaderState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            facetReaderState = current;
+        }
+        return current.state();
+    }
+
+    private Document toDocument(ServiceDocument service) {
+        Document document = new Document();
+        document.add(new StringField(ID, service.serviceId().toString(), Field.Store.YES));
+        document.add(new StringField(ORG_ID, service.orgId().toString(), Field.Store.YES));
+        document.add(new StoredField(PROVIDER_ID, service.providerId().toString()));
+        document.add(new TextField(TITLE, service.title(), Field.Store.YES));
+        if (service.description() != null) {
+            document.add(new TextField(DESCRIPTION, service.description(), Field.Store.NO));
+        }
+        if (service.providerName() != null) {
+            document.add(new TextField(PROVIDER_NAME, service.providerName(), Field.Store.YES));
+        }
+        if (service.primaryLocation() != null) {
+            document.add(new StoredField(PRIMARY_LOCATION, service.primaryLocation()));
+        }
+        for (String name : service.locationNames()) {
+            document.add(new TextField(LOCATIONS, name, Field.Store.NO));
+        }
+        for (String city : service.cities()) {
+            if (city != null && !city.isBlank()) {
+                document.add(new TextField(LOCATIONS, city, Field.Store.NO));
+                document.add(new StoredField(CITY, city));
+                document.add(new SortedSetDocValuesFacetField(FACET_CITY, city));
+            }
+        }
+
+        document.add(new StoredField(CATEGORY_ID, service.categoryId().toString()));
+        document.add(new SortedSetDocValuesFacetField(FACET_CATEGORY, service.categoryId().toString()));
+        if (service.duration() != null) {
+            document.add(new StoredField(DURATION, service.duration()));
+            document.add(new SortedSetDocValuesFacetField(FACET_DURATION_BAND, durationBand(service.duration())));
+        }
+        if (service.price() != null) {
+            document.add(new StoredField(PRICE, service.price().toPlainString()));
+            document.add(new SortedSetDocValuesFacetField(FACET_PRICE_BAND, priceBand(service.price())));
+        }
+        if (service.currency() != null) {
+            document.add(new StoredField(CURRENCY, service.currency()));
+        }
+        return document;
+    }
+
+    private ServiceSearchHit toHit(Document document, float score) {
+        String price = document.get(PRICE);
+        Number duration = document.getField(DURATION) != null ? document.getField(DURATION).numericValue() : null;
+        return ServiceSearchHit.builder()
+                .serviceId(UUID.fromString(document.get(ID)))
+                .orgId(UUID.fromString(document.get(ORG_ID)))
+                .providerId(UUID.fromString(document.get(PROVIDER_ID)))
+                .categoryId(UUID.fromString(document.get(CATEGORY_ID)))
+                .title(document.get(TITLE))
+                .providerName(document.get(PROVIDER_NAME))
+                .duration(duration != null ? duration.intValue() : null)
+                .price(price != null ? new BigDecimal(price) : null)
+                .currency(document.get(CURRENCY))
+                .primaryLocation(document.get(PRIMARY_LOCATION))
+                .cities(List.of(document.getValues(CITY)))
+                .score(score)
+                .build();
+    }
+
+    private FacetValue toFacetValue(LabelAndValue labelAndValue) {
+        return FacetValue.builder()
+                .value(labelAndValue.label)
+                .count(labelAndValue.value.longValue())
+                .build();
+    }
+
+    private ServiceSearchResponse response(ServiceSearchQuery query, List<ServiceSearchHit> hits, long totalHits,
+                                           Map<String, List<FacetValue>> facets) {
+        return ServiceSearchResponse.builder()
+                .hits(hits)
+                .totalHits(totalHits)
+                .page(query.page())
+                .size(query.size())
+                .facets(facets)
+                .build();
+    }
+
+    static String priceBand(BigDecimal price) {
+        if (price.compareTo(BigDecimal.valueOf(500)) < 0) {
+            return "0-499";
+        }
+        if (price.compareTo(BigDecimal.valueOf(1000)) < 0) {
+            return "500-999";
+        }
+        if (price.compareTo(BigDecimal.valueOf(2500)) < 0) {
+            return "1000-2499";
+        }
+        return "2500+";
+    }
+
+    static String durationBand(int minutes) {
+        if (minutes <= 15) {
+            return "0-15";
+        }
+        if (minutes <= 30) {
+            return "16-30";
+        }
+        if (minutes <= 60) {
+            return "31-60";
+        }
+        return "60+";
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    private record FacetReaderState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+}
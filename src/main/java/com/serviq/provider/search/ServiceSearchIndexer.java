@@ -0,0 +1,90 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the embedded search index in line with the database: a full rebuild
+ * when the application starts, then one document per committed service change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.embedded.enabled", havingValue = "true")
+public class ServiceSearchIndexer {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final ServiceSearchIndex index;
+    private final ProviderServiceRepository providerServiceRepository;
+    private final ServiceLocationRepository serviceLocationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Rebuilding embedded search index");
+        long started = System.currentTimeMillis();
+
+        index.deleteAll();
+        Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        long indexed = 0;
+        Slice<ProviderServiceResponse> slice;
+        do {
+            slice = providerServiceRepository.findActiveResponses(pageable);
+            indexAll(slice.getContent());
+            indexed += slice.getNumberOfElements();
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+        index.commit();
+        index.refresh();
+
+        log.info("Embedded search index rebuilt with {} services in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onServiceChanged(ProviderServiceChangedEvent event) {
+        UUID serviceId = event.serviceId();
+        try {
+            providerServiceRepository.findResponseById(serviceId)
+                    .filter(service -> Boolean.TRUE.equals(service.getIsActive()))
+                    .ifPresentOrElse(service -> indexAll(List.of(service)), () -> index.delete(serviceId));
+            index.refresh();
+        } catch (RuntimeException e) {
+            // The service change is already committed, the next rebuild repairs the index
+            log.error("Failed to update embedded search index for service: {}", serviceId, e);
+        }
+    }
+
+    private void indexAll(List<ProviderServiceResponse> services) {
+        if (services.isEmpty()) {
+            return;
+        }
+
+        List<UUID> serviceIds = services.stream().map(ProviderServiceResponse::getId).toList();
+        Map<UUID, List<ServiceLocationView>> locationsByService = serviceLocationRepository
+                .findViewsByServiceIds(serviceIds).stream()
+                .collect(Collectors.groupingBy(ServiceLocationView::serviceId));
+
+        services.forEach(service -> index.index(
+                ServiceDocument.from(service, locationsByService.getOrDefault(service.getId(), List.of()))));
+    }
+}
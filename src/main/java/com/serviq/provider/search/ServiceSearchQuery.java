@@ -0,0 +1,32 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.exception.BusinessValidationException;
+
+import java.util.UUID;
+
+/**
+ * Full-text query with optional tenant scope and facet drill-downs.
+ */
+public record ServiceSearchQuery(
+        String text,
+        UUID orgId,
+        String category,
+        String city,
+        String priceBand,
+        String durationBand,
+        int page,
+        int size
+) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_PAGE = 100;
+
+    public ServiceSearchQuery {
+        if (page < 0 || page > MAX_PAGE) {
+            throw new BusinessValidationException("Page must be between 0 and " + MAX_PAGE);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessValidationException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.serviq.provider.search;
+
+/**
+ * Autocomplete candidate: the display text, what it names and how popular it is.
+ */
+public record Suggestion(String text, SuggestionType type, long weight) {
+}
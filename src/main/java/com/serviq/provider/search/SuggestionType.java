@@ -0,0 +1,8 @@
+package com.serviq.provider.search;
+
+public enum SuggestionType {
+    CITY,
+    LOCATION,
+    PROVIDER,
+    SERVICE
+}
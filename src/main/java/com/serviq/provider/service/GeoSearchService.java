@@ -0,0 +1,55 @@
+package com.serviq.provider.service;
+
+import com.serviq.provider.dto.response.NearbyServiceResponse;
+import com.serviq.provider.dto.response.NearbySlotResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface GeoSearchService {
+
+    /**
+     * Find active services offered within a radius of a point
+     *
+     * @param latitude the latitude of the point
+     * @param longitude the longitude of the point
+     * @param radiusKm the radius in kilometers
+     * @param categoryId optional category to restrict services to
+     * @param limit the maximum number of services
+     * @return services at their nearest location, nearest first
+     */
+    List<NearbyServiceResponse> findServicesWithinRadius(double latitude, double longitude, double radiusKm,
+                                                         UUID categoryId, int limit);
+
+    /**
+     * Find the k active services offered nearest to a point
+     *
+     * @param latitude the latitude of the point
+     * @param longitude the longitude of the point
+     * @param k the number of services
+     * @param categoryId optional category to restrict services to
+     * @return services at their nearest location, nearest first
+     */
+    List<NearbyServiceResponse> findNearestServices(double latitude, double longitude, int k, UUID categoryId);
+
+    /**
+     * Find bookable slots of active services offered within a radius of a point
+     *
+     * @param latitude the latitude of the point
+     * @param longitude the longitude of the point
+     * @param radiusKm the radius in kilometers
+     * @param categoryId optional category to restrict services to
+     * @param slotDate the date of the slots
+     * @param fromTime the earliest start time, inclusive
+     * @param toTime the latest start time, exclusive
+     * @param pageable the page to return, any sort is ignored
+     * @return slots at their nearest location, ordered by distance then start time
+     */
+    Slice<NearbySlotResponse> findAvailableSlotsNearby(double latitude, double longitude, double radiusKm,
+                                                       UUID categoryId, LocalDate slotDate,
+                                                       LocalTime fromTime, LocalTime toTime, Pageable pageable);
+}
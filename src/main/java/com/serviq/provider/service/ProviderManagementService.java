@@ -3,19 +3,34 @@ package com.serviq.provider.service;
 import com.serviq.provider.dto.ProviderContactDTO;
 import com.serviq.provider.dto.ProviderDTO;
 import com.serviq.provider.dto.ProviderLocationDTO;
+import com.serviq.provider.dto.request.BatchGetRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.entity.enums.ProviderType;
 import com.serviq.provider.entity.enums.VerificationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ProviderManagementService {
 
     ProviderDTO createProvider(ProviderDTO providerDTO);
 
-    ProviderDTO getProviderById(UUID id);
+    /**
+     * Loads a provider together with its active associations ({@code contacts},
+     * {@code locations}) in at most two statements. All of them are loaded when
+     * {@code include} is empty; a subset limits the response to those, and
+     * {@code none} returns the provider row alone.
+     */
+    ProviderDTO getProviderById(UUID id, Set<String> include);
+
+    /**
+     * Loads many active providers in one statement, without associations.
+     * IDs of missing or inactive providers are reported instead of thrown.
+     */
+    BatchGetResponse<ProviderDTO> getProvidersByIds(BatchGetRequest request);
 
     ProviderDTO updateProvider(UUID id, ProviderDTO providerDTO);
 
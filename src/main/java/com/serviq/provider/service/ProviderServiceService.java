@@ -1,7 +1,9 @@
 package com.serviq.provider.service;
 
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.CreateProviderServiceRequest;
 import com.serviq.provider.dto.request.UpdateProviderServiceRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.dto.response.ProviderServiceResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +38,14 @@ public interface ProviderServiceService {
      */
     ProviderServiceResponse getServiceById(UUID id);
 
+    /**
+     * Get many provider services by ID, missing IDs are reported instead of thrown
+     *
+     * @param request the service IDs
+     * @return found services keyed by ID and the missing IDs
+     */
+    BatchGetResponse<ProviderServiceResponse> getServicesByIds(BatchGetRequest request);
+
     /**
      * Get a provider service by ID and organization ID (multi-tenancy support)
      *
@@ -0,0 +1,26 @@
+package com.serviq.provider.service;
+
+import com.serviq.provider.dto.response.DensityMapResponse;
+import com.serviq.provider.geo.GeoBounds;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface ServiceDensityService {
+
+    /**
+     * Get active service counts per map tile inside a bounding box
+     *
+     * @param bounds the visible bounding box
+     * @param zoom the map zoom level
+     * @param categoryIds optional categories to count, all when empty
+     * @return non-empty tiles with counts per category
+     */
+    DensityMapResponse getTiles(GeoBounds bounds, int zoom, Set<UUID> categoryIds);
+
+    /**
+     * Recount all tiles from the service location mappings, correcting any drift
+     * of the incremental updates
+     */
+    void recountTiles();
+}
@@ -1,14 +1,22 @@
 package com.serviq.provider.service;
 
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.BulkCreateSlotRequestDto;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
 import com.serviq.provider.dto.request.CreateSlotRequestDto;
+import com.serviq.provider.dto.request.NextAvailableSlotsRequestDto;
 import com.serviq.provider.dto.request.UpdateSlotRequestDto;
+import com.serviq.provider.dto.response.BatchGetResponse;
+import com.serviq.provider.dto.response.BulkSlotStatusUpdateResponseDto;
+import com.serviq.provider.dto.response.CompactAvailabilityResponseDto;
+import com.serviq.provider.dto.response.NextAvailableSlotsResponseDto;
 import com.serviq.provider.dto.response.SlotResponseDto;
 import com.serviq.provider.entity.enums.SlotStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -54,6 +62,31 @@ public interface SlotService {
      */
     List<SlotResponseDto> getAllAvailableSlots(UUID providerServiceId, LocalDate slotDate);
 
+    /**
+     * Get many slots by ID in one query, missing IDs are reported instead of thrown
+     */
+    BatchGetResponse<SlotResponseDto> getSlotsByIds(BatchGetRequest request);
+
+    /**
+     * Get the first bookable slot of a service starting on or after a timestamp
+     */
+    SlotResponseDto getNextAvailableSlot(UUID providerServiceId, LocalDateTime from);
+
+    /**
+     * Get the first bookable slot across a provider's services starting on or after a timestamp
+     */
+    SlotResponseDto getNextAvailableSlotForProvider(UUID providerId, LocalDateTime from);
+
+    /**
+     * Get the first bookable slot of each of many services in one query
+     */
+    NextAvailableSlotsResponseDto getNextAvailableSlots(NextAvailableSlotsRequestDto requestDto);
+
+    /**
+     * Get a service's availability over consecutive days as per-day bitmaps
+     */
+    CompactAvailabilityResponseDto getCompactAvailability(UUID providerServiceId, LocalDate startDate, int days);
+
     /**
      * Get slots by date range
      */
@@ -79,6 +112,11 @@ public interface SlotService {
      */
     SlotResponseDto updateSlotStatus(UUID slotId, SlotStatus status);
 
+    /**
+     * Block/Unblock/Cancel all unbooked slots matching the filters
+     */
+    BulkSlotStatusUpdateResponseDto bulkUpdateSlotStatus(BulkUpdateSlotStatusRequestDto requestDto);
+
     /**
      * Check slot availability
      */
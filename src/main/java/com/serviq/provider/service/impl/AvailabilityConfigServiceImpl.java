@@ -17,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -114,9 +115,7 @@ public class AvailabilityConfigServiceImpl implements AvailabilityConfigService
     public void activateConfig(UUID id, UUID providerId) {
         log.info("Activating availability config: {} for provider: {}", id, providerId);
 
-        AvailabilityConfig entity = findConfigByIdAndProviderId(id, providerId);
-        entity.setIsActive(true);
-        repository.save(entity);
+        updateActiveStatus(id, providerId, true);
 
         log.info("Successfully activated availability config: {}", id);
     }
@@ -126,13 +125,17 @@ public class AvailabilityConfigServiceImpl implements AvailabilityConfigService
     public void deactivateConfig(UUID id, UUID providerId) {
         log.info("Deactivating availability config: {} for provider: {}", id, providerId);
 
-        AvailabilityConfig entity = findConfigByIdAndProviderId(id, providerId);
-        entity.setIsActive(false);
-        repository.save(entity);
+        updateActiveStatus(id, providerId, false);
 
         log.info("Successfully deactivated availability config: {}", id);
     }
 
+    private void updateActiveStatus(UUID id, UUID providerId, boolean active) {
+        if (repository.updateActiveStatus(id, providerId, active, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("AvailabilityConfig not present");
+        }
+    }
+
     private AvailabilityConfig findConfigByIdAndProviderId(UUID id, UUID providerId) {
         return repository.findByIdAndProviderId(id, providerId)
                 .orElseThrow(() -> new ResourceNotFoundException("AvailabilityConfig not present"));
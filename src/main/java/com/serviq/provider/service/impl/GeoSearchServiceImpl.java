@@ -0,0 +1,204 @@
+package com.serviq.provider.service.impl;
+
+import com.serviq.provider.dto.projection.ServiceAtLocation;
+import com.serviq.provider.dto.projection.SlotAtLocation;
+import com.serviq.provider.dto.response.NearbyServiceResponse;
+import com.serviq.provider.dto.response.NearbySlotResponse;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.geo.LocationGridIndex;
+import com.serviq.provider.geo.NearbyLocation;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import com.serviq.provider.repository.SlotRepository;
+import com.serviq.provider.service.GeoSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeoSearchServiceImpl implements GeoSearchService {
+
+    static final double MAX_RADIUS_KM = 100;
+    static final int MAX_RESULTS = 100;
+    // Location ids per service lookup, keeps the IN list bounded on dense areas
+    static final int LOCATION_BATCH_SIZE = 1_000;
+    private static final int MAX_CANDIDATE_LOCATIONS = 10_000;
+    private static final int MAX_SLOT_OFFSET = 1_000;
+
+    private final LocationGridIndex locationGridIndex;
+    private final ServiceLocationRepository serviceLocationRepository;
+    private final ProviderServiceRepository providerServiceRepository;
+    private final SlotRepository slotRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyServiceResponse> findServicesWithinRadius(double latitude, double longitude, double radiusKm,
+                                                                UUID categoryId, int limit) {
+        log.debug("Finding services within {} km of {}, {}", radiusKm, latitude, longitude);
+        validatePoint(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new BusinessValidationException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        validateCount(limit);
+
+        return resolveServices(locationGridIndex.withinRadius(latitude, longitude, radiusKm), categoryId, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyServiceResponse> findNearestServices(double latitude, double longitude, int k, UUID categoryId) {
+        log.debug("Finding {} nearest services to {}, {}", k, latitude, longitude);
+        validatePoint(latitude, longitude);
+        validateCount(k);
+
+        // The nearest locations may not offer a matching service, widen until k services are found
+        int candidates = k;
+        while (true) {
+            List<NearbyLocation> locations = locationGridIndex.nearest(latitude, longitude, candidates, MAX_RADIUS_KM);
+            List<NearbyServiceResponse> services = resolveServices(locations, categoryId, k);
+            if (services.size() >= k || locations.size() < candidates || candidates >= MAX_CANDIDATE_LOCATIONS) {
+                return services;
+            }
+            candidates = Math.min(MAX_CANDIDATE_LOCATIONS, candidates * 4);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<NearbySlotResponse> findAvailableSlotsNearby(double latitude, double longitude, double radiusKm,
+                                                              UUID categoryId, LocalDate slotDate,
+                                                              LocalTime fromTime, LocalTime toTime, Pageable pageable) {
+        log.debug("Finding slots on {} from {} to {} within {} km of {}, {}",
+                slotDate, fromTime, toTime, radiusKm, latitude, longitude);
+        validatePoint(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new BusinessValidationException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        if (!fromTime.isBefore(toTime)) {
+            throw new BusinessValidationException("Start of the time window must be before its end");
+        }
+        validateCount(pageable.getPageSize());
+        if (pageable.getOffset() > MAX_SLOT_OFFSET) {
+            throw new BusinessValidationException("Only the first " + MAX_SLOT_OFFSET + " slots can be paged through");
+        }
+
+        // Batches come nearest first and later batches only sort after what is collected, so
+        // stop once the page plus one slot (to tell if there is a next slice) is filled
+        List<NearbyLocation> locations = locationGridIndex.withinRadius(latitude, longitude, radiusKm);
+        long wanted = pageable.getOffset() + pageable.getPageSize() + 1;
+        Map<UUID, NearbySlotResponse> nearestBySlot = new LinkedHashMap<>();
+        for (int from = 0; from < locations.size() && nearestBySlot.size() < wanted; from += LOCATION_BATCH_SIZE) {
+            Map<UUID, NearbyLocation> batch = locations.subList(from, Math.min(locations.size(), from + LOCATION_BATCH_SIZE))
+                    .stream()
+                    .collect(Collectors.toMap(NearbyLocation::locationId, Function.identity()));
+
+            List<SlotAtLocation> slots = new ArrayList<>(slotRepository.findAvailableSlotsAtLocations(
+                    batch.keySet(), categoryId, slotDate, fromTime, toTime));
+            slots.sort(Comparator.<SlotAtLocation>comparingDouble(slot -> batch.get(slot.locationId()).distanceKm())
+                    .thenComparing(SlotAtLocation::startTime)
+                    .thenComparing(SlotAtLocation::slotId));
+            // A slot of a service mapped to several nearby locations is listed once, at the nearest
+            for (SlotAtLocation slot : slots) {
+                nearestBySlot.putIfAbsent(slot.slotId(), toNearbySlot(slot, batch.get(slot.locationId())));
+            }
+        }
+
+        List<NearbySlotResponse> ordered = new ArrayList<>(nearestBySlot.values());
+        int fromIndex = (int) Math.min(pageable.getOffset(), ordered.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), ordered.size());
+        return new SliceImpl<>(List.copyOf(ordered.subList(fromIndex, toIndex)), pageable, ordered.size() > toIndex);
+    }
+
+    private NearbySlotResponse toNearbySlot(SlotAtLocation slot, NearbyLocation location) {
+        return NearbySlotResponse.builder()
+                .slotId(slot.slotId())
+                .providerServiceId(slot.providerServiceId())
+                .providerId(slot.providerId())
+                .categoryId(slot.categoryId())
+                .serviceTitle(slot.serviceTitle())
+                .locationId(slot.locationId())
+                .locationName(slot.locationName())
+                .city(slot.city())
+                .distanceKm(Math.round(location.distanceKm() * 1_000) / 1_000.0)
+                .slotDate(slot.slotDate())
+                .startTime(slot.startTime())
+                .endTime(slot.endTime())
+                .remainingCapacity(slot.capacity() - slot.bookedCount())
+                .build();
+    }
+
+    /**
+     * Services offered at the locations, each at its nearest one. Locations
+     * are looked up nearest first in batches, so the first time a service is
+     * seen is at its nearest location and lookups stop at the limit.
+     */
+    private List<NearbyServiceResponse> resolveServices(List<NearbyLocation> locations, UUID categoryId, int limit) {
+        Map<UUID, NearbyServiceResponse> nearestByService = new LinkedHashMap<>();
+        for (int from = 0; from < locations.size() && nearestByService.size() < limit; from += LOCATION_BATCH_SIZE) {
+            Map<UUID, NearbyLocation> batch = locations.subList(from, Math.min(locations.size(), from + LOCATION_BATCH_SIZE))
+                    .stream()
+                    .collect(Collectors.toMap(NearbyLocation::locationId, Function.identity()));
+
+            List<ServiceAtLocation> offered = new ArrayList<>(
+                    serviceLocationRepository.findActiveServicesAtLocations(batch.keySet(), categoryId));
+            offered.sort(Comparator.comparingDouble(row -> batch.get(row.locationId()).distanceKm()));
+            for (ServiceAtLocation row : offered) {
+                if (nearestByService.size() >= limit) {
+                    break;
+                }
+                nearestByService.putIfAbsent(row.serviceId(), NearbyServiceResponse.builder()
+                        .locationId(row.locationId())
+                        .locationName(row.locationName())
+                        .city(row.city())
+                        .distanceKm(Math.round(batch.get(row.locationId()).distanceKm() * 1_000) / 1_000.0)
+                        .build());
+            }
+        }
+        if (nearestByService.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, ProviderServiceResponse> services = providerServiceRepository.findResponsesByIdIn(nearestByService.keySet())
+                .stream()
+                .collect(Collectors.toMap(ProviderServiceResponse::getId, Function.identity()));
+        List<NearbyServiceResponse> result = new ArrayList<>(nearestByService.size());
+        nearestByService.forEach((serviceId, nearby) -> {
+            ProviderServiceResponse service = services.get(serviceId);
+            if (service != null) {
+                nearby.setService(service);
+                result.add(nearby);
+            }
+        });
+        return result;
+    }
+
+    private void validatePoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new BusinessValidationException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    private void validateCount(int count) {
+        if (count < 1 || count > MAX_RESULTS) {
+            throw new BusinessValidationException("Number of results must be between 1 and " + MAX_RESULTS);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.serviq.provider.service.impl;
 import com.serviq.provider.dto.ProviderContactDTO;
 import com.serviq.provider.dto.ProviderDTO;
 import com.serviq.provider.dto.ProviderLocationDTO;
+import com.serviq.provider.dto.request.BatchGetRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.entity.Provider;
 import com.serviq.provider.entity.ProviderContact;
 import com.serviq.provider.entity.ProviderLocation;
@@ -19,11 +21,16 @@ import com.serviq.provider.service.ProviderManagementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -32,6 +39,11 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class ProviderManagementServiceImpl implements ProviderManagementService {
 
+    private static final String INCLUDE_CONTACTS = "contacts";
+    private static final String INCLUDE_LOCATIONS = "locations";
+    private static final String INCLUDE_NONE = "none";
+    private static final Set<String> SUPPORTED_INCLUDES = Set.of(INCLUDE_CONTACTS, INCLUDE_LOCATIONS);
+
     private final ProviderRepository providerRepository;
     private final ProviderContactRepository contactRepository;
     private final ProviderLocationRepository locationRepository;
@@ -56,18 +68,42 @@ public class ProviderManagementServiceImpl implements ProviderManagementService
     }
 
     @Override
-    public ProviderDTO getProviderById(UUID id) {
-        log.debug("Fetching provider with ID: {}", id);
+    public ProviderDTO getProviderById(UUID id, Set<String> include) {
+        log.debug("Fetching provider with ID: {} including: {}", id, include);
 
-        Provider provider = findProviderByIdOrThrow(id);
+        Set<String> includes = validateIncludes(include);
+        boolean withContacts = includes.contains(INCLUDE_CONTACTS);
+
+        // Contacts come back with the provider row; locations, when requested, are the second statement
+        Provider provider = withContacts
+                ? providerRepository.findWithContactsByIdAndIsActiveTrue(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Provider not found with ID: " + id))
+                : findProviderByIdOrThrow(id);
         ProviderDTO dto = providerMapper.toDTO(provider);
 
-        dto.setContacts(providerMapper.toContactDTOList(provider.getContacts()));
-        dto.setLocations(providerMapper.toLocationDTOList(provider.getLocations()));
+        if (withContacts) {
+            dto.setContacts(providerMapper.toContactDTOList(provider.getContacts().stream()
+                    .filter(contact -> Boolean.TRUE.equals(contact.getIsActive()))
+                    .toList()));
+        }
+        if (includes.contains(INCLUDE_LOCATIONS)) {
+            dto.setLocations(providerMapper.toLocationDTOList(
+                    locationRepository.findByProviderIdAndIsActiveTrue(id)));
+        }
 
         return dto;
     }
 
+    @Override
+    public BatchGetResponse<ProviderDTO> getProvidersByIds(BatchGetRequest request) {
+        log.debug("Fetching {} providers by ID", request.getIds().size());
+
+        List<ProviderDTO> providers = providerRepository.findByIdInAndIsActiveTrue(request.getIds()).stream()
+                .map(providerMapper::toDTO)
+                .toList();
+        return BatchGetResponse.of(request.getIds(), providers, ProviderDTO::getId);
+    }
+
     @Override
     @Transactional
     public ProviderDTO updateProvider(UUID id, ProviderDTO providerDTO) {
@@ -134,7 +170,9 @@ public class ProviderManagementServiceImpl implements ProviderManagementService
     @Override
     public Page<ProviderDTO> searchProviders(String searchTerm, Pageable pageable) {
         log.debug("Searching providers with term: {}", searchTerm);
-        return providerRepository.searchProviders(searchTerm, pageable)
+        // Results are ranked by similarity, any sort on the request is ignored
+        return providerRepository.searchProviders(searchTerm,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
                 .map(providerMapper::toDTO);
     }
 
@@ -174,6 +212,33 @@ public class ProviderManagementServiceImpl implements ProviderManagementService
     }
 
     // Helper methods
+    // No include keeps the full aggregate, include=none opts into the provider row alone
+    private Set<String> validateIncludes(Set<String> include) {
+        if (include == null || include.isEmpty()) {
+            return SUPPORTED_INCLUDES;
+        }
+        Set<String> includes = new HashSet<>();
+        for (String value : include) {
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            if (!INCLUDE_NONE.equals(normalized) && !SUPPORTED_INCLUDES.contains(normalized)) {
+                throw new BusinessValidationException(
+                        "Unsupported include: " + value + ". Supported values are " + SUPPORTED_INCLUDES
+                                + " or " + INCLUDE_NONE);
+            }
+            includes.add(normalized);
+        }
+        if (includes.contains(INCLUDE_NONE)) {
+            if (includes.size() > 1) {
+                throw new BusinessValidationException("include=" + INCLUDE_NONE + " cannot be combined with other values");
+            }
+            return Set.of();
+        }
+        return includes.isEmpty() ? SUPPORTED_INCLUDES : includes;
+    }
+
     private Provider findProviderByIdOrThrow(UUID id) {
         return providerRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Provider not found with ID: " + id));
@@ -246,9 +311,10 @@ public class ProviderManagementServiceImpl implements ProviderManagementService
     public void deleteContact(UUID providerId, UUID contactId) {
         log.info("Deleting contact {} for provider: {}", contactId, providerId);
 
-        ProviderContact contact = findContactByIdOrThrow(contactId, providerId);
-        contact.setIsActive(false);
-        contactRepository.save(contact);
+        if (contactRepository.deactivateByIdAndProviderId(contactId, providerId, OffsetDateTime.now()) == 0) {
+            throw new ResourceNotFoundException(
+                    "Contact not found with ID: " + contactId + " for provider: " + providerId);
+        }
 
         log.info("Contact deleted successfully");
     }
@@ -319,15 +385,14 @@ public class ProviderManagementServiceImpl implements ProviderManagementService
     public void deleteLocation(UUID providerId, UUID locationId) {
         log.info("Deleting location {} for provider: {}", locationId, providerId);
 
-        ProviderLocation location = findLocationByIdOrThrow(locationId, providerId);
-
-        if (Boolean.TRUE.equals(location.getIsPrimary())) {
-            throw new BusinessValidationException("Cannot delete primary location. Set another location as primary first.");
+        if (locationRepository.deactivateNonPrimaryByIdAndProviderId(locationId, providerId, OffsetDateTime.now()) == 0) {
+            // Nothing was updated, load the location only to report why
+            ProviderLocation location = findLocationByIdOrThrow(locationId, providerId);
+            if (Boolean.TRUE.equals(location.getIsPrimary())) {
+                throw new BusinessValidationException("Cannot delete primary location. Set another location as primary first.");
+            }
         }
 
-        location.setIsActive(false);
-        locationRepository.save(location);
-
         log.info("Location deleted successfully");
     }
 
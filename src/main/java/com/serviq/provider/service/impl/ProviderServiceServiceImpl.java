@@ -1,33 +1,54 @@
 package com.serviq.provider.service.impl;
 
 import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.CreateProviderServiceRequest;
 import com.serviq.provider.dto.request.UpdateProviderServiceRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
+import com.serviq.provider.dto.response.LocationResponse;
 import com.serviq.provider.dto.response.ProviderServiceResponse;
 import com.serviq.provider.entity.Location;
 import com.serviq.provider.entity.Provider;
 import com.serviq.provider.entity.ProviderService;
 import com.serviq.provider.entity.ServiceLocation;
 import com.serviq.provider.events.EventPublisher;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
 import com.serviq.provider.exception.ProviderServiceNotFoundException;
 import com.serviq.provider.exception.ResourceNotFoundException;
 import com.serviq.provider.mapper.ProviderServiceMapper;
+import com.serviq.provider.mapper.ServiceEventMapper;
 import com.serviq.provider.repository.LocationRepository;
 import com.serviq.provider.repository.ProviderRepository;
 import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceDensityTileRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
 import com.serviq.provider.service.ProviderServiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,8 +59,11 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     private final ProviderRepository providerRepository;
     private final ProviderServiceRepository repository;
     private final LocationRepository locationRepository;
+    private final ServiceLocationRepository serviceLocationRepository;
+    private final ServiceDensityTileRepository tileRepository;
     private final ProviderServiceMapper mapper;
     private final EventPublisher<ServiceEventDto> serviceEventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Value("${event.publisher.enabled}")
     private boolean eventPublisherEnabled;
@@ -64,6 +88,7 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
         if (eventPublisherEnabled) {
             publishServiceCreatedEvent(savedEntity);
         }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(savedEntity.getId()));
 
         log.info("Successfully created provider service with id: {}", savedEntity.getId());
         return mapper.toResponse(savedEntity);
@@ -74,12 +99,18 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     public ProviderServiceResponse updateService(UUID id, UpdateProviderServiceRequest request) {
         log.info("Updating provider service with id: {}", id);
 
-        ProviderService entity = repository.findById(id)
+        ProviderService entity = repository.findWithLocationsById(id)
                 .orElseThrow(() -> new ProviderServiceNotFoundException(id));
 
+        ServiceEventDto before = eventFieldsOf(entity);
         mapper.updateEntityFromRequest(request, entity);
         ProviderService updatedEntity = repository.save(entity);
 
+        if (eventPublisherEnabled) {
+            publishServiceUpdatedEvent(id, before, eventFieldsOf(updatedEntity));
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(id));
+
         log.info("Successfully updated provider service with id: {}", id);
         return mapper.toResponse(updatedEntity);
     }
@@ -89,84 +120,105 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     public ProviderServiceResponse getServiceById(UUID id) {
         log.debug("Fetching provider service with id: {}", id);
 
-        ProviderService entity = repository.findById(id)
+        // Provider name comes from the join, a missing name means the provider row is gone
+        ProviderServiceResponse response = repository.findResponseById(id)
                 .orElseThrow(() -> new ProviderServiceNotFoundException(id));
-
-        Optional<Provider> provider = providerRepository.findById(entity.getProviderId());
-        if (provider.isEmpty()) {
-            throw new ResourceNotFoundException("Provider Not Found for the id " + entity.getProviderId());
+        if (response.getProviderName() == null) {
+            throw new ResourceNotFoundException("Provider Not Found for the id " + response.getProviderId());
         }
 
-        ProviderServiceResponse response = mapper.toResponse(entity);
-        response.setProviderName(provider.get().getName());
-
-        entity.getServiceLocations().stream().filter(ServiceLocation::getIsPrimary).forEach(sl -> {
-            response.setPrimaryLocation(sl.getLocation().getName());
-        });
+        attachLocations(List.of(response));
         return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponse<ProviderServiceResponse> getServicesByIds(BatchGetRequest request) {
+        log.debug("Fetching {} provider services by id", request.getIds().size());
+
+        // Same visibility as getServiceById, a service whose provider row is gone counts as missing
+        List<ProviderServiceResponse> responses = repository.findResponsesByIdIn(request.getIds()).stream()
+                .filter(response -> response.getProviderName() != null)
+                .toList();
+        return BatchGetResponse.of(request.getIds(), attachLocations(responses), ProviderServiceResponse::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ProviderServiceResponse getServiceByIdAndOrgId(UUID id, UUID orgId) {
         log.debug("Fetching provider service with id: {} and orgId: {}", id, orgId);
 
-        ProviderService entity = repository.findByIdAndOrgId(id, orgId)
+        ProviderServiceResponse response = repository.findResponseByIdAndOrgId(id, orgId)
                 .orElseThrow(() -> new ProviderServiceNotFoundException(
                         String.format("Provider service not found with id: %s and orgId: %s", id, orgId)));
 
-        return mapper.toResponse(entity);
+        attachLocations(List.of(response));
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProviderServiceResponse> getServicesByProviderId(UUID providerId) {
         log.debug("Fetching all services for provider: {}", providerId);
 
-        List<ProviderService> entities = repository.findByProviderId(providerId);
-        return entities.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return attachLocations(repository.findResponsesByProviderId(providerId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProviderServiceResponse> getActiveServicesByProviderId(UUID providerId) {
         log.debug("Fetching active services for provider: {}", providerId);
 
-        List<ProviderService> entities = repository.findByProviderIdAndIsActiveTrue(providerId);
-        return entities.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return attachLocations(repository.findActiveResponsesByProviderId(providerId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ProviderServiceResponse> getServicesByOrgId(UUID orgId, Pageable pageable) {
         log.debug("Fetching services for organization: {} with pagination", orgId);
 
-        Page<ProviderService> entities = repository.findByOrgId(orgId, pageable);
-        return entities.map(mapper::toResponse);
+        Page<ProviderServiceResponse> responses = repository.findResponsesByOrgId(orgId, pageable);
+        attachLocations(responses.getContent());
+        return responses;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ProviderServiceResponse> getActiveServicesByOrgId(UUID orgId, Pageable pageable) {
         log.debug("Fetching active services for organization: {} with pagination", orgId);
 
-        Page<ProviderService> entities = repository.findActiveServicesByOrgId(orgId, pageable);
-        return entities.map(mapper::toResponse);
+        Page<ProviderServiceResponse> responses = repository.findActiveResponsesByOrgId(orgId, pageable);
+        attachLocations(responses.getContent());
+        return responses;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ProviderServiceResponse> searchServices(String searchTerm, Pageable pageable) {
         log.debug("Searching services with term: {} with pagination", searchTerm);
-        return repository.searchProviderServiceByName(searchTerm, pageable).map(mapper::toResponse);
+
+        // Relevance is the order, any sort on the request is ignored
+        Page<UUID> ids = repository.searchIdsByTitle(searchTerm,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+
+        Map<UUID, ProviderServiceResponse> byId = repository.findResponsesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(ProviderServiceResponse::getId, Function.identity()));
+        List<ProviderServiceResponse> ranked = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(attachLocations(ranked), ids.getPageable(), ids.getTotalElements());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProviderServiceResponse> getServicesByCategoryId(UUID categoryId) {
         log.debug("Fetching services for category: {}", categoryId);
 
-        List<ProviderService> entities = repository.findByCategoryId(categoryId);
-        return entities.stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        return attachLocations(repository.findResponsesByCategoryId(categoryId));
     }
 
     @Override
@@ -174,11 +226,16 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     public void deactivateService(UUID id) {
         log.info("Deactivating provider service with id: {}", id);
 
-        ProviderService entity = repository.findById(id)
-                .orElseThrow(() -> new ProviderServiceNotFoundException(id));
-
-        entity.setIsActive(false);
-        repository.save(entity);
+        if (repository.updateActiveStatus(id, false, LocalDateTime.now()) == 0) {
+            throw new ProviderServiceNotFoundException(id);
+        }
+        if (eventPublisherEnabled) {
+            serviceEventPublisher.publish(ServiceEventDto.forService(ServiceEventType.SERVICE_DEACTIVATED, id)
+                    .isActive(false)
+                    .changedFields(List.of(ServiceEventFields.IS_ACTIVE))
+                    .build());
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(id));
 
         log.info("Successfully deactivated provider service with id: {}", id);
     }
@@ -188,11 +245,16 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     public void activateService(UUID id) {
         log.info("Activating provider service with id: {}", id);
 
-        ProviderService entity = repository.findById(id)
-                .orElseThrow(() -> new ProviderServiceNotFoundException(id));
-
-        entity.setIsActive(true);
-        repository.save(entity);
+        if (repository.updateActiveStatus(id, true, LocalDateTime.now()) == 0) {
+            throw new ProviderServiceNotFoundException(id);
+        }
+        if (eventPublisherEnabled) {
+            serviceEventPublisher.publish(ServiceEventDto.forService(ServiceEventType.SERVICE_ACTIVATED, id)
+                    .isActive(true)
+                    .changedFields(List.of(ServiceEventFields.IS_ACTIVE))
+                    .build());
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(id));
 
         log.info("Successfully activated provider service with id: {}", id);
     }
@@ -202,64 +264,138 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
     public void deleteService(UUID id) {
         log.info("Deleting provider service with id: {}", id);
 
-        if (!repository.existsById(id)) {
+        // Location mappings are removed by the same statement
+        if (repository.deleteServiceById(id) == 0) {
             throw new ProviderServiceNotFoundException(id);
         }
+        if (eventPublisherEnabled) {
+            serviceEventPublisher.publish(ServiceEventDto.forService(ServiceEventType.SERVICE_DELETED, id).build());
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(id));
 
-        repository.deleteById(id);
         log.info("Successfully deleted provider service with id: {}", id);
     }
 
+    // Recorded in the outbox within the creating transaction, a failure here rolls the service back
     private void publishServiceCreatedEvent(ProviderService providerService) {
         log.info("Publishing service created event for service: {}", providerService.getId());
-        try {
-            Optional<Provider> provider = providerRepository.findById(providerService.getProviderId());
-            if (provider.isEmpty()) {
-                throw new ProviderServiceNotFoundException(providerService.getId());
-            }
+        Optional<Provider> provider = providerRepository.findById(providerService.getProviderId());
+        if (provider.isEmpty()) {
+            throw new ProviderServiceNotFoundException(providerService.getId());
+        }
 
-            // Extract primary location
-            ServiceLocation primaryServiceLocation = providerService.getServiceLocations().stream()
-                    .filter(ServiceLocation::getIsPrimary)
-                    .findFirst()
-                    .orElse(null);
-
-            Location primaryLocation = primaryServiceLocation != null ? primaryServiceLocation.getLocation() : null;
-            log.info("Primary location extracted from provider service {}", primaryLocation);
-
-            // Extract all location IDs
-            List<String> locationNames = providerService.getServiceLocations().stream()
-                    .map(sl -> sl.getLocation().getName())
-                    .toList();
-
-            assert primaryLocation != null;
-            ServiceEventDto eventDto = ServiceEventDto.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .serviceId(String.valueOf(providerService.getId()))
-                    .eventType("SERVICE_CREATED")
-                    .occurredOn(String.valueOf(new Date()))
-                    .orgId(providerService.getOrgId().toString())
-                    .serviceId(providerService.getId().toString())
-                    .title(providerService.getTitle())
-                    .categoryId(providerService.getCategoryId().toString())
-                    .category("HealthCare")
-                    .providerId(providerService.getProviderId().toString())
-                    .providerName(provider.get().getName())
-                    .primaryLocation(primaryLocation.getName())
-                    .locations(locationNames)
-                    .duration(providerService.getDuration())
-                    .unit(providerService.getUnit())
-                    .price(providerService.getPrice())
-                    .currency(providerService.getCurrency())
-                    .latitude(null)
-                    .longitude(null)
-                    .isActive(providerService.getIsActive())
-                    .build();
-            serviceEventPublisher.publish(eventDto);
-        } catch (Exception e) {
-            log.error("Failed to publish service created event, but service was saved. ServiceId: {}",
-                    providerService.getId(), e);
+        // Extract primary location
+        ServiceLocation primaryServiceLocation = providerService.getServiceLocations().stream()
+                .filter(ServiceLocation::getIsPrimary)
+                .findFirst()
+                .orElse(null);
+
+        Location primaryLocation = primaryServiceLocation != null ? primaryServiceLocation.getLocation() : null;
+        log.info("Primary location extracted from provider service {}", primaryLocation);
+
+        // Extract all location IDs
+        List<String> locationNames = providerService.getServiceLocations().stream()
+                .map(sl -> sl.getLocation().getName())
+                .toList();
+
+        ServiceEventDto eventDto = ServiceEventDto.forService(ServiceEventType.SERVICE_CREATED, providerService.getId())
+                .orgId(providerService.getOrgId().toString())
+                .title(providerService.getTitle())
+                .categoryId(providerService.getCategoryId().toString())
+                .category("HealthCare")
+                .providerId(providerService.getProviderId().toString())
+                .providerName(provider.get().getName())
+                .primaryLocation(primaryLocation != null ? primaryLocation.getName() : "")
+                .locations(locationNames)
+                .duration(providerService.getDuration())
+                .unit(providerService.getUnit())
+                .price(providerService.getPrice())
+                .currency(providerService.getCurrency())
+                .latitude(primaryLocation != null ? ServiceEventMapper.toDegrees(primaryLocation.getLatitude()) : null)
+                .longitude(primaryLocation != null ? ServiceEventMapper.toDegrees(primaryLocation.getLongitude()) : null)
+                .isActive(providerService.getIsActive())
+                .build();
+        serviceEventPublisher.publish(eventDto);
+    }
+
+    // Event fields an update request can change, compared before and after the update
+    private static ServiceEventDto eventFieldsOf(ProviderService providerService) {
+        return ServiceEventDto.builder()
+                .title(providerService.getTitle())
+                .duration(providerService.getDuration())
+                .unit(providerService.getUnit())
+                .price(providerService.getPrice())
+                .currency(providerService.getCurrency())
+                .isActive(providerService.getIsActive())
+                .build();
+    }
+
+    private void publishServiceUpdatedEvent(UUID id, ServiceEventDto before, ServiceEventDto after) {
+        ServiceEventDto.ServiceEventDtoBuilder delta = ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, id);
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(before.getTitle(), after.getTitle())) {
+            delta.title(after.getTitle());
+            changedFields.add(ServiceEventFields.TITLE);
+        }
+        if (!Objects.equals(before.getDuration(), after.getDuration())) {
+            delta.duration(after.getDuration());
+            changedFields.add(ServiceEventFields.DURATION);
         }
+        if (!Objects.equals(before.getUnit(), after.getUnit())) {
+            delta.unit(after.getUnit());
+            changedFields.add(ServiceEventFields.UNIT);
+        }
+        if (!samePrice(before.getPrice(), after.getPrice())) {
+            delta.price(after.getPrice());
+            changedFields.add(ServiceEventFields.PRICE);
+        }
+        if (!Objects.equals(before.getCurrency(), after.getCurrency())) {
+            delta.currency(after.getCurrency());
+            changedFields.add(ServiceEventFields.CURRENCY);
+        }
+        if (!Objects.equals(before.getIsActive(), after.getIsActive())) {
+            delta.isActive(after.getIsActive());
+            changedFields.add(ServiceEventFields.IS_ACTIVE);
+        }
+
+        // An update that changes nothing the event carries is not worth a message
+        if (changedFields.isEmpty()) {
+            log.debug("Update of service: {} changed no event fields", id);
+            return;
+        }
+        serviceEventPublisher.publish(delta.changedFields(changedFields).build());
+    }
+
+    // 500 and 500.00 are the same price
+    private static boolean samePrice(BigDecimal before, BigDecimal after) {
+        return before == null ? after == null : after != null && before.compareTo(after) == 0;
+    }
+
+    /**
+     * Populates locations and primary location of projected services with one query for the whole result
+     */
+    private <C extends Collection<ProviderServiceResponse>> C attachLocations(C responses) {
+        if (responses.isEmpty()) {
+            return responses;
+        }
+
+        List<UUID> serviceIds = responses.stream().map(ProviderServiceResponse::getId).toList();
+        Map<UUID, List<ServiceLocationView>> locationsByService = serviceLocationRepository
+                .findViewsByServiceIds(serviceIds).stream()
+                .collect(Collectors.groupingBy(ServiceLocationView::serviceId));
+
+        responses.forEach(response -> {
+            List<ServiceLocationView> views = locationsByService.getOrDefault(response.getId(), List.of());
+            Set<LocationResponse> locations = new LinkedHashSet<>();
+            views.forEach(view -> {
+                locations.add(view.toLocationResponse());
+                if (Boolean.TRUE.equals(view.isPrimary())) {
+                    response.setPrimaryLocation(view.name());
+                }
+            });
+            response.setLocations(locations);
+        });
+        return responses;
     }
 
     private void validateAndFetchLocations(CreateProviderServiceRequest request) {
@@ -307,6 +443,9 @@ public class ProviderServiceServiceImpl implements ProviderServiceService {
                     .build();
 
             service.getServiceLocations().add(serviceLocation);
+            if (Boolean.TRUE.equals(service.getIsActive()) && location.getGeohash() != null) {
+                tileRepository.adjustCounts(location.getGeohash(), service.getCategoryId(), 1);
+            }
 
             if (isPrimary) {
                 log.debug("Assigned primary location: {} to service: {}",
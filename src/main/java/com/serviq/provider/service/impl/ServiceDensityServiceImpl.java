@@ -0,0 +1,117 @@
+package com.serviq.provider.service.impl;
+
+import com.serviq.provider.dto.response.DensityMapResponse;
+import com.serviq.provider.dto.response.DensityTileResponse;
+import com.serviq.provider.entity.ServiceDensityTile;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.geo.GeoBounds;
+import com.serviq.provider.geo.GeoHash;
+import com.serviq.provider.repository.ServiceDensityTileRepository;
+import com.serviq.provider.service.ServiceDensityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ServiceDensityServiceImpl implements ServiceDensityService {
+
+    static final int MAX_ZOOM = 22;
+    static final int MAX_TILES = 1_024;
+
+    private final ServiceDensityTileRepository tileRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public DensityMapResponse getTiles(GeoBounds bounds, int zoom, Set<UUID> categoryIds) {
+        log.debug("Fetching service density tiles for {} at zoom {}", bounds, zoom);
+        validate(bounds, zoom);
+
+        // A box too large for the zoom is answered with coarser tiles instead of thousands of fine ones
+        int precision = precisionForZoom(zoom);
+        while (precision > 1 && GeoHash.coveringSize(bounds, precision) > MAX_TILES) {
+            precision--;
+        }
+
+        Map<String, Map<UUID, Long>> countsByTile = new TreeMap<>();
+        for (ServiceDensityTile tile : tileRepository.findNonEmptyByGeohashIn(GeoHash.covering(bounds, precision))) {
+            UUID categoryId = tile.getId().getCategoryId();
+            if (categoryIds == null || categoryIds.isEmpty() || categoryIds.contains(categoryId)) {
+                countsByTile.computeIfAbsent(tile.getId().getGeohash(), geohash -> new TreeMap<>())
+                        .put(categoryId, (long) tile.getServiceCount());
+            }
+        }
+
+        List<DensityTileResponse> tiles = new ArrayList<>(countsByTile.size());
+        long totalServices = 0;
+        for (Map.Entry<String, Map<UUID, Long>> entry : countsByTile.entrySet()) {
+            GeoBounds cell = GeoHash.bounds(entry.getKey());
+            long serviceCount = entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+            totalServices += serviceCount;
+            tiles.add(DensityTileResponse.builder()
+                    .geohash(entry.getKey())
+                    .latitude(cell.centerLatitude())
+                    .longitude(cell.centerLongitude())
+                    .minLatitude(cell.minLatitude())
+                    .minLongitude(cell.minLongitude())
+                    .maxLatitude(cell.maxLatitude())
+                    .maxLongitude(cell.maxLongitude())
+                    .serviceCount(serviceCount)
+                    .countsByCategory(entry.getValue())
+                    .build());
+        }
+
+        return DensityMapResponse.builder()
+                .zoom(zoom)
+                .precision(precision)
+                .totalServices(totalServices)
+                .tiles(tiles)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${map.tiles.recount-interval:PT15M}",
+            initialDelayString = "${map.tiles.recount-interval:PT15M}")
+    public void recountTiles() {
+        long started = System.nanoTime();
+        // Without the lock an adjustment committed between the delete and the insert would be lost
+        tileRepository.lockForRecount();
+        tileRepository.deleteAllTiles();
+        int tiles = tileRepository.insertRecountedTiles();
+        log.info("Recounted {} service density tiles in {} ms", tiles, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Geohash precision whose cells are about an eighth of a web map tile
+     * wide at the zoom, so a tile shows a handful of clusters.
+     */
+    static int precisionForZoom(int zoom) {
+        int precision = (int) Math.round(2 * (zoom + 2) / 5.0);
+        return Math.max(1, Math.min(ServiceDensityTileRepository.MAX_PRECISION, precision));
+    }
+
+    private void validate(GeoBounds bounds, int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new BusinessValidationException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        if (!(bounds.minLatitude() >= -90 && bounds.maxLatitude() <= 90)
+                || bounds.minLatitude() > bounds.maxLatitude()) {
+            throw new BusinessValidationException("Latitudes must be between -90 and 90 with min not above max");
+        }
+        if (!(bounds.minLongitude() >= -180 && bounds.minLongitude() <= 180)
+                || !(bounds.maxLongitude() >= -180 && bounds.maxLongitude() <= 180)) {
+            throw new BusinessValidationException("Longitudes must be between -180 and 180");
+        }
+    }
+}
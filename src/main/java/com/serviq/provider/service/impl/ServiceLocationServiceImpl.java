@@ -1,19 +1,30 @@
 package com.serviq.provider.service.impl;
 
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.dto.projection.ServiceLocationView;
 import com.serviq.provider.entity.Location;
 import com.serviq.provider.entity.ProviderService;
 import com.serviq.provider.entity.ServiceLocation;
+import com.serviq.provider.events.EventPublisher;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
 import com.serviq.provider.exception.ResourceNotFoundException;
+import com.serviq.provider.mapper.ServiceEventMapper;
 import com.serviq.provider.repository.LocationRepository;
 import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceDensityTileRepository;
 import com.serviq.provider.repository.ServiceLocationRepository;
 import com.serviq.provider.service.ServiceLocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -24,6 +35,12 @@ public class ServiceLocationServiceImpl implements ServiceLocationService {
     private final ProviderServiceRepository serviceRepository;
     private final LocationRepository locationRepository;
     private final ServiceLocationRepository serviceLocationRepository;
+    private final ServiceDensityTileRepository tileRepository;
+    private final EventPublisher<ServiceEventDto> serviceEventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${event.publisher.enabled}")
+    private boolean eventPublisherEnabled;
 
     @Transactional
     @Override
@@ -61,6 +78,13 @@ public class ServiceLocationServiceImpl implements ServiceLocationService {
 
         providerService.getServiceLocations().add(serviceLocation);
         serviceRepository.save(providerService);
+        if (Boolean.TRUE.equals(providerService.getIsActive())) {
+            adjustDensityTiles(location, providerService, 1);
+        }
+        if (eventPublisherEnabled) {
+            publishLocationsChangedEvent(providerServiceId);
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(providerServiceId));
 
         log.info("Location added successfully to service: {}", providerServiceId);
     }
@@ -71,15 +95,47 @@ public class ServiceLocationServiceImpl implements ServiceLocationService {
         log.info("Removing location from service. ServiceId: {}, LocationId: {}",
                 providerServiceId, locationId);
 
-        if (!serviceLocationRepository.existsByServiceIdAndLocationId(providerServiceId, locationId)) {
-            throw new ResourceNotFoundException(
-                    "Service-Location mapping not found");
+        ServiceLocation serviceLocation = serviceLocationRepository.findByServiceIdAndLocationId(providerServiceId, locationId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Service-Location mapping not found"));
+
+        // Only mappings the density tiles counted are taken off them
+        if (Boolean.TRUE.equals(serviceLocation.getIsActive())
+                && Boolean.TRUE.equals(serviceLocation.getService().getIsActive())
+                && Boolean.TRUE.equals(serviceLocation.getLocation().getIsActive())) {
+            adjustDensityTiles(serviceLocation.getLocation(), serviceLocation.getService(), -1);
         }
 
         serviceLocationRepository.deleteByServiceIdAndLocationId(providerServiceId, locationId);
+        if (eventPublisherEnabled) {
+            publishLocationsChangedEvent(providerServiceId);
+        }
+        applicationEventPublisher.publishEvent(new ProviderServiceChangedEvent(providerServiceId));
         log.info("Location removed successfully from service: {}", providerServiceId);
     }
 
+    // Carries the whole location list as it stands after the change, reading it flushes the change first
+    private void publishLocationsChangedEvent(UUID providerServiceId) {
+        List<ServiceLocationView> locations = serviceLocationRepository.findViewsByServiceIds(List.of(providerServiceId));
+        Optional<ServiceLocationView> primary = locations.stream()
+                .filter(view -> Boolean.TRUE.equals(view.isPrimary()))
+                .findFirst();
+
+        serviceEventPublisher.publish(ServiceEventDto.forService(ServiceEventType.SERVICE_LOCATIONS_CHANGED, providerServiceId)
+                .primaryLocation(primary.map(ServiceLocationView::name).orElse(""))
+                .latitude(primary.map(ServiceLocationView::latitude).map(ServiceEventMapper::toDegrees).orElse(null))
+                .longitude(primary.map(ServiceLocationView::longitude).map(ServiceEventMapper::toDegrees).orElse(null))
+                .locations(locations.stream().map(ServiceLocationView::name).toList())
+                .changedFields(List.of(ServiceEventFields.PRIMARY_LOCATION, ServiceEventFields.LOCATIONS))
+                .build());
+    }
+
+    private void adjustDensityTiles(Location location, ProviderService providerService, int delta) {
+        if (location.getGeohash() != null) {
+            tileRepository.adjustCounts(location.getGeohash(), providerService.getCategoryId(), delta);
+        }
+    }
+
     @Override
     public List<ServiceLocation> getServiceLocations(UUID providerServiceId) {
         return List.of();
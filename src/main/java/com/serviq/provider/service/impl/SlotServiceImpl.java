@@ -1,11 +1,20 @@
 package com.serviq.provider.service.impl;
 
+import com.serviq.provider.dto.request.BatchGetRequest;
 import com.serviq.provider.dto.request.BulkCreateSlotRequestDto;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
 import com.serviq.provider.dto.request.CreateSlotRequestDto;
+import com.serviq.provider.dto.request.NextAvailableSlotsRequestDto;
+import com.serviq.provider.dto.projection.SlotCell;
 import com.serviq.provider.dto.request.UpdateSlotRequestDto;
+import com.serviq.provider.dto.response.BatchGetResponse;
+import com.serviq.provider.dto.response.BulkSlotStatusUpdateResponseDto;
+import com.serviq.provider.dto.response.CompactAvailabilityResponseDto;
+import com.serviq.provider.dto.response.NextAvailableSlotsResponseDto;
 import com.serviq.provider.dto.response.SlotResponseDto;
 import com.serviq.provider.entity.Slot;
 import com.serviq.provider.entity.enums.SlotStatus;
+import com.serviq.provider.exception.BusinessValidationException;
 import com.serviq.provider.exception.ResourceNotFoundException;
 import com.serviq.provider.exception.SlotConflictException;
 import com.serviq.provider.mapper.SlotMapper;
@@ -13,15 +22,22 @@ import com.serviq.provider.repository.SlotRepository;
 import com.serviq.provider.service.SlotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -30,6 +46,8 @@ import java.util.UUID;
 @Transactional
 public class SlotServiceImpl implements SlotService {
 
+    static final int MAX_CALENDAR_DAYS = 62;
+
     private final SlotRepository slotRepository;
     private final SlotMapper slotMapper;
 
@@ -154,8 +172,7 @@ public class SlotServiceImpl implements SlotService {
     public Page<SlotResponseDto> getSlotsByProvider(UUID providerId, Pageable pageable) {
         log.debug("Fetching slots for provider: {}", providerId);
 
-        Page<Slot> slots = slotRepository.findAll(pageable);
-        return slots.map(slotMapper::toResponseDto);
+        return slotRepository.findResponsesByProviderId(providerId, pageable);
     }
 
     @Override
@@ -163,15 +180,143 @@ public class SlotServiceImpl implements SlotService {
     public List<SlotResponseDto> getAvailableSlots(UUID providerServiceId, LocalDate slotDate) {
         log.debug("Fetching available slots for service: {}, date: {}", providerServiceId, slotDate);
 
-        List<Slot> slots = slotRepository.findAvailableSlots(providerServiceId, slotDate);
-        return slotMapper.toResponseDtoList(slots);
+        return slotRepository.findAvailableSlotResponses(providerServiceId, slotDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SlotResponseDto> getAllAvailableSlots(UUID providerServiceId, LocalDate slotDate) {
         log.debug("Fetching all available slots for service: {}, date: {}", providerServiceId, slotDate);
-        List<Slot> slots = slotRepository.findAllSlotsForTheDate(providerServiceId, slotDate);
-        return slotMapper.toResponseDtoList(slots);
+
+        return slotRepository.findAllSlotResponsesForTheDate(providerServiceId, slotDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponse<SlotResponseDto> getSlotsByIds(BatchGetRequest request) {
+        log.debug("Fetching {} slots by ID", request.getIds().size());
+
+        return BatchGetResponse.of(request.getIds(),
+                slotRepository.findResponsesByIdIn(request.getIds()), SlotResponseDto::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlotResponseDto getNextAvailableSlot(UUID providerServiceId, LocalDateTime from) {
+        log.debug("Fetching next available slot for service: {} from: {}", providerServiceId, from);
+
+        return slotRepository.findNextAvailableSlotResponses(
+                        providerServiceId, from.toLocalDate(), from.toLocalTime(), Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No available slot for service: " + providerServiceId + " from: " + from));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlotResponseDto getNextAvailableSlotForProvider(UUID providerId, LocalDateTime from) {
+        log.debug("Fetching next available slot for provider: {} from: {}", providerId, from);
+
+        return slotRepository.findNextAvailableSlotResponsesByProvider(
+                        providerId, from.toLocalDate(), from.toLocalTime(), Limit.of(1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No available slot for provider: " + providerId + " from: " + from));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NextAvailableSlotsResponseDto getNextAvailableSlots(NextAvailableSlotsRequestDto requestDto) {
+        LocalDateTime from = requestDto.getFrom() != null ? requestDto.getFrom() : LocalDateTime.now();
+        log.debug("Fetching next available slots for {} services from: {}", requestDto.getProviderServiceIds().size(), from);
+
+        Map<UUID, SlotResponseDto> slots = new LinkedHashMap<>();
+        for (Slot slot : slotRepository.findNextAvailableSlots(
+                requestDto.getProviderServiceIds(), from.toLocalDate(), from.toLocalTime())) {
+            slots.put(slot.getProviderServiceId(), slotMapper.toResponseDto(slot));
+        }
+
+        List<UUID> unavailable = requestDto.getProviderServiceIds().stream()
+                .filter(providerServiceId -> !slots.containsKey(providerServiceId))
+                .toList();
+
+        return NextAvailableSlotsResponseDto.builder()
+                .from(from)
+                .slots(slots)
+                .unavailable(unavailable)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompactAvailabilityResponseDto getCompactAvailability(UUID providerServiceId, LocalDate startDate, int days) {
+        log.debug("Fetching compact availability for service: {} from: {} for {} days", providerServiceId, startDate, days);
+
+        if (days < 1 || days > MAX_CALENDAR_DAYS) {
+            throw new BusinessValidationException("Days must be between 1 and " + MAX_CALENDAR_DAYS);
+        }
+        List<SlotCell> slots = slotRepository.findSlotCells(providerServiceId, startDate, startDate.plusDays(days - 1));
+
+        // Grid from the earliest start to the latest end, cells as wide as every slot boundary allows
+        int gridStart = 0;
+        int gridEnd = 0;
+        int cellMinutes = 0;
+        if (!slots.isEmpty()) {
+            gridStart = slots.stream().mapToInt(slot -> minuteOfDay(slot.startTime())).min().getAsInt();
+            gridEnd = slots.stream().mapToInt(slot -> endMinuteOfDay(slot.endTime())).max().getAsInt();
+            for (SlotCell slot : slots) {
+                cellMinutes = gcd(cellMinutes, minuteOfDay(slot.startTime()) - gridStart);
+                cellMinutes = gcd(cellMinutes, endMinuteOfDay(slot.endTime()) - gridStart);
+            }
+        }
+        int cellsPerDay = cellMinutes == 0 ? 0 : (gridEnd - gridStart) / cellMinutes;
+
+        BitSet[] free = new BitSet[days];
+        BitSet[] booked = new BitSet[days];
+        for (int day = 0; day < days; day++) {
+            free[day] = new BitSet(cellsPerDay);
+            booked[day] = new BitSet(cellsPerDay);
+        }
+        for (SlotCell slot : slots) {
+            int day = (int) ChronoUnit.DAYS.between(startDate, slot.slotDate());
+            int fromCell = (minuteOfDay(slot.startTime()) - gridStart) / cellMinutes;
+            int toCell = (endMinuteOfDay(slot.endTime()) - gridStart) / cellMinutes;
+            (slot.bookable() ? free : booked)[day].set(fromCell, toCell);
+        }
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<String> freeBitmaps = new ArrayList<>(days);
+        List<String> bookedBitmaps = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            freeBitmaps.add(encoder.encodeToString(free[day].toByteArray()));
+            bookedBitmaps.add(encoder.encodeToString(booked[day].toByteArray()));
+        }
+
+        return CompactAvailabilityResponseDto.builder()
+                .providerServiceId(providerServiceId)
+                .startDate(startDate)
+                .days(days)
+                .gridStart(LocalTime.MIDNIGHT.plusMinutes(gridStart))
+                .cellMinutes(cellMinutes)
+                .cellsPerDay(cellsPerDay)
+                .free(freeBitmaps)
+                .booked(bookedBitmaps)
+                .build();
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // A slot ending at midnight ends at the end of its day
+    private static int endMinuteOfDay(LocalTime time) {
+        return time.equals(LocalTime.MIDNIGHT) ? 24 * 60 : minuteOfDay(time);
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
     }
 
     @Override
@@ -179,8 +324,7 @@ public class SlotServiceImpl implements SlotService {
     public List<SlotResponseDto> getSlotsByDateRange(UUID providerId, LocalDate startDate, LocalDate endDate) {
         log.debug("Fetching slots for provider: {} between {} and {}", providerId, startDate, endDate);
 
-        List<Slot> slots = slotRepository.findByProviderAndDateRange(providerId, startDate, endDate);
-        return slotMapper.toResponseDtoList(slots);
+        return slotRepository.findResponsesByProviderAndDateRange(providerId, startDate, endDate);
     }
 
     @Override
@@ -188,8 +332,7 @@ public class SlotServiceImpl implements SlotService {
     public Page<SlotResponseDto> getSlotsByOrganization(UUID orgId, Pageable pageable) {
         log.debug("Fetching slots for organization: {}", orgId);
 
-        Page<Slot> slots = slotRepository.findByOrgId(orgId, pageable);
-        return slots.map(slotMapper::toResponseDto);
+        return slotRepository.findResponsesByOrgId(orgId, pageable);
     }
 
     @Override
@@ -197,8 +340,7 @@ public class SlotServiceImpl implements SlotService {
     public Page<SlotResponseDto> getSlotsByService(UUID providerServiceId, Pageable pageable) {
         log.debug("Fetching slots for service: {}", providerServiceId);
 
-        Page<Slot> slots = slotRepository.findByProviderServiceId(providerServiceId, pageable);
-        return slots.map(slotMapper::toResponseDto);
+        return slotRepository.findResponsesByProviderServiceId(providerServiceId, pageable);
     }
 
     @Override
@@ -206,24 +348,48 @@ public class SlotServiceImpl implements SlotService {
     public Page<SlotResponseDto> getSlotsByStatus(UUID providerId, SlotStatus status, Pageable pageable) {
         log.debug("Fetching slots for provider: {} with status: {}", providerId, status);
 
-        Page<Slot> slots = slotRepository.findByProviderIdAndStatus(providerId, status, pageable);
-        return slots.map(slotMapper::toResponseDto);
+        return slotRepository.findResponsesByProviderIdAndStatus(providerId, status, pageable);
     }
 
     @Override
     public SlotResponseDto updateSlotStatus(UUID slotId, SlotStatus status) {
         log.info("Updating slot status to {} for slot ID: {}", status, slotId);
 
-        Slot slot = slotRepository.findById(slotId)
+        Slot updatedSlot = slotRepository.updateStatusReturning(slotId, status.name())
                 .orElseThrow(() -> new ResourceNotFoundException("Slot not found with ID: " + slotId));
 
-        slot.setStatus(status);
-        Slot updatedSlot = slotRepository.save(slot);
-
         log.info("Slot status updated successfully");
         return slotMapper.toResponseDto(updatedSlot);
     }
 
+    @Override
+    public BulkSlotStatusUpdateResponseDto bulkUpdateSlotStatus(BulkUpdateSlotStatusRequestDto requestDto) {
+        log.info("Bulk updating slot status to {} for provider: {}, service: {}, dates: {} to {}",
+                requestDto.getStatus(), requestDto.getProviderId(), requestDto.getProviderServiceId(),
+                requestDto.getStartDate(), requestDto.getEndDate());
+
+        if (requestDto.getStatus() == SlotStatus.BOOKED) {
+            throw new BusinessValidationException("Slots can only be bulk updated to AVAILABLE, BLOCKED or CANCELLED");
+        }
+
+        // Slots with bookings are skipped by the statement itself
+        int updatedCount = slotRepository.bulkUpdateStatus(
+                requestDto.getProviderId(),
+                requestDto.getProviderServiceId(),
+                requestDto.getStartDate(),
+                requestDto.getEndDate(),
+                requestDto.getStartTime(),
+                requestDto.getEndTime(),
+                requestDto.getStatus(),
+                LocalDateTime.now());
+
+        log.info("Bulk slot status update affected {} slots", updatedCount);
+        return BulkSlotStatusUpdateResponseDto.builder()
+                .status(requestDto.getStatus())
+                .updatedCount(updatedCount)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isSlotAvailable(UUID slotId) {
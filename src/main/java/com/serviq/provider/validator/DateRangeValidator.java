@@ -3,6 +3,7 @@ package com.serviq.provider.validator;
 import com.serviq.provider.annotation.ValidDateRange;
 import com.serviq.provider.dto.request.AvailabilityConfigCreateRequest;
 import com.serviq.provider.dto.request.AvailabilityConfigUpdateRequest;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
@@ -32,6 +33,9 @@ public class DateRangeValidator implements ConstraintValidator<ValidDateRange, O
         } else if (value instanceof AvailabilityConfigUpdateRequest request) {
             startDate = request.getStartDate();
             endDate = request.getEndDate();
+        } else if (value instanceof BulkUpdateSlotStatusRequestDto request) {
+            startDate = request.getStartDate();
+            endDate = request.getEndDate();
         }
 
         if (startDate == null || endDate == null) {
@@ -3,6 +3,7 @@ package com.serviq.provider.validator;
 import com.serviq.provider.annotation.ValidTimeRange;
 import com.serviq.provider.dto.request.AvailabilityConfigCreateRequest;
 import com.serviq.provider.dto.request.AvailabilityConfigUpdateRequest;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
@@ -32,6 +33,9 @@ public class TimeRangeValidator implements ConstraintValidator<ValidTimeRange, O
         } else if (value instanceof AvailabilityConfigUpdateRequest request) {
             startTime = request.getStartTime();
             endTime = request.getEndTime();
+        } else if (value instanceof BulkUpdateSlotStatusRequestDto request) {
+            startTime = request.getStartTime();
+            endTime = request.getEndTime();
         }
 
         if (startTime == null || endTime == null) {
@@ -0,0 +1,19 @@
+-- Failed sends of an outbox row that were not caused by the broker, such as a
+-- payload that cannot be serialized. Rows that reach the relay's attempt cap are
+-- moved to the dead letter table so the events behind them keep flowing.
+ALTER TABLE provider.service_event_outbox
+    ADD COLUMN IF NOT EXISTS attempts   int  NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_error text;
+
+-- Outbox rows given up on, kept with their original id for inspection and replay.
+CREATE TABLE IF NOT EXISTS provider.service_event_dead_letter
+(
+    id               bigint PRIMARY KEY,
+    service_id       uuid        NOT NULL,
+    event_type       varchar(50) NOT NULL,
+    payload          jsonb       NOT NULL,
+    created_at       timestamptz NOT NULL,
+    attempts         int         NOT NULL,
+    last_error       text,
+    dead_lettered_at timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,15 @@
+-- Ranked, typo tolerant search on provider names and service titles.
+-- GIN trigram indexes serve both the word similarity operator (<%) and ILIKE '%term%'.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_provider_name_trgm
+    ON provider.provider USING gin (name gin_trgm_ops)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_provider_display_name_trgm
+    ON provider.provider USING gin (display_name gin_trgm_ops)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_provider_service_title_trgm
+    ON provider.provider_service USING gin (title gin_trgm_ops)
+    WHERE is_active = true;
@@ -0,0 +1,108 @@
+-- Geohash cell of every location so nearby lookups are prefix range scans instead of full scans.
+-- The column is kept by a trigger, the application only reads it. "C" collation keeps the
+-- btree in geohash order, so a prefix is one contiguous index range.
+CREATE OR REPLACE FUNCTION provider.geohash_encode(lat double precision, lon double precision, hash_length integer)
+    RETURNS varchar
+    LANGUAGE plpgsql
+    IMMUTABLE STRICT
+AS
+$$
+DECLARE
+    base32    CONSTANT text := '0123456789bcdefghjkmnpqrstuvwxyz';
+    lat_lo    double precision := -90;
+    lat_hi    double precision := 90;
+    lon_lo    double precision := -180;
+    lon_hi    double precision := 180;
+    mid       double precision;
+    hash      text             := '';
+    bits      integer          := 0;
+    bit_count integer          := 0;
+    even      boolean          := true;
+BEGIN
+    WHILE length(hash) < hash_length
+        LOOP
+            IF even THEN
+                mid := (lon_lo + lon_hi) / 2;
+                IF lon >= mid THEN
+                    bits := bits * 2 + 1;
+                    lon_lo := mid;
+                ELSE
+                    bits := bits * 2;
+                    lon_hi := mid;
+                END IF;
+            ELSE
+                mid := (lat_lo + lat_hi) / 2;
+                IF lat >= mid THEN
+                    bits := bits * 2 + 1;
+                    lat_lo := mid;
+                ELSE
+                    bits := bits * 2;
+                    lat_hi := mid;
+                END IF;
+            END IF;
+            even := NOT even;
+            bit_count := bit_count + 1;
+            IF bit_count = 5 THEN
+                hash := hash || substr(base32, bits + 1, 1);
+                bits := 0;
+                bit_count := 0;
+            END IF;
+        END LOOP;
+    RETURN hash;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION provider.set_geohash()
+    RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF NEW.latitude IS NULL OR NEW.longitude IS NULL THEN
+        NEW.geohash := NULL;
+    ELSE
+        NEW.geohash := provider.geohash_encode(NEW.latitude, NEW.longitude, 12);
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+ALTER TABLE provider.locations
+    ADD COLUMN IF NOT EXISTS geohash varchar(12) COLLATE "C";
+
+ALTER TABLE provider.provider_location
+    ADD COLUMN IF NOT EXISTS geohash varchar(12) COLLATE "C";
+
+UPDATE provider.locations
+SET geohash = provider.geohash_encode(latitude, longitude, 12)
+WHERE latitude IS NOT NULL
+  AND longitude IS NOT NULL;
+
+UPDATE provider.provider_location
+SET geohash = provider.geohash_encode(latitude, longitude, 12)
+WHERE latitude IS NOT NULL
+  AND longitude IS NOT NULL;
+
+CREATE TRIGGER trg_locations_geohash
+    BEFORE INSERT OR UPDATE OF latitude, longitude
+    ON provider.locations
+    FOR EACH ROW
+EXECUTE FUNCTION provider.set_geohash();
+
+CREATE TRIGGER trg_provider_location_geohash
+    BEFORE INSERT OR UPDATE OF latitude, longitude
+    ON provider.provider_location
+    FOR EACH ROW
+EXECUTE FUNCTION provider.set_geohash();
+
+CREATE INDEX IF NOT EXISTS idx_locations_geohash
+    ON provider.locations (geohash)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_provider_location_geohash
+    ON provider.provider_location (geohash)
+    WHERE is_active = true;
+
+CREATE INDEX IF NOT EXISTS idx_service_locations_location_id
+    ON provider.service_locations (location_id)
+    WHERE is_active = true;
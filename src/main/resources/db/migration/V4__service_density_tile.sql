@@ -0,0 +1,23 @@
+-- Active services per geohash cell and category for the map view, one row per cell of
+-- every precision from 1 to 7 (about 153 x 153 m), so any zoom reads precomputed counts.
+-- Kept up to date incrementally as services are mapped to and unmapped from locations.
+CREATE TABLE IF NOT EXISTS provider.service_density_tile
+(
+    geohash       varchar(7) COLLATE "C" NOT NULL,
+    category_id   uuid                   NOT NULL,
+    service_count integer                NOT NULL DEFAULT 0,
+    PRIMARY KEY (geohash, category_id)
+);
+
+INSERT INTO provider.service_density_tile (geohash, category_id, service_count)
+SELECT left(l.geohash, p.len), ps.category_id, COUNT(*)
+FROM provider.service_locations sl
+         JOIN provider.locations l ON l.id = sl.location_id
+         JOIN provider.provider_service ps ON ps.id = sl.service_id
+         CROSS JOIN generate_series(1, 7) AS p(len)
+WHERE sl.is_active = true
+  AND l.is_active = true
+  AND ps.is_active = true
+  AND l.geohash IS NOT NULL
+GROUP BY left(l.geohash, p.len), ps.category_id
+ON CONFLICT (geohash, category_id) DO UPDATE SET service_count = EXCLUDED.service_count;
@@ -0,0 +1,5 @@
+-- Bookable slots of a service in date and start time order. Serves the window lookups of the
+-- nearby slot search and lets "next available slot" queries stop at the first index entry.
+CREATE INDEX IF NOT EXISTS idx_slots_available_service_date_time
+    ON provider.slots (provider_service_id, slot_date, start_time)
+    WHERE status = 'AVAILABLE' AND booked_count < capacity;
@@ -0,0 +1,5 @@
+-- Bookable slots of a provider in date and start time order, so the provider's next available
+-- slot is the first entry of an index range. The per-service lookup uses the V5 index.
+CREATE INDEX IF NOT EXISTS idx_slots_available_provider_date_time
+    ON provider.slots (provider_id, slot_date, start_time)
+    WHERE status = 'AVAILABLE' AND booked_count < capacity;
@@ -0,0 +1,10 @@
+-- Service events written in the same transaction as the change they describe and
+-- drained to Kafka by the outbox relay in id order. Rows are deleted once sent.
+CREATE TABLE IF NOT EXISTS provider.service_event_outbox
+(
+    id         bigserial PRIMARY KEY,
+    service_id uuid        NOT NULL,
+    event_type varchar(50) NOT NULL,
+    payload    jsonb       NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT now()
+);
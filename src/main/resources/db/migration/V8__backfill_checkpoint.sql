@@ -0,0 +1,15 @@
+-- Progress of catalog backfill jobs, one row per id-range partition. A partition
+-- resumes after last_service_id, the last service the broker confirmed.
+CREATE TABLE IF NOT EXISTS provider.backfill_checkpoint
+(
+    id              bigserial PRIMARY KEY,
+    job_id          uuid        NOT NULL,
+    partition_no    integer     NOT NULL,
+    range_start     uuid        NOT NULL,
+    range_end       uuid        NOT NULL,
+    last_service_id uuid,
+    published       bigint      NOT NULL DEFAULT 0,
+    completed       boolean     NOT NULL DEFAULT false,
+    updated_at      timestamptz NOT NULL DEFAULT now(),
+    CONSTRAINT uq_backfill_checkpoint_partition UNIQUE (job_id, partition_no)
+);
@@ -0,0 +1,4 @@
+-- Lets the outbox relay check per service whether events are still arriving
+-- within the coalescing window or one has waited past the maximum delay.
+CREATE INDEX IF NOT EXISTS idx_service_event_outbox_service_created
+    ON provider.service_event_outbox (service_id, created_at);
@@ -0,0 +1,181 @@
+package com.serviq.provider.backfill;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.request.BackfillRequest;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.entity.BackfillCheckpoint;
+import com.serviq.provider.events.publisher.ServiceEventPublisher;
+import com.serviq.provider.events.publisher.ServiceSnapshotPublisher;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.repository.BackfillCheckpointRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CatalogBackfill tests")
+class CatalogBackfillTest {
+
+    private final ProviderServiceRepository providerServiceRepository = mock(ProviderServiceRepository.class);
+    private final BackfillCheckpointRepository checkpointRepository = mock(BackfillCheckpointRepository.class);
+    private final ServiceEventPublisher serviceEventPublisher = mock(ServiceEventPublisher.class);
+    private final ServiceSnapshotPublisher serviceSnapshotPublisher = mock(ServiceSnapshotPublisher.class);
+
+    @Test
+    @DisplayName("Should split the id space into contiguous ranges ordered as the database orders uuids")
+    void shouldSplitIdSpaceIntoContiguousRanges() {
+        // When
+        List<UUID> bounds = CatalogBackfill.partitionBounds(4);
+
+        // Then
+        assertThat(bounds).containsExactly(
+                UUID.fromString("00000000-0000-0000-0000-000000000000"),
+                UUID.fromString("40000000-0000-0000-0000-000000000000"),
+                UUID.fromString("80000000-0000-0000-0000-000000000000"),
+                UUID.fromString("c0000000-0000-0000-0000-000000000000"),
+                UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+    }
+
+    @Test
+    @DisplayName("Should cover the whole id space with a single partition")
+    void shouldCoverIdSpaceWithSinglePartition() {
+        // When
+        List<UUID> bounds = CatalogBackfill.partitionBounds(1);
+
+        // Then
+        assertThat(bounds).containsExactly(
+                UUID.fromString("00000000-0000-0000-0000-000000000000"),
+                UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with more partitions than half the connection pool")
+    void shouldRejectDefaultPartitionsBeyondPool() {
+        // When & Then
+        assertThat(CatalogBackfill.maxPartitions(10)).isEqualTo(5);
+        assertThat(CatalogBackfill.maxPartitions(1)).isEqualTo(1);
+        assertThatThrownBy(() -> backfill(6, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("between 1 and 5");
+    }
+
+    @Test
+    @DisplayName("Should reject a request for more partitions than the connection pool allows")
+    void shouldRejectRequestedPartitionsBeyondPool() {
+        // Given
+        CatalogBackfill backfill = backfill(4, 10);
+
+        // When & Then
+        assertThatThrownBy(() -> backfill.start(BackfillRequest.builder().partitions(6).build()))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("At most 5 partitions");
+        backfill.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send events from the state at send time and snapshot every service, active or not")
+    void shouldPublishCurrentStateOfEachBatch() {
+        // Given
+        UUID active = UUID.randomUUID();
+        UUID inactive = UUID.randomUUID();
+        givenServices(active, inactive);
+        // Renamed after the cursor was opened
+        when(providerServiceRepository.findResponsesByIdIn(List.of(active, inactive)))
+                .thenReturn(List.of(response(active, "Renamed", true), response(inactive, "Closed", false)));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        CatalogBackfill backfill = backfill(1, 10);
+
+        // When
+        backfill.start(BackfillRequest.builder().build());
+
+        // Then
+        verify(checkpointRepository, timeout(5_000)).save(argThat(BackfillCheckpoint::getCompleted));
+        ArgumentCaptor<ServiceEventDto> events = ArgumentCaptor.forClass(ServiceEventDto.class);
+        verify(serviceEventPublisher).send(events.capture());
+        assertThat(events.getAllValues()).extracting(ServiceEventDto::getServiceId, ServiceEventDto::getTitle)
+                .containsExactly(tuple(active.toString(), "Renamed"));
+        verify(serviceSnapshotPublisher).publishCurrentState(List.of(active, inactive));
+        backfill.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should seed snapshots of every service without reading them for events")
+    void shouldSeedSnapshotsOfEveryService() {
+        // Given
+        UUID active = UUID.randomUUID();
+        UUID inactive = UUID.randomUUID();
+        givenServices(active, inactive);
+        CatalogBackfill backfill = backfill(1, 10);
+
+        // When
+        backfill.start(BackfillRequest.builder().snapshotsOnly(true).build());
+
+        // Then
+        verify(checkpointRepository, timeout(5_000)).save(argThat(BackfillCheckpoint::getCompleted));
+        verify(serviceSnapshotPublisher).publishCurrentState(List.of(active, inactive));
+        verify(providerServiceRepository, never()).findResponsesByIdIn(anyList());
+        verify(serviceEventPublisher, never()).send(any());
+        backfill.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should space permits at the configured rate")
+    void shouldSpacePermitsAtRate() throws InterruptedException {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(100);
+
+        // When
+        long started = System.nanoTime();
+        rateLimiter.acquire(10);
+        rateLimiter.acquire(10);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        // The first batch goes at once, the second waits for the 100 ms the first paid for
+        assertThat(elapsedMillis).isBetween(90L, 1_000L);
+    }
+
+    private void givenServices(UUID... serviceIds) {
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(providerServiceRepository.streamIds(any(), any())).thenReturn(Stream.of(serviceIds));
+        when(serviceSnapshotPublisher.publishCurrentState(any())).thenReturn(Stream.of(serviceIds)
+                .map(id -> CompletableFuture.<SendResult<String, Object>>completedFuture(null))
+                .toList());
+    }
+
+    private static ProviderServiceResponse response(UUID id, String title, boolean active) {
+        return new ProviderServiceResponse(id, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Provider",
+                title, null, 30, "MINUTES", new BigDecimal("500.00"), "INR", 1, active, Map.of());
+    }
+
+    private CatalogBackfill backfill(int partitions, int connectionPoolSize) {
+        return new CatalogBackfill(providerServiceRepository, mock(ServiceLocationRepository.class),
+                checkpointRepository, serviceEventPublisher, serviceSnapshotPublisher, new ServiceEventMapper(),
+                mock(PlatformTransactionManager.class), partitions, 500, 500, Duration.ofSeconds(30),
+                connectionPoolSize);
+    }
+}
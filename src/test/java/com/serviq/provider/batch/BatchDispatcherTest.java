@@ -0,0 +1,236 @@
+package com.serviq.provider.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.serviq.provider.dto.request.BatchRequest;
+import com.serviq.provider.dto.response.BatchResponse;
+import com.serviq.provider.exception.BusinessValidationException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DisplayName("BatchDispatcher tests")
+class BatchDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final DispatcherServlet dispatcherServlet = mock(DispatcherServlet.class);
+    private final MockHttpServletRequest batchRequest = new MockHttpServletRequest("POST", "/api/v1/batch");
+    private final MockHttpServletResponse batchResponse = new MockHttpServletResponse();
+
+    private final List<String> dispatched = new CopyOnWriteArrayList<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private BatchDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        batchRequest.addHeader("Content-Type", "application/json");
+        batchRequest.addHeader("Accept-Language", "en-IN");
+        dispatcher = new BatchDispatcher(dispatcherServlet, objectMapper, Duration.ofMillis(500), 2);
+
+        // Echoes what the controller would see, sleeps on /slow and briefly on /busy
+        doAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(1);
+            dispatched.add(request.getRequestURI());
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (request.getRequestURI().endsWith("/slow")) {
+                    Thread.sleep(5_000);
+                } else if (request.getRequestURI().endsWith("/busy")) {
+                    Thread.sleep(100);
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            response.setStatus(request.getMethod().equals("POST") ? 201 : 200);
+            response.setContentType("application/json");
+            response.getOutputStream().write(objectMapper.writeValueAsBytes(new Echo(request.getMethod(),
+                    request.getRequestURI(), request.getParameter("include"), request.getContentType(),
+                    request.getHeader("Accept-Language"), body)));
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should dispatch each sub-request with its own method, path, parameters and body")
+    void shouldDispatchSubRequests() {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest("provider", "get", "/api/v1/providers/42?include=contacts%2Clocations", null),
+                subRequest("slots", "POST", "/api/v1/slots/batch-get", objectMapper.createObjectNode().put("x", 1))))
+                .build();
+
+        // When
+        BatchResponse response = dispatcher.dispatch(batch, batchRequest, batchResponse);
+
+        // Then
+        assertThat(response.getResponses()).hasSize(2);
+        BatchResponse.SubResponse provider = response.getResponses().get(0);
+        assertThat(provider.getId()).isEqualTo("provider");
+        assertThat(provider.getStatus()).isEqualTo(200);
+        assertThat(provider.getBody().get("method").asText()).isEqualTo("GET");
+        assertThat(provider.getBody().get("uri").asText()).isEqualTo("/api/v1/providers/42");
+        assertThat(provider.getBody().get("include").asText()).isEqualTo("contacts,locations");
+        assertThat(provider.getBody().get("contentType").isNull()).isTrue();
+        assertThat(provider.getBody().get("language").asText()).isEqualTo("en-IN");
+
+        BatchResponse.SubResponse slots = response.getResponses().get(1);
+        assertThat(slots.getStatus()).isEqualTo(201);
+        assertThat(slots.getBody().get("contentType").asText()).isEqualTo("application/json");
+        assertThat(slots.getBody().get("body").asText()).isEqualTo("{\"x\":1}");
+        // Nothing leaks into the batch response itself
+        assertThat(batchResponse.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer sub-requests past the deadline with 504 and keep the others")
+    void shouldTimeOutSlowSubRequests() {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest("slow", "GET", "/api/v1/providers/slow", null),
+                subRequest("fast", "GET", "/api/v1/providers/fast", null)))
+                .build();
+
+        // When
+        BatchResponse response = dispatcher.dispatch(batch, batchRequest, batchResponse);
+
+        // Then
+        assertThat(response.getResponses()).extracting(BatchResponse.SubResponse::getId, BatchResponse.SubResponse::getStatus)
+                .containsExactly(tuple("slow", 504), tuple("fast", 200));
+    }
+
+    @Test
+    @DisplayName("Should reject sub-requests outside the API or to the batch endpoint")
+    void shouldRejectPathsOutsideTheApi() {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest(null, "GET", "/api/v1/providers/1", null),
+                subRequest(null, "POST", "/api/v1/batch", null)))
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> dispatcher.dispatch(batch, batchRequest, batchResponse))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(dispatcherServlet);
+    }
+
+    @Test
+    @DisplayName("Should reject a percent-encoded path to the batch endpoint")
+    void shouldRejectEncodedBatchPath() {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest(null, "POST", "/api/v1/%62atch", null)))
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> dispatcher.dispatch(batch, batchRequest, batchResponse))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(dispatcherServlet);
+    }
+
+    @Test
+    @DisplayName("Should refuse to dispatch a batch from inside a sub-request")
+    void shouldRejectNestedBatches() {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest(null, "GET", "/api/v1/providers/1", null)))
+                .build();
+        BatchSubRequest nested = new BatchSubRequest(batchRequest, "POST", "/api/v1/%62atch", new byte[0]);
+        MockHttpServletRequest marked = new MockHttpServletRequest("POST", "/api/v1/batch");
+        marked.setAttribute(BatchDispatcher.SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+
+        // When & Then
+        assertThatThrownBy(() -> dispatcher.dispatch(batch, nested, batchResponse))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("nested");
+        assertThatThrownBy(() -> dispatcher.dispatch(batch, marked, batchResponse))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(dispatcherServlet);
+    }
+
+    @Test
+    @DisplayName("Should share the parallelism limit between concurrent batches")
+    void shouldLimitSubRequestsAcrossBatches() throws Exception {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest("a", "GET", "/api/v1/providers/busy", null),
+                subRequest("b", "GET", "/api/v1/providers/busy", null)))
+                .build();
+
+        // When
+        List<CompletableFuture<BatchResponse>> batches = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batches.add(CompletableFuture.supplyAsync(() -> dispatcher.dispatch(batch, batchRequest, batchResponse)));
+        }
+
+        // Then
+        for (CompletableFuture<BatchResponse> future : batches) {
+            assertThat(future.get(5, TimeUnit.SECONDS).getResponses())
+                    .extracting(BatchResponse.SubResponse::getStatus)
+                    .containsOnly(200);
+        }
+        assertThat(dispatched).hasSize(6);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not start sub-requests still waiting for a permit at the deadline")
+    void shouldNotStartQueuedSubRequestsAfterTheDeadline() throws Exception {
+        // Given
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest("slow-1", "GET", "/api/v1/providers/slow", null),
+                subRequest("slow-2", "GET", "/api/v1/providers/slow", null),
+                subRequest("queued", "GET", "/api/v1/providers/queued", null)))
+                .build();
+
+        // When
+        BatchResponse response = dispatcher.dispatch(batch, batchRequest, batchResponse);
+        Thread.sleep(100);
+
+        // Then
+        assertThat(response.getResponses()).extracting(BatchResponse.SubResponse::getStatus)
+                .containsExactly(504, 504, 504);
+        assertThat(dispatched).doesNotContain("/api/v1/providers/queued");
+    }
+
+    private static BatchRequest.SubRequest subRequest(String id, String method, String path, JsonNode body) {
+        return BatchRequest.SubRequest.builder().id(id).method(method).path(path).body(body).build();
+    }
+
+    record Echo(String method, String uri, String include, String contentType, String language, String body) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.serviq.provider.benchmark;
+
+import com.serviq.provider.dto.projection.TermWeight;
+import com.serviq.provider.repository.LocationRepository;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import com.serviq.provider.search.AutocompleteIndex;
+import com.serviq.provider.search.SuggestionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures autocomplete latency on 500k service titles and 50k providers,
+ * cities and locations held in memory. Run with {@code ./gradlew benchmark},
+ * results are printed to stdout.
+ */
+@Tag("benchmark")
+@DisplayName("Autocomplete benchmark")
+public class AutocompleteBenchmarkTest {
+
+    private static final int TITLES = 500_000;
+    private static final int OTHERS = 50_000;
+    private static final int QUERIES = 200_000;
+
+    private static final String[] WORDS = {"advanced", "basic", "family", "express", "premium", "senior",
+            "pediatric", "holistic", "dental", "physiotherapy", "cardiology", "dermatology", "hair", "yoga",
+            "nutrition", "massage", "eye", "orthopedic", "consultation", "checkup", "therapy", "cleaning"};
+    private static final String[] PREFIXES = {"d", "de", "den", "phy", "card", "yo", "ma", "c", "che", "ortho"};
+
+    @Test
+    void measureSuggestLatency() {
+        Random random = new Random(42);
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        ProviderRepository providerRepository = mock(ProviderRepository.class);
+        ProviderServiceRepository providerServiceRepository = mock(ProviderServiceRepository.class);
+        when(providerServiceRepository.findTitleTermWeights()).thenReturn(terms(random, TITLES, 4));
+        when(providerRepository.findNameTermWeights()).thenReturn(terms(random, OTHERS, 2));
+        when(locationRepository.findCityTermWeights()).thenReturn(terms(random, OTHERS, 1));
+        when(locationRepository.findNameTermWeights()).thenReturn(terms(random, OTHERS, 2));
+
+        AutocompleteIndex index = new AutocompleteIndex(locationRepository, providerRepository,
+                providerServiceRepository, mock(ServiceLocationRepository.class));
+        long buildStarted = System.nanoTime();
+        index.rebuild();
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        Set<SuggestionType> allTypes = EnumSet.allOf(SuggestionType.class);
+        for (int i = 0; i < QUERIES / 10; i++) {
+            assertThat(index.suggest(PREFIXES[i % PREFIXES.length], allTypes, 10)).isNotEmpty();
+        }
+
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long started = System.nanoTime();
+            index.suggest(PREFIXES[i % PREFIXES.length], allTypes, 10);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("rebuild %d ms, suggest p50 %.1f us, p99 %.1f us, max %.1f us (%d queries, top 10)%n",
+                buildMillis, nanos[QUERIES / 2] / 1_000.0, nanos[(int) (QUERIES * 0.99)] / 1_000.0,
+                nanos[QUERIES - 1] / 1_000.0, QUERIES);
+    }
+
+    private static List<TermWeight> terms(Random random, int count, int words) {
+        List<TermWeight> terms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder term = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                term.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            String text = term.append(i).toString();
+            long weight = random.nextInt(1_000);
+            terms.add(new TermWeight() {
+                @Override
+                public String getTerm() {
+                    return text;
+                }
+
+                @Override
+                public long getWeight() {
+                    return weight;
+                }
+            });
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,145 @@
+package com.serviq.provider.benchmark;
+
+import com.serviq.provider.dto.response.SlotResponseDto;
+import com.serviq.provider.entity.Slot;
+import com.serviq.provider.mapper.SlotMapper;
+import com.serviq.provider.repository.SlotRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity + mapper listing path against the DTO projection path
+ * on a 10k row result. Run with {@code ./gradlew benchmark}, results are
+ * printed to stdout.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Listing projection benchmark")
+public class ListingProjectionBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private SlotMapper slotMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID providerId = UUID.randomUUID();
+    private final UUID providerServiceId = UUID.randomUUID();
+    private final LocalDate slotDate = LocalDate.now().plusDays(30);
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO provider.provider (id, org_id, name, display_name, created_at) " +
+                    "VALUES (?, ?, 'Benchmark Provider', 'Benchmark Provider', now())", providerId, orgId);
+            jdbcTemplate.update("INSERT INTO provider.provider_service (id, org_id, provider_id, category_id, title, duration) " +
+                    "VALUES (?, ?, ?, ?, 'Benchmark Service', 15)", providerServiceId, orgId, providerId, UUID.randomUUID());
+
+            List<Object[]> rows = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                LocalTime start = LocalTime.MIN.plusSeconds(i);
+                rows.add(new Object[]{UUID.randomUUID(), orgId, providerId, providerServiceId,
+                        Date.valueOf(slotDate), Time.valueOf(start), Time.valueOf(start.plusSeconds(1))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO provider.slots (id, org_id, provider_id, provider_service_id, " +
+                    "slot_date, start_time, end_time, duration_minutes, capacity, booked_count, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, 15, 1, 0, 'AVAILABLE')", rows);
+        });
+    }
+
+    @AfterAll
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM provider.slots WHERE provider_service_id = ?", providerServiceId);
+            jdbcTemplate.update("DELETE FROM provider.provider_service WHERE id = ?", providerServiceId);
+            jdbcTemplate.update("DELETE FROM provider.provider WHERE id = ?", providerId);
+        });
+    }
+
+    @Test
+    void compareEntityAndProjectionListing() {
+        // Previous path: managed entities in a read-write transaction, mapped by hand
+        Result entityPath = measure("entity + SlotMapper", () -> transactionTemplate.execute(status -> {
+            List<Slot> slots = slotRepository.findAllSlotsForTheDate(providerServiceId, slotDate);
+            return slotMapper.toResponseDtoList(slots);
+        }));
+
+        // Projection path: read-only transaction selecting straight into the DTO
+        Result projectionPath = measure("projection", () -> readOnly(() ->
+                slotRepository.findAllSlotResponsesForTheDate(providerServiceId, slotDate)));
+
+        System.out.println(entityPath);
+        System.out.println(projectionPath);
+        System.out.printf("allocation ratio: %.2f, latency ratio: %.2f%n",
+                (double) entityPath.bytesPerOp() / projectionPath.bytesPerOp(),
+                entityPath.millisPerOp() / projectionPath.millisPerOp());
+    }
+
+    private List<SlotResponseDto> readOnly(Supplier<List<SlotResponseDto>> query) {
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+        return readOnlyTemplate.execute(status -> query.get());
+    }
+
+    private Result measure(String name, Supplier<List<SlotResponseDto>> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(operation.get()).hasSize(ROWS);
+        }
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Result(name, elapsed / 1_000_000.0 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    private record Result(String name, double millisPerOp, long bytesPerOp) {
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %10.2f ms/op %14d bytes/op (%d rows)", name, millisPerOp, bytesPerOp, ROWS);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.serviq.provider.benchmark;
+
+import com.serviq.provider.config.KafkaProducerConfig;
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.events.publisher.PublisherMetrics;
+import com.serviq.provider.events.publisher.ServiceEventPublisher;
+import com.serviq.provider.events.schema.ServiceEventSchemaIds;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link ServiceEventPublisher} against an in-process Kafka broker,
+ * with schema ids from a mock registry, through the producer built by
+ * {@link KafkaProducerConfig} with linger, batch size and in-flight settings
+ * varied per run. Reports throughput, p99 send latency and how full the
+ * batches were. Run with {@code ./gradlew benchmark}, results are printed to
+ * stdout.
+ * <p>
+ * {@code -Dbenchmark.publisher.events} sets the events per run and
+ * {@code -Dbenchmark.publisher.rate} the offered rate per second, 0 sends as
+ * fast as the producer takes them.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Publisher throughput benchmark")
+public class PublisherThroughputBenchmarkTest {
+
+    private static final String TOPIC = "benchmark.service.events";
+    private static final int PARTITIONS = 6;
+    private static final int SERVICES = 2_000;
+    private static final int WARMUP_EVENTS = 5_000;
+    private static final int EVENTS = Integer.getInteger("benchmark.publisher.events", 50_000);
+    private static final int RATE = Integer.getInteger("benchmark.publisher.rate", 0);
+
+    private static final List<Settings> SETTINGS = List.of(
+            new Settings(0, 16_384, 1),
+            new Settings(10, 16_384, 1),
+            new Settings(10, 65_536, 5),
+            new Settings(50, 262_144, 5));
+
+    @TempDir
+    private Path tempDir;
+
+    private EmbeddedKafkaBroker broker;
+    private ServiceEventSchemaIds schemaIds;
+    private final ServiceEventMapper eventMapper = new ServiceEventMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UUID> serviceIds = new ArrayList<>(SERVICES);
+
+    @BeforeAll
+    void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+        schemaIds = new ServiceEventSchemaIds(new MockSchemaRegistryClient(), TOPIC, TOPIC + ".snapshots",
+                null, true, true, tempDir.resolve("schema-ids.properties"));
+        schemaIds.resolveAll();
+        for (int i = 0; i < SERVICES; i++) {
+            serviceIds.add(UUID.randomUUID());
+        }
+    }
+
+    @AfterAll
+    void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void comparePublisherSettings() throws Exception {
+        System.out.printf("%d events per run, offered rate %s%n", EVENTS, RATE > 0 ? RATE + "/s" : "unbounded");
+        List<Result> results = new ArrayList<>(SETTINGS.size());
+        for (Settings settings : SETTINGS) {
+            results.add(measure(settings));
+            System.out.println(results.getLast());
+        }
+        assertThat(results).allSatisfy(result -> assertThat(result.eventsPerSecond()).isPositive());
+    }
+
+    private Result measure(Settings settings) throws Exception {
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig();
+        ReflectionTestUtils.setField(producerConfig, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(producerConfig, "maxBlock", Duration.ofSeconds(5));
+        DefaultKafkaProducerFactory<String, Object> producerFactory =
+                (DefaultKafkaProducerFactory<String, Object>) producerConfig.producerFactory(schemaIds, meterRegistry);
+        producerFactory.updateConfigs(Map.<String, Object>of(
+                ProducerConfig.LINGER_MS_CONFIG, settings.lingerMs(),
+                ProducerConfig.BATCH_SIZE_CONFIG, settings.batchSize(),
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, settings.maxInFlight()));
+        KafkaTemplate<String, Object> kafkaTemplate = producerConfig.kafkaTemplate(producerFactory);
+        ServiceEventPublisher publisher = new ServiceEventPublisher(kafkaTemplate, eventMapper,
+                new PublisherMetrics(meterRegistry, 10));
+        ReflectionTestUtils.setField(publisher, "topic", TOPIC);
+
+        try {
+            Random random = new Random(42);
+            publish(publisher, random, WARMUP_EVENTS, new long[WARMUP_EVENTS]);
+
+            long[] latencies = new long[EVENTS];
+            long started = System.nanoTime();
+            publish(publisher, random, EVENTS, latencies);
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            double batchSizeAvg = metric(kafkaTemplate, "batch-size-avg");
+            return new Result(settings,
+                    EVENTS / (elapsed / 1_000_000_000.0),
+                    latencies[(int) (EVENTS * 0.50)] / 1_000_000.0,
+                    latencies[(int) (EVENTS * 0.99)] / 1_000_000.0,
+                    batchSizeAvg / settings.batchSize(),
+                    metric(kafkaTemplate, "records-per-request-avg"));
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    // Sends at the offered rate and waits for every acknowledgement, recording each send to ack latency
+    private void publish(ServiceEventPublisher publisher, Random random, int events, long[] latencies)
+            throws Exception {
+        long nanosPerEvent = RATE > 0 ? TimeUnit.SECONDS.toNanos(1) / RATE : 0;
+        long next = System.nanoTime();
+        List<CompletableFuture<?>> futures = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            if (nanosPerEvent > 0) {
+                next += nanosPerEvent;
+                LockSupport.parkNanos(next - System.nanoTime());
+            }
+            int index = i;
+            long sent = System.nanoTime();
+            futures.add(publisher.send(event(random))
+                    .whenComplete((result, ex) -> latencies[index] = System.nanoTime() - sent));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+    }
+
+    private ServiceEventDto event(Random random) {
+        return ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, serviceIds.get(random.nextInt(SERVICES)))
+                .price(BigDecimal.valueOf(random.nextInt(500_000), 2))
+                .currency("INR")
+                .changedFields(List.of(ServiceEventFields.PRICE, ServiceEventFields.CURRENCY))
+                .build();
+    }
+
+    private static double metric(KafkaTemplate<String, Object> kafkaTemplate, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : kafkaTemplate.metrics().entrySet()) {
+            if (entry.getKey().name().equals(name) && entry.getKey().group().equals("producer-metrics")) {
+                return ((Number) entry.getValue().metricValue()).doubleValue();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private record Settings(int lingerMs, int batchSize, int maxInFlight) {
+    }
+
+    private record Result(Settings settings, double eventsPerSecond, double p50Millis, double p99Millis,
+                          double batchFill, double recordsPerRequest) {
+
+        @Override
+        public String toString() {
+            return String.format("linger.ms=%-3d batch.size=%-7d in-flight=%d  %10.0f events/s  p50 %7.2f ms  "
+                            + "p99 %7.2f ms  batch fill %5.1f%%  %6.1f records/request",
+                    settings.lingerMs(), settings.batchSize(), settings.maxInFlight(), eventsPerSecond,
+                    p50Millis, p99Millis, batchFill * 100, recordsPerRequest);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.serviq.provider.benchmark;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.service.events.ServiceEvent;
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serialized size and encode/decode cost of service events under the
+ * string-typed legacy schema, the typed fields alone with decimal,
+ * timestamp-millis and double types, and the current schema that still writes
+ * the deprecated string fields beside them, on 10k full events. Run with
+ * {@code ./gradlew benchmark}, results are printed to stdout.
+ */
+@Tag("benchmark")
+@DisplayName("Service event encoding benchmark")
+public class ServiceEventEncodingBenchmarkTest {
+
+    private static final int EVENTS = 10_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private final ServiceEventMapper eventMapper = new ServiceEventMapper();
+
+    @Test
+    void compareLegacyAndLogicalTypeEncoding() throws IOException {
+        Schema legacySchema = legacySchema();
+        List<ServiceEventDto> events = events(new Random(42));
+        List<GenericRecord> legacyRecords = events.stream().map(event -> toLegacyRecord(legacySchema, event)).toList();
+        List<ServiceEvent> records = events.stream().map(eventMapper::toServiceEventAvro).toList();
+        Schema typedSchema = typedSchema();
+        List<GenericRecord> typedRecords = records.stream().map(record -> toTypedRecord(typedSchema, record)).toList();
+
+        // Same conversions the producer gets from avro.use.logical.type.converters
+        SpecificData specificData = new SpecificData();
+        specificData.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        specificData.addLogicalTypeConversion(new TimeConversions.TimestampMillisConversion());
+        GenericData genericData = new GenericData();
+        genericData.addLogicalTypeConversion(new Conversions.DecimalConversion());
+        genericData.addLogicalTypeConversion(new TimeConversions.TimestampMillisConversion());
+
+        Result legacy = measure("legacy strings", legacyRecords,
+                new GenericDatumWriter<>(legacySchema), new GenericDatumReader<>(legacySchema));
+        Result logical = measure("logical types", typedRecords,
+                new GenericDatumWriter<>(typedSchema, genericData),
+                new GenericDatumReader<>(typedSchema, typedSchema, genericData));
+        Result current = measure("current schema", records,
+                new SpecificDatumWriter<>(ServiceEvent.getClassSchema(), specificData),
+                new SpecificDatumReader<>(ServiceEvent.getClassSchema(), ServiceEvent.getClassSchema(), specificData));
+
+        System.out.println(legacy);
+        System.out.println(logical);
+        System.out.println(current);
+        System.out.printf("size ratio: %.2f, encode ratio: %.2f, decode ratio: %.2f%n",
+                legacy.bytesPerEvent() / logical.bytesPerEvent(),
+                legacy.encodeNanosPerEvent() / logical.encodeNanosPerEvent(),
+                legacy.decodeNanosPerEvent() / logical.decodeNanosPerEvent());
+        assertThat(logical.bytesPerEvent()).isLessThan(legacy.bytesPerEvent());
+    }
+
+    private <T> Result measure(String name, List<T> records, DatumWriter<T> writer, DatumReader<T> reader) {
+        List<byte[]> encoded = new ArrayList<>(records.size());
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            encoded = encodeAll(records, writer);
+            assertThat(decodeAll(encoded, reader)).isEqualTo(records.size());
+        }
+
+        long encodeStarted = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            encoded = encodeAll(records, writer);
+        }
+        long encodeNanos = System.nanoTime() - encodeStarted;
+
+        long decodeStarted = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            decodeAll(encoded, reader);
+        }
+        long decodeNanos = System.nanoTime() - decodeStarted;
+
+        long totalBytes = encoded.stream().mapToLong(bytes -> bytes.length).sum();
+        double operations = (double) MEASURED_ITERATIONS * records.size();
+        return new Result(name, (double) totalBytes / records.size(), encodeNanos / operations, decodeNanos / operations);
+    }
+
+    private <T> List<byte[]> encodeAll(List<T> records, DatumWriter<T> writer) {
+        List<byte[]> encoded = new ArrayList<>(records.size());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        BinaryEncoder encoder = null;
+        try {
+            for (T record : records) {
+                out.reset();
+                encoder = EncoderFactory.get().binaryEncoder(out, encoder);
+                writer.write(record, encoder);
+                encoder.flush();
+                encoded.add(out.toByteArray());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded;
+    }
+
+    private <T> int decodeAll(List<byte[]> encoded, DatumReader<T> reader) {
+        BinaryDecoder decoder = null;
+        int decoded = 0;
+        try {
+            for (byte[] bytes : encoded) {
+                decoder = DecoderFactory.get().binaryDecoder(bytes, decoder);
+                if (reader.read(null, decoder) != null) {
+                    decoded++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return decoded;
+    }
+
+    private List<ServiceEventDto> events(Random random) {
+        List<ServiceEventDto> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(ServiceEventDto.forService(ServiceEventType.SERVICE_CREATED, UUID.randomUUID())
+                    .orgId(UUID.randomUUID().toString())
+                    .title("Benchmark Service " + i)
+                    .categoryId(UUID.randomUUID().toString())
+                    .category("HealthCare")
+                    .providerId(UUID.randomUUID().toString())
+                    .providerName("Benchmark Provider " + random.nextInt(1_000))
+                    .primaryLocation("Clinic " + random.nextInt(100))
+                    .locations(List.of("Clinic " + random.nextInt(100), "Clinic " + random.nextInt(100)))
+                    .duration(15 * (1 + random.nextInt(8)))
+                    .unit("MINUTES")
+                    .price(BigDecimal.valueOf(random.nextInt(500_000), 2))
+                    .currency("INR")
+                    .latitude(coordinate(random, 90))
+                    .longitude(coordinate(random, 180))
+                    .isActive(true)
+                    .build());
+        }
+        return events;
+    }
+
+    // Six decimals, as stored in the location columns
+    private static double coordinate(Random random, int bound) {
+        return BigDecimal.valueOf(random.nextDouble(-bound, bound)).setScale(6, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    // What the mapper used to write: toString of the price and coordinates, Date.toString of the timestamp
+    private static GenericRecord toLegacyRecord(Schema schema, ServiceEventDto event) {
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("eventId", event.getEventId());
+        record.put("eventType", event.getEventType());
+        record.put("occurredOn", String.valueOf(Date.from(event.getOccurredOn())));
+        record.put("orgId", event.getOrgId());
+        record.put("serviceId", event.getServiceId());
+        record.put("title", event.getTitle());
+        record.put("categoryId", event.getCategoryId());
+        record.put("category", event.getCategory());
+        record.put("providerId", event.getProviderId());
+        record.put("providerName", event.getProviderName());
+        record.put("primaryLocation", event.getPrimaryLocation());
+        record.put("locations", event.getLocations());
+        record.put("duration", event.getDuration());
+        record.put("unit", event.getUnit());
+        record.put("price", event.getPrice().toString());
+        record.put("currency", event.getCurrency());
+        record.put("latitude", BigDecimal.valueOf(event.getLatitude()).toString());
+        record.put("longitude", BigDecimal.valueOf(event.getLongitude()).toString());
+        record.put("isActive", event.getIsActive());
+        record.put("changedFields", event.getChangedFields());
+        return record;
+    }
+
+    // The current schema without its deprecated fields, what it becomes once no consumer reads them
+    private static Schema typedSchema() {
+        Schema current = ServiceEvent.getClassSchema();
+        List<Schema.Field> fields = current.getFields().stream()
+                .filter(field -> field.doc() == null || !field.doc().startsWith("Deprecated"))
+                .map(field -> new Schema.Field(field, field.schema()))
+                .toList();
+        return Schema.createRecord(current.getName(), current.getDoc(), current.getNamespace(), false, fields);
+    }
+
+    private static GenericRecord toTypedRecord(Schema schema, SpecificRecord event) {
+        GenericData.Record record = new GenericData.Record(schema);
+        for (Schema.Field field : schema.getFields()) {
+            record.put(field.name(), event.get(ServiceEvent.getClassSchema().getField(field.name()).pos()));
+        }
+        return record;
+    }
+
+    private static Schema legacySchema() throws IOException {
+        try (InputStream in = ServiceEventEncodingBenchmarkTest.class.getResourceAsStream("/avro/service-event-legacy.avsc")) {
+            return new Schema.Parser().parse(in);
+        }
+    }
+
+    private record Result(String name, double bytesPerEvent, double encodeNanosPerEvent, double decodeNanosPerEvent) {
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %8.1f bytes/event %10.1f ns encode %10.1f ns decode (%d events)",
+                    name, bytesPerEvent, encodeNanosPerEvent, decodeNanosPerEvent, EVENTS);
+        }
+    }
+}
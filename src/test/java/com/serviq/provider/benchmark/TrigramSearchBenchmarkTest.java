@@ -0,0 +1,136 @@
+package com.serviq.provider.benchmark;
+
+import com.serviq.provider.repository.ProviderServiceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the previous {@code LOWER(title) LIKE '%term%'} search against the
+ * pg_trgm ranked search on one million services. Each operation is a page of
+ * 20 plus its count, like the endpoint. Run with {@code ./gradlew benchmark},
+ * results are printed to stdout.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Trigram search benchmark")
+public class TrigramSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 25;
+
+    // exact word, partial word, two words and a typo
+    private static final List<String> TERMS = List.of("cardiology", "physio", "dental checkup", "dermatolgy");
+
+    private static final String LIKE_PAGE = "SELECT ps.id FROM provider.provider_service ps " +
+            "WHERE LOWER(ps.title) LIKE LOWER(CONCAT('%', ?, '%')) AND ps.is_active = true LIMIT ?";
+    private static final String LIKE_COUNT = "SELECT COUNT(*) FROM provider.provider_service ps " +
+            "WHERE LOWER(ps.title) LIKE LOWER(CONCAT('%', ?, '%')) AND ps.is_active = true";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProviderServiceRepository providerServiceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID providerId = UUID.randomUUID();
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO provider.provider (id, org_id, name, display_name, created_at) " +
+                    "VALUES (?, ?, 'Search Benchmark Provider', 'Search Benchmark Provider', now())", providerId, orgId);
+            jdbcTemplate.update("INSERT INTO provider.provider_service (id, org_id, provider_id, category_id, title, duration, is_active) " +
+                    "SELECT gen_random_uuid(), ?, ?, ?, " +
+                    "(ARRAY['Advanced','Basic','Family','Express','Premium','Senior','Pediatric','Holistic'])[1 + g % 8] || ' ' || " +
+                    "(ARRAY['Dental','Physiotherapy','Cardiology','Dermatology','Hair','Yoga','Nutrition','Massage','Eye','Orthopedic'])[1 + (g / 8) % 10] || ' ' || " +
+                    "(ARRAY['Consultation','Checkup','Therapy','Cleaning','Session','Screening','Treatment'])[1 + (g / 80) % 7] || ' ' || g, " +
+                    "30, true FROM generate_series(1, ?) g", orgId, providerId, UUID.randomUUID(), ROWS);
+        });
+        jdbcTemplate.execute("ANALYZE provider.provider_service");
+    }
+
+    @AfterAll
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM provider.provider_service WHERE org_id = ?", orgId);
+            jdbcTemplate.update("DELETE FROM provider.provider WHERE id = ?", providerId);
+        });
+    }
+
+    @Test
+    void compareLikeAndTrigramSearch() {
+        for (String term : TERMS) {
+            Result like = measure("LIKE '%" + term + "%'", () -> readOnly(() -> {
+                jdbcTemplate.queryForList(LIKE_PAGE, UUID.class, term, PAGE_SIZE);
+                return jdbcTemplate.queryForObject(LIKE_COUNT, Long.class, term).intValue();
+            }));
+            Result trigram = measure("trigram '" + term + "'", () -> readOnly(() ->
+                    (int) providerServiceRepository.searchIdsByTitle(term, PageRequest.of(0, PAGE_SIZE)).getTotalElements()));
+
+            System.out.println(like);
+            System.out.println(trigram);
+            System.out.printf("p50 ratio: %.2f, p95 ratio: %.2f%n%n",
+                    like.p50() / trigram.p50(), like.p95() / trigram.p95());
+        }
+
+        assertThat(providerServiceRepository.searchIdsByTitle("dermatolgy", PageRequest.of(0, PAGE_SIZE)))
+                .as("typo tolerant match")
+                .isNotEmpty();
+    }
+
+    private int readOnly(IntSupplier query) {
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+        return readOnlyTemplate.execute(status -> query.getAsInt());
+    }
+
+    private Result measure(String name, IntSupplier operation) {
+        int hits = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            hits = operation.getAsInt();
+        }
+
+        double[] millis = new double[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long started = System.nanoTime();
+            operation.getAsInt();
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+
+        return new Result(name, hits, millis[MEASURED_ITERATIONS / 2], millis[(int) (MEASURED_ITERATIONS * 0.95)]);
+    }
+
+    private record Result(String name, int hits, double p50, double p95) {
+
+        @Override
+        public String toString() {
+            return String.format("%-32s %9.2f ms p50 %9.2f ms p95 %8d hits (%d rows)", name, p50, p95, hits, ROWS);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -85,14 +86,27 @@ public class ProviderControllerTest {
 
     @Test
     void getProviderById_Success() throws Exception {
-        when(providerManagementService.getProviderById(testId)).thenReturn(testProviderDTO);
+        when(providerManagementService.getProviderById(testId, null)).thenReturn(testProviderDTO);
 
         mockMvc.perform(get("/api/v1/providers/{id}", testId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(testId.toString()))
                 .andExpect(jsonPath("$.name").value("Test Provider"));
 
-        verify(providerManagementService, times(1)).getProviderById(testId);
+        verify(providerManagementService, times(1)).getProviderById(testId, null);
+    }
+
+    @Test
+    void getProviderById_WithIncludes_PassesIncludes() throws Exception {
+        when(providerManagementService.getProviderById(testId, Set.of("contacts", "locations")))
+                .thenReturn(testProviderDTO);
+
+        mockMvc.perform(get("/api/v1/providers/{id}", testId)
+                        .param("include", "contacts,locations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testId.toString()));
+
+        verify(providerManagementService, times(1)).getProviderById(testId, Set.of("contacts", "locations"));
     }
 
     @Test
@@ -0,0 +1,72 @@
+package com.serviq.provider.controller;
+
+import com.serviq.provider.dto.response.ServiceSearchResponse;
+import com.serviq.provider.search.ServiceSearchIndex;
+import com.serviq.provider.search.ServiceSearchQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ServiceSearchController.class, properties = "search.embedded.enabled=true")
+public class ServiceSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ServiceSearchIndex serviceSearchIndex;
+
+    @Test
+    void searchServices_Success() throws Exception {
+        when(serviceSearchIndex.search(any(ServiceSearchQuery.class))).thenReturn(ServiceSearchResponse.builder()
+                .hits(List.of())
+                .page(1)
+                .size(10)
+                .facets(Map.of())
+                .build());
+
+        mockMvc.perform(get("/api/v1/search/services")
+                        .param("q", "physio")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.size").value(10));
+
+        verify(serviceSearchIndex, times(1))
+                .search(new ServiceSearchQuery("physio", null, null, null, null, null, 1, 10));
+    }
+
+    @Test
+    void searchServices_NegativePage_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/search/services")
+                        .param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("CONSTRAINT_VIOLATION"));
+
+        verifyNoInteractions(serviceSearchIndex);
+    }
+
+    @Test
+    void searchServices_SizeAboveCap_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/search/services")
+                        .param("size", String.valueOf(ServiceSearchQuery.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/search/services")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(serviceSearchIndex);
+    }
+}
@@ -0,0 +1,100 @@
+package com.serviq.provider.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serviq.provider.dto.request.BulkUpdateSlotStatusRequestDto;
+import com.serviq.provider.dto.response.BulkSlotStatusUpdateResponseDto;
+import com.serviq.provider.entity.enums.SlotStatus;
+import com.serviq.provider.service.SlotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SlotController.class)
+public class SlotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private SlotService slotService;
+
+    @Test
+    void bulkUpdateSlotStatus_Success() throws Exception {
+        BulkUpdateSlotStatusRequestDto request = validRequest();
+        when(slotService.bulkUpdateSlotStatus(any())).thenReturn(BulkSlotStatusUpdateResponseDto.builder()
+                .status(SlotStatus.BLOCKED)
+                .updatedCount(12)
+                .build());
+
+        mockMvc.perform(patch("/api/v1/slots/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("BLOCKED"))
+                .andExpect(jsonPath("$.updatedCount").value(12));
+
+        verify(slotService, times(1)).bulkUpdateSlotStatus(request);
+    }
+
+    @Test
+    void bulkUpdateSlotStatus_MissingFields_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/slots/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BulkUpdateSlotStatusRequestDto.builder().build())))
+                .andExpect(status().isBadRequest());
+
+        verify(slotService, never()).bulkUpdateSlotStatus(any());
+    }
+
+    @Test
+    void bulkUpdateSlotStatus_EndDateBeforeStartDate_ReturnsBadRequest() throws Exception {
+        BulkUpdateSlotStatusRequestDto request = validRequest();
+        request.setEndDate(request.getStartDate().minusDays(1));
+
+        mockMvc.perform(patch("/api/v1/slots/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(slotService, never()).bulkUpdateSlotStatus(any());
+    }
+
+    @Test
+    void bulkUpdateSlotStatus_EndTimeBeforeStartTime_ReturnsBadRequest() throws Exception {
+        BulkUpdateSlotStatusRequestDto request = validRequest();
+        request.setStartTime(LocalTime.of(14, 0));
+        request.setEndTime(LocalTime.of(9, 0));
+
+        mockMvc.perform(patch("/api/v1/slots/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(slotService, never()).bulkUpdateSlotStatus(any());
+    }
+
+    private static BulkUpdateSlotStatusRequestDto validRequest() {
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        return BulkUpdateSlotStatusRequestDto.builder()
+                .providerId(UUID.randomUUID())
+                .startDate(startDate)
+                .endDate(startDate.plusDays(6))
+                .status(SlotStatus.BLOCKED)
+                .build();
+    }
+}
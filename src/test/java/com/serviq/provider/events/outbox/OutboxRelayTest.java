@@ -0,0 +1,401 @@
+package com.serviq.provider.events.outbox;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.projection.OutboxBacklog;
+import com.serviq.provider.entity.ServiceEventOutbox;
+import com.serviq.provider.events.schema.SchemaRegistryUnavailableException;
+import com.serviq.provider.events.schema.ServiceEventSchemaIds;
+import com.serviq.provider.events.publisher.ServiceEventPublisher;
+import com.serviq.provider.events.publisher.ServiceSnapshotPublisher;
+import com.serviq.provider.exception.EventPublishException;
+import com.serviq.provider.repository.ServiceEventOutboxRepository;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.NetworkException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("OutboxRelay tests")
+class OutboxRelayTest {
+
+    private final ServiceEventOutboxRepository outboxRepository = mock(ServiceEventOutboxRepository.class);
+    private final ServiceEventPublisher serviceEventPublisher = mock(ServiceEventPublisher.class);
+    private final ServiceSnapshotPublisher serviceSnapshotPublisher = mock(ServiceSnapshotPublisher.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    private Path tempDir;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(outboxRepository.findBacklog()).thenReturn(new OutboxBacklog(0L, null));
+        relay = relay(new BrokerCircuitBreaker(3, Duration.ofHours(1)), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send a batch, flush once and delete every confirmed event")
+    void shouldDeleteConfirmedBatch() {
+        // Given
+        List<ServiceEventOutbox> batch = List.of(outbox(1L), outbox(2L));
+        when(outboxRepository.lockNextBatch(3)).thenReturn(batch);
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(serviceEventPublisher, times(2)).send(any());
+        verify(serviceEventPublisher, times(1)).flush();
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 2L));
+        assertThat(meterRegistry.get("outbox.relay.events").tag("outcome", "sent").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep events from the first failed send onwards for the next run")
+    void shouldKeepUnconfirmedEvents() {
+        // Given
+        List<ServiceEventOutbox> batch = List.of(outbox(1L), outbox(2L), outbox(3L));
+        when(outboxRepository.lockNextBatch(3)).thenReturn(batch);
+        when(serviceEventPublisher.send(any())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new NetworkException("broker down")),
+                CompletableFuture.completedFuture(null));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        // A short batch ends the run
+        verify(outboxRepository, times(1)).lockNextBatch(3);
+        assertThat(meterRegistry.get("outbox.relay.events").tag("outcome", "retried").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should snapshot each service once and keep the batch when a snapshot is not confirmed")
+    void shouldKeepBatchWhenSnapshotFails() {
+        // Given
+        ServiceEventOutbox first = outbox(1L);
+        ServiceEventOutbox second = outbox(2L);
+        second.setServiceId(first.getServiceId());
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(first, second));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(serviceSnapshotPublisher.publishCurrentState(any()))
+                .thenReturn(List.of(CompletableFuture.failedFuture(new NetworkException("broker down"))));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(serviceSnapshotPublisher).publishCurrentState(new LinkedHashSet<>(List.of(first.getServiceId())));
+        verify(outboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should charge a snapshot that cannot be built to its service's rows and delete the rest")
+    void shouldChargeSnapshotFailureToItsService() {
+        // Given
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(3, Duration.ofHours(1));
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        ServiceEventOutbox broken = outbox(1L);
+        ServiceEventOutbox other = outbox(2L);
+        ServiceEventOutbox brokenAgain = outbox(3L);
+        brokenAgain.setServiceId(broken.getServiceId());
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(broken, other, brokenAgain));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(serviceSnapshotPublisher.publishCurrentState(any())).thenReturn(List.of(
+                CompletableFuture.failedFuture(new IllegalStateException("cannot map service")),
+                CompletableFuture.completedFuture(null)));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).deleteByIdIn(List.of(2L));
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(1L, 3L)), contains("cannot map service"));
+        verify(outboxRepository).moveToDeadLetter(List.of(1L, 3L), 2);
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should not count a batch that deleted nothing as a success for the circuit")
+    void shouldNotRecordSuccessWhenNothingDeleted() {
+        // Given
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(2, Duration.ofHours(1));
+        circuitBreaker.recordFailure();
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(outbox(1L)));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(serviceSnapshotPublisher.publishCurrentState(any())).thenReturn(List.of(
+                CompletableFuture.failedFuture(new IllegalStateException("cannot map service"))));
+
+        // When
+        relay.relay();
+        circuitBreaker.recordFailure();
+
+        // Then
+        verify(outboxRepository, never()).deleteByIdIn(any());
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(1L)), contains("cannot map service"));
+        // The failure before the run still counts, so one more opens the circuit
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should not touch the outbox when the relay is disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        relay.shutdown();
+        relay = relay(new BrokerCircuitBreaker(3, Duration.ofHours(1)), false);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should leave events in the outbox while the circuit is open")
+    void shouldNotSendWhileCircuitOpen() {
+        // Given
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(1, Duration.ofHours(1));
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        when(outboxRepository.lockNextBatch(anyInt())).thenReturn(List.of(outbox(1L), outbox(2L)));
+        when(serviceEventPublisher.send(any()))
+                .thenReturn(CompletableFuture.failedFuture(new NetworkException("broker down")));
+
+        // When
+        relay.relay();
+        relay.relay();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.OPEN);
+        // The first send failed straight away, the second event was never handed over
+        verify(serviceEventPublisher, times(1)).send(any());
+        verify(outboxRepository, times(1)).lockNextBatch(anyInt());
+        verify(outboxRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should probe with one event after the open duration and drain once the broker is back")
+    void shouldProbeAndCloseCircuit() {
+        // Given
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(1, Duration.ZERO);
+        circuitBreaker.recordFailure();
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        when(outboxRepository.lockNextBatch(1)).thenReturn(List.of(outbox(1L)));
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(outbox(2L), outbox(3L)));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.relay();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.CLOSED);
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        verify(outboxRepository).deleteByIdIn(List.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should send the settled events of one service as a single event and count the ones saved")
+    void shouldCoalesceEventsOfOneService() {
+        // Given
+        relay.shutdown();
+        relay = new OutboxRelay(outboxRepository, serviceEventPublisher, serviceSnapshotPublisher,
+                transactionTemplate, new BrokerCircuitBreaker(3, Duration.ofHours(1)),
+                meterRegistry, 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(2), Duration.ofSeconds(10), true);
+        ServiceEventOutbox first = outbox(1L);
+        ServiceEventOutbox other = outbox(2L);
+        ServiceEventOutbox second = outbox(3L);
+        second.setServiceId(first.getServiceId());
+        second.setPayload(ServiceEventDto.builder().serviceId(first.getServiceId().toString())
+                .eventType("SERVICE_UPDATED").title("Renamed").changedFields(List.of("title")).build());
+        when(outboxRepository.lockNextSettledBatch(3, 2_000, 10_000)).thenReturn(List.of(first, other, second));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay.relay();
+
+        // Then
+        ArgumentCaptor<ServiceEventDto> sent = ArgumentCaptor.forClass(ServiceEventDto.class);
+        verify(serviceEventPublisher, times(2)).send(sent.capture());
+        assertThat(sent.getAllValues()).extracting(ServiceEventDto::getServiceId, ServiceEventDto::getEventType,
+                        ServiceEventDto::getTitle)
+                .containsExactly(tuple(first.getServiceId().toString(), "SERVICE_CREATED", "Renamed"),
+                        tuple(other.getServiceId().toString(), "SERVICE_CREATED", null));
+        verify(outboxRepository).deleteByIdIn(List.of(1L, 3L, 2L));
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+        assertThat(meterRegistry.get("outbox.relay.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave a commit to the fixed delay runs while coalescing")
+    void shouldNotRunAfterCommitWhileCoalescing() {
+        // Given
+        relay.shutdown();
+        relay = new OutboxRelay(outboxRepository, serviceEventPublisher, serviceSnapshotPublisher,
+                transactionTemplate, new BrokerCircuitBreaker(3, Duration.ofHours(1)),
+                meterRegistry, 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(2), Duration.ofSeconds(10), true);
+
+        // When
+        relay.onEventRecorded(new OutboxEventRecorded(UUID.randomUUID()));
+
+        // Then
+        verify(outboxRepository, after(200).never()).lockNextSettledBatch(anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should charge a failure the broker had no part in to the event, not to the circuit")
+    void shouldRecordAttemptForNonBrokerFailure() {
+        // Given
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(1, Duration.ofHours(1));
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(outbox(1L), outbox(2L)));
+        when(serviceEventPublisher.send(any())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new SerializationException("cannot serialize")));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).deleteByIdIn(List.of(1L));
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(2L)), contains("cannot serialize"));
+        verify(outboxRepository).moveToDeadLetter(List.of(2L), 2);
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should move an event past the attempt cap to the dead letter table and keep draining")
+    void shouldDeadLetterPoisonEvent() {
+        // Given
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(outbox(1L), outbox(2L)));
+        when(serviceEventPublisher.send(any())).thenThrow(new EventPublishException("Failed to publish service event",
+                new IllegalArgumentException("bad payload")));
+        when(outboxRepository.moveToDeadLetter(List.of(1L), 2)).thenReturn(1);
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outboxRepository).recordFailedAttempt(eq(List.of(1L)), contains("bad payload"));
+        verify(outboxRepository, never()).deleteByIdIn(any());
+        assertThat(meterRegistry.get("outbox.relay.events").tag("outcome", "dead_lettered").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.relay.events").tag("outcome", "retried").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a schema registry outage against the circuit and charge no event for it")
+    void shouldNotChargeEventsWhileRegistryIsDown() throws Exception {
+        // Given
+        SchemaRegistryClient unavailable = mock(SchemaRegistryClient.class);
+        when(unavailable.register(anyString(), any(ParsedSchema.class))).thenThrow(new IOException("Connection refused"));
+        // A fresh container: nothing resolved at startup and no saved ids
+        ServiceEventSchemaIds schemaIds = new ServiceEventSchemaIds(unavailable, "test.service.events",
+                "test.service.snapshots", null, true, false, tempDir.resolve("schema-ids.properties"));
+        Throwable lookupFailure = catchThrowable(() -> schemaIds.idFor("test.service.events"));
+
+        BrokerCircuitBreaker circuitBreaker = new BrokerCircuitBreaker(2, Duration.ofHours(1));
+        relay.shutdown();
+        relay = relay(circuitBreaker, true);
+        when(outboxRepository.lockNextBatch(3)).thenReturn(List.of(outbox(1L), outbox(2L)));
+        when(serviceEventPublisher.send(any())).thenReturn(CompletableFuture.failedFuture(
+                new KafkaProducerException(null, "Send failed", lookupFailure)));
+
+        // When
+        relay.relay();
+        relay.relay();
+        relay.relay();
+
+        // Then
+        assertThat(lookupFailure).isInstanceOf(SchemaRegistryUnavailableException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(BrokerCircuitBreaker.State.OPEN);
+        verify(outboxRepository, never()).recordFailedAttempt(any(), any());
+        verify(outboxRepository, never()).moveToDeadLetter(any(), anyInt());
+        verify(outboxRepository, never()).deleteByIdIn(any());
+        // The third run found the circuit open
+        verify(outboxRepository, times(2)).lockNextBatch(3);
+    }
+
+    @Test
+    @DisplayName("Should only count timeouts and retriable Kafka and registry errors as broker failures")
+    void shouldClassifyBrokerFailures() {
+        assertThat(OutboxRelay.isBrokerFailure(new java.util.concurrent.TimeoutException())).isTrue();
+        assertThat(OutboxRelay.isBrokerFailure(new KafkaProducerException(null, "send failed",
+                new org.apache.kafka.common.errors.TimeoutException("metadata")))).isTrue();
+        assertThat(OutboxRelay.isBrokerFailure(new EventPublishException("Failed to publish service event",
+                new NetworkException("disconnected")))).isTrue();
+        assertThat(OutboxRelay.isBrokerFailure(new SerializationException("cannot serialize",
+                new SchemaRegistryUnavailableException("registry down", new IOException("refused"))))).isTrue();
+        assertThat(OutboxRelay.isBrokerFailure(new SerializationException("cannot serialize"))).isFalse();
+        assertThat(OutboxRelay.isBrokerFailure(new IllegalArgumentException("bad payload"))).isFalse();
+    }
+
+    private OutboxRelay relay(BrokerCircuitBreaker circuitBreaker, boolean enabled) {
+        return new OutboxRelay(outboxRepository, serviceEventPublisher, serviceSnapshotPublisher,
+                transactionTemplate, circuitBreaker,
+                meterRegistry, 3, Duration.ofSeconds(1), 2, Duration.ZERO, Duration.ZERO, enabled);
+    }
+
+    private static ServiceEventOutbox outbox(Long id) {
+        UUID serviceId = UUID.randomUUID();
+        return ServiceEventOutbox.builder()
+                .id(id)
+                .serviceId(serviceId)
+                .eventType("SERVICE_CREATED")
+                .payload(ServiceEventDto.builder().serviceId(serviceId.toString()).eventType("SERVICE_CREATED").build())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.serviq.provider.events.outbox;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ServiceEventCoalescer tests")
+class ServiceEventCoalescerTest {
+
+    private final UUID serviceId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should merge deltas into one update with the latest value of every changed field")
+    void shouldMergeDeltas() {
+        // Given
+        ServiceEventDto repriced = delta(ServiceEventType.SERVICE_UPDATED, ServiceEventFields.PRICE)
+                .price(new BigDecimal("10.00")).build();
+        ServiceEventDto deactivated = delta(ServiceEventType.SERVICE_DEACTIVATED, ServiceEventFields.IS_ACTIVE)
+                .isActive(false).build();
+        ServiceEventDto repricedAgain = delta(ServiceEventType.SERVICE_UPDATED, ServiceEventFields.PRICE)
+                .price(new BigDecimal("12.50")).build();
+
+        // When
+        ServiceEventDto merged = ServiceEventCoalescer.coalesce(List.of(repriced, deactivated, repricedAgain));
+
+        // Then
+        assertThat(merged.getEventType()).isEqualTo(ServiceEventType.SERVICE_UPDATED.name());
+        assertThat(merged.getPrice()).isEqualByComparingTo("12.50");
+        assertThat(merged.getIsActive()).isFalse();
+        assertThat(merged.getChangedFields()).containsExactly(ServiceEventFields.PRICE, ServiceEventFields.IS_ACTIVE);
+        assertThat(merged.getOccurredOn()).isEqualTo(repricedAgain.getOccurredOn());
+        assertThat(merged.getEventId()).isNotIn(repriced.getEventId(), deactivated.getEventId(), repricedAgain.getEventId());
+    }
+
+    @Test
+    @DisplayName("Should keep the type when every delta shares it, and a created event stays a full event")
+    void shouldKeepTypeAndFullState() {
+        // Given
+        ServiceEventDto off = delta(ServiceEventType.SERVICE_DEACTIVATED, ServiceEventFields.IS_ACTIVE).isActive(false).build();
+        ServiceEventDto created = ServiceEventDto.forService(ServiceEventType.SERVICE_CREATED, serviceId)
+                .title("Dental checkup").isActive(true).build();
+
+        // When
+        ServiceEventDto toggled = ServiceEventCoalescer.coalesce(List.of(off, off));
+        ServiceEventDto createdThenOff = ServiceEventCoalescer.coalesce(List.of(created, off));
+
+        // Then
+        assertThat(toggled.getEventType()).isEqualTo(ServiceEventType.SERVICE_DEACTIVATED.name());
+        assertThat(createdThenOff.getEventType()).isEqualTo(ServiceEventType.SERVICE_CREATED.name());
+        assertThat(createdThenOff.getTitle()).isEqualTo("Dental checkup");
+        assertThat(createdThenOff.getIsActive()).isFalse();
+        assertThat(createdThenOff.getChangedFields()).isEmpty();
+        // The recorded payload is left as it was
+        assertThat(created.getIsActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should send only the delete when a service is deleted at the end")
+    void shouldLetDeleteWin() {
+        // Given
+        ServiceEventDto deleted = ServiceEventDto.forService(ServiceEventType.SERVICE_DELETED, serviceId).build();
+
+        // When
+        ServiceEventDto result = ServiceEventCoalescer.coalesce(List.of(
+                delta(ServiceEventType.SERVICE_UPDATED, ServiceEventFields.TITLE).title("x").build(), deleted));
+
+        // Then
+        assertThat(result).isSameAs(deleted);
+    }
+
+    @Test
+    @DisplayName("Should know how to merge every field a delta can change")
+    void shouldHandleEveryEventField() {
+        // Given
+        String[] fields = Arrays.stream(ServiceEventFields.class.getFields())
+                .map(ServiceEventCoalescerTest::constantValue)
+                .toArray(String[]::new);
+        ServiceEventDto base = delta(ServiceEventType.SERVICE_UPDATED).build();
+
+        // When
+        ServiceEventDto merged = ServiceEventCoalescer.coalesce(List.of(base, delta(ServiceEventType.SERVICE_UPDATED, fields).build()));
+
+        // Then
+        assertThat(merged.getChangedFields()).containsExactlyInAnyOrder(fields);
+    }
+
+    @Test
+    @DisplayName("Should move coordinates with the primary location and keep them when a change does not carry them")
+    void shouldMergeCoordinatesWithPrimaryLocation() {
+        // Given
+        ServiceEventDto created = ServiceEventDto.forService(ServiceEventType.SERVICE_CREATED, serviceId)
+                .primaryLocation("Clinic A").latitude(12.97).longitude(77.59).build();
+        ServiceEventDto withoutCoordinates = delta(ServiceEventType.SERVICE_LOCATIONS_CHANGED,
+                ServiceEventFields.PRIMARY_LOCATION, ServiceEventFields.LOCATIONS)
+                .primaryLocation("Clinic A").locations(List.of("Clinic A", "Clinic B")).build();
+        ServiceEventDto moved = delta(ServiceEventType.SERVICE_LOCATIONS_CHANGED,
+                ServiceEventFields.PRIMARY_LOCATION, ServiceEventFields.LOCATIONS)
+                .primaryLocation("Clinic B").locations(List.of("Clinic B")).latitude(13.08).longitude(80.27).build();
+        ServiceEventDto noPrimary = delta(ServiceEventType.SERVICE_LOCATIONS_CHANGED,
+                ServiceEventFields.PRIMARY_LOCATION, ServiceEventFields.LOCATIONS)
+                .primaryLocation("").locations(List.of()).build();
+
+        // When
+        ServiceEventDto kept = ServiceEventCoalescer.coalesce(List.of(created, withoutCoordinates));
+        ServiceEventDto relocated = ServiceEventCoalescer.coalesce(List.of(created, moved));
+        ServiceEventDto cleared = ServiceEventCoalescer.coalesce(List.of(created, noPrimary));
+
+        // Then
+        assertThat(kept.getLocations()).containsExactly("Clinic A", "Clinic B");
+        assertThat(kept.getLatitude()).isEqualTo(12.97);
+        assertThat(kept.getLongitude()).isEqualTo(77.59);
+        assertThat(relocated.getPrimaryLocation()).isEqualTo("Clinic B");
+        assertThat(relocated.getLatitude()).isEqualTo(13.08);
+        assertThat(relocated.getLongitude()).isEqualTo(80.27);
+        assertThat(cleared.getLatitude()).isNull();
+        assertThat(cleared.getLongitude()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should take a field it has no rule for from the newer event instead of failing")
+    void shouldPassUnknownFieldsThrough() {
+        // Given
+        String categoryId = UUID.randomUUID().toString();
+        ServiceEventDto repriced = delta(ServiceEventType.SERVICE_UPDATED, ServiceEventFields.PRICE)
+                .price(new BigDecimal("10.00")).build();
+        ServiceEventDto recategorized = delta(ServiceEventType.SERVICE_UPDATED, "categoryId", "notAnEventField")
+                .categoryId(categoryId).build();
+
+        // When
+        ServiceEventDto merged = ServiceEventCoalescer.coalesce(List.of(repriced, recategorized));
+
+        // Then
+        assertThat(merged.getCategoryId()).isEqualTo(categoryId);
+        assertThat(merged.getPrice()).isEqualByComparingTo("10.00");
+        assertThat(merged.getChangedFields()).containsExactly(ServiceEventFields.PRICE, "categoryId", "notAnEventField");
+    }
+
+    private ServiceEventDto.ServiceEventDtoBuilder delta(ServiceEventType type, String... changedFields) {
+        return ServiceEventDto.forService(type, serviceId).changedFields(List.of(changedFields));
+    }
+
+    private static String constantValue(Field field) {
+        try {
+            return (String) field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.serviq.provider.events.publisher;
+
+import com.serviq.provider.dto.response.EventPublisherStatusResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PublisherMetrics tests")
+class PublisherMetricsTest {
+
+    private static final String TOPIC = "test.service.events";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PublisherMetrics metrics = new PublisherMetrics(meterRegistry, 2);
+
+    @Test
+    @DisplayName("Should count published events by type and record latency and record size")
+    void shouldRecordPublishedEvents() {
+        // Given
+        SendResult<String, Object> result = new SendResult<>(new ProducerRecord<>(TOPIC, "key", null),
+                new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 3, 120));
+
+        // When
+        metrics.record(() -> CompletableFuture.completedFuture(result), TOPIC, "SERVICE_UPDATED", "key");
+        metrics.record(() -> CompletableFuture.completedFuture(result), TOPIC, "SERVICE_UPDATED", "key");
+
+        // Then
+        assertThat(meterRegistry.get("service.events").tag("type", "SERVICE_UPDATED").tag("outcome", "published")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("service.events.send").tag("outcome", "published").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("service.events.record.size").summary().totalAmount()).isEqualTo(240);
+        assertThat(metrics.getLastSuccessAt()).isNotNull();
+        assertThat(metrics.getRecentFailures()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the newest failures, including sends that throw")
+    void shouldKeepRecentFailures() {
+        // Given
+        CompletableFuture<SendResult<String, Object>> failed =
+                CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+
+        // When
+        metrics.record(() -> failed, TOPIC, "SERVICE_CREATED", "first");
+        metrics.record(() -> failed, TOPIC, "SERVICE_DELETED", "second");
+        assertThatThrownBy(() -> metrics.record(() -> {
+            throw new IllegalArgumentException("buffer exhausted");
+        }, TOPIC, "SERVICE_UPDATED", "third")).isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(meterRegistry.get("service.events").tag("outcome", "failed").counters()).hasSize(3);
+        assertThat(metrics.getRecentFailures()).extracting(EventPublisherStatusResponse.Failure::getServiceId)
+                .containsExactly("third", "second");
+        assertThat(metrics.getRecentFailures().getFirst().getError())
+                .isEqualTo("IllegalArgumentException: buffer exhausted");
+    }
+
+    @Test
+    @DisplayName("Should derive buffer utilization from the producer metrics once they are bound")
+    void shouldReadProducerBufferMetrics() {
+        // Given
+        assertThat(metrics.bufferUtilization()).isNull();
+        Gauge.builder(PublisherMetrics.BUFFER_TOTAL, () -> 1_000).register(meterRegistry);
+        Gauge.builder(PublisherMetrics.BUFFER_AVAILABLE, () -> 250).register(meterRegistry);
+        Gauge.builder(PublisherMetrics.REQUESTS_IN_FLIGHT, () -> 3).register(meterRegistry);
+
+        // When & Then
+        assertThat(metrics.bufferUtilization()).isEqualTo(0.75);
+        assertThat(metrics.requestsInFlight()).isEqualTo(3);
+        assertThat(metrics.waitingThreads()).isNull();
+        assertThat(meterRegistry.get("service.events.producer.buffer.utilization").gauge().value()).isEqualTo(0.75);
+    }
+}
@@ -0,0 +1,106 @@
+package com.serviq.provider.events.publisher;
+
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import com.serviq.provider.service.events.ServiceEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ServiceSnapshotPublisher tests")
+class ServiceSnapshotPublisherTest {
+
+    private static final String TOPIC = "test.service.snapshots";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ProviderServiceRepository providerServiceRepository = mock(ProviderServiceRepository.class);
+    private final ServiceLocationRepository serviceLocationRepository = mock(ServiceLocationRepository.class);
+
+    private ServiceSnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ServiceSnapshotPublisher(kafkaTemplate, new ServiceEventMapper(),
+                providerServiceRepository, serviceLocationRepository,
+                new PublisherMetrics(new SimpleMeterRegistry(), 10));
+        ReflectionTestUtils.setField(publisher, "topic", TOPIC);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("Should send the full state of existing services and a tombstone for deleted ones")
+    void shouldSendStateAndTombstones() {
+        // Given
+        UUID existing = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        ProviderServiceResponse service = new ProviderServiceResponse(existing, UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), "Provider", "Consultation", null, 30, "MINUTES", new BigDecimal("500.00"), "INR",
+                1, true, Map.of());
+        when(providerServiceRepository.findResponsesByIdIn(List.of(existing, deleted))).thenReturn(List.of(service));
+        when(serviceLocationRepository.findViewsByServiceIds(any())).thenReturn(List.of(
+                new ServiceLocationView(existing, UUID.randomUUID(), "T Nagar", "Chennai", "Tamil Nadu", "India",
+                        "600017", null, null, true, true)));
+
+        // When
+        publisher.publishCurrentState(List.of(existing, deleted));
+
+        // Then
+        ArgumentCaptor<Object> snapshot = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq(existing.toString()), snapshot.capture());
+        ServiceEvent event = (ServiceEvent) snapshot.getValue();
+        assertThat(event.getEventType()).isEqualTo("SERVICE_SNAPSHOT");
+        assertThat(event.getProviderName()).isEqualTo("Provider");
+        assertThat(event.getPrimaryLocation()).isEqualTo("T Nagar");
+        assertThat(event.getLocations()).containsExactly("T Nagar");
+        verify(kafkaTemplate).send(eq(TOPIC), eq(deleted.toString()), isNull());
+    }
+
+    @Test
+    @DisplayName("Should fail only the snapshot of a service that cannot be handed over, in the order given")
+    void shouldFailOneSnapshotWithoutTheOthers() {
+        // Given
+        UUID broken = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        when(providerServiceRepository.findResponsesByIdIn(List.of(broken, deleted))).thenReturn(List.of(
+                new ProviderServiceResponse(broken, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                        "Provider", "Consultation", null, 30, "MINUTES", new BigDecimal("500.00"), "INR", 1, true,
+                        Map.of())));
+        when(kafkaTemplate.send(eq(TOPIC), eq(broken.toString()), any()))
+                .thenThrow(new IllegalStateException("buffer exhausted"));
+
+        // When
+        List<CompletableFuture<SendResult<String, Object>>> futures =
+                publisher.publishCurrentState(List.of(broken, deleted));
+
+        // Then
+        assertThat(futures).hasSize(2);
+        assertThat(futures.get(0)).isCompletedExceptionally();
+        assertThat(futures.get(1)).isCompleted().isNotCompletedExceptionally();
+        verify(kafkaTemplate).send(eq(TOPIC), eq(deleted.toString()), isNull());
+    }
+}
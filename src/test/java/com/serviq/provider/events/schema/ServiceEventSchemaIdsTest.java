@@ -0,0 +1,144 @@
+package com.serviq.provider.events.schema;
+
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.mapper.ServiceEventMapper;
+import com.serviq.provider.service.events.ServiceEvent;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ServiceEventSchemaIds tests")
+class ServiceEventSchemaIdsTest {
+
+    private static final String EVENTS_TOPIC = "test.service.events";
+    private static final String SNAPSHOTS_TOPIC = "test.service.snapshots";
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should register the schema at startup and send without calling the registry again")
+    void shouldResolveIdsAtStartup() throws Exception {
+        // Given
+        SchemaRegistryClient registry = spy(new MockSchemaRegistryClient());
+        ServiceEventSchemaIds schemaIds = schemaIds(registry, null);
+
+        // When
+        schemaIds.afterSingletonsInstantiated();
+        int eventsId = schemaIds.idFor(EVENTS_TOPIC);
+        schemaIds.idFor(SNAPSHOTS_TOPIC);
+        schemaIds.idFor(EVENTS_TOPIC);
+
+        // Then
+        assertThat(eventsId).isEqualTo(registry.getId(EVENTS_TOPIC + "-value", new AvroSchema(ServiceEvent.getClassSchema())));
+        verify(registry, times(2)).register(anyString(), any(ParsedSchema.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the ids saved by an earlier start when the registry is down")
+    void shouldUseSavedIdsWhenRegistryIsDown() throws Exception {
+        // Given
+        MockSchemaRegistryClient registry = new MockSchemaRegistryClient();
+        ServiceEventSchemaIds earlierStart = schemaIds(registry, null);
+        earlierStart.resolveAll();
+        int savedId = earlierStart.idFor(EVENTS_TOPIC);
+
+        SchemaRegistryClient unavailable = mock(SchemaRegistryClient.class);
+        when(unavailable.register(anyString(), any(ParsedSchema.class)))
+                .thenThrow(new IOException("Connection refused"));
+        ServiceEventSchemaIds schemaIds = schemaIds(unavailable, null);
+
+        // When
+        schemaIds.resolveAll();
+
+        // Then
+        assertThat(schemaIds.idFor(EVENTS_TOPIC)).isEqualTo(savedId);
+        assertThat(schemaIds.idFor(SNAPSHOTS_TOPIC)).isEqualTo(savedId);
+        // The first failure skips the registry for the remaining subject
+        verify(unavailable, times(1)).register(anyString(), any(ParsedSchema.class));
+    }
+
+    @Test
+    @DisplayName("Should write pinned ids without any registry lookup and stay readable by the Confluent deserializer")
+    void shouldSerializeWithPinnedId() throws IOException, RestClientException {
+        // Given
+        MockSchemaRegistryClient registry = new MockSchemaRegistryClient();
+        int registeredId = registry.register(EVENTS_TOPIC + "-value", new AvroSchema(ServiceEvent.getClassSchema()));
+        SchemaRegistryClient unused = mock(SchemaRegistryClient.class);
+        ServiceEventSchemaIds schemaIds = schemaIds(unused, registeredId);
+        ServiceEventSerializer serializer = new ServiceEventSerializer(schemaIds);
+        ServiceEvent event = new ServiceEventMapper().toServiceEventAvro(
+                ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, UUID.randomUUID())
+                        .price(new BigDecimal("499.5"))
+                        .changedFields(List.of("price"))
+                        .build());
+
+        // When
+        schemaIds.resolveAll();
+        byte[] bytes = serializer.serialize(EVENTS_TOPIC, event);
+
+        // Then
+        verifyNoInteractions(unused);
+        assertThat(bytes[0]).isZero();
+        assertThat(ByteBuffer.wrap(bytes, 1, 4).getInt()).isEqualTo(registeredId);
+        assertThat(serializer.serialize(SNAPSHOTS_TOPIC, null)).isNull();
+
+        try (KafkaAvroDeserializer deserializer = new KafkaAvroDeserializer(registry, Map.of(
+                "schema.registry.url", "mock://test",
+                "specific.avro.reader", true))) {
+            assertThat(deserializer.deserialize(EVENTS_TOPIC, bytes)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report an unreachable or failing registry as retriable and a refused schema as a serialization error")
+    void shouldClassifyLookupFailures() throws Exception {
+        // Given
+        SchemaRegistryClient registry = mock(SchemaRegistryClient.class);
+        when(registry.register(eq(EVENTS_TOPIC + "-value"), any(ParsedSchema.class)))
+                .thenThrow(new IOException("Connection refused"))
+                .thenThrow(new RestClientException("Internal Server Error", 500, 50001));
+        when(registry.register(eq(SNAPSHOTS_TOPIC + "-value"), any(ParsedSchema.class)))
+                .thenThrow(new RestClientException("Schema being registered is incompatible", 409, 409));
+        ServiceEventSchemaIds schemaIds = schemaIds(registry, null);
+
+        // When & Then
+        assertThatThrownBy(() -> schemaIds.idFor(EVENTS_TOPIC)).isInstanceOf(SchemaRegistryUnavailableException.class);
+        assertThatThrownBy(() -> schemaIds.idFor(EVENTS_TOPIC)).isInstanceOf(SchemaRegistryUnavailableException.class);
+        assertThatThrownBy(() -> schemaIds.idFor(SNAPSHOTS_TOPIC)).isInstanceOf(SerializationException.class)
+                .isNotInstanceOf(SchemaRegistryUnavailableException.class);
+    }
+
+    private ServiceEventSchemaIds schemaIds(SchemaRegistryClient registry, Integer pinnedId) {
+        return new ServiceEventSchemaIds(registry, EVENTS_TOPIC, SNAPSHOTS_TOPIC, pinnedId, true, true,
+                tempDir.resolve("schema-ids.properties"));
+    }
+}
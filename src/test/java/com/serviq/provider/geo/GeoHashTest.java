@@ -0,0 +1,74 @@
+package com.serviq.provider.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("GeoHash tests")
+class GeoHashTest {
+
+    @Test
+    @DisplayName("Should encode to the reference geohash and nest shorter hashes as prefixes")
+    void shouldEncode() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(57.64911, 10.40744, 5)).isEqualTo("u4pru");
+        assertThat(GeoHash.encode(-90, -180, 3)).isEqualTo("000");
+    }
+
+    @Test
+    @DisplayName("Should compute cell spans per precision")
+    void shouldComputeCellSpans() {
+        assertThat(GeoHash.latitudeSpan(1)).isEqualTo(45.0);
+        assertThat(GeoHash.longitudeSpan(1)).isEqualTo(45.0);
+        assertThat(GeoHash.latitudeSpan(5)).isEqualTo(180.0 / 4096);
+        assertThat(GeoHash.longitudeSpan(5)).isEqualTo(360.0 / 8192);
+    }
+
+    @Test
+    @DisplayName("Should decode a geohash to the cell containing the encoded point")
+    void shouldDecodeBounds() {
+        GeoBounds cell = GeoHash.bounds("u4pru");
+
+        assertThat(cell.minLatitude()).isLessThanOrEqualTo(57.64911);
+        assertThat(cell.maxLatitude()).isGreaterThan(57.64911);
+        assertThat(cell.minLongitude()).isLessThanOrEqualTo(10.40744);
+        assertThat(cell.maxLongitude()).isGreaterThan(10.40744);
+        assertThat(cell.maxLatitude() - cell.minLatitude()).isEqualTo(GeoHash.latitudeSpan(5));
+    }
+
+    @Test
+    @DisplayName("Should list the cells overlapping a box")
+    void shouldCoverBox() {
+        GeoBounds box = new GeoBounds(12.9, 80.1, 13.1, 80.3);
+
+        assertThat(GeoHash.covering(box, 3)).containsExactly("tf2", "tf3");
+        assertThat(GeoHash.covering(box, 5)).hasSize((int) GeoHash.coveringSize(box, 5))
+                .allSatisfy(hash -> assertThat(hash).startsWith("tf"));
+    }
+
+    @Test
+    @DisplayName("Should split a box crossing the antimeridian")
+    void shouldCoverAntimeridian() {
+        GeoBounds box = new GeoBounds(-20, 179, -18, -179);
+
+        assertThat(GeoHash.covering(box, 2)).containsExactly("ru", "2h");
+        assertThat(GeoHash.coveringSize(box, 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should compute great circle distance")
+    void shouldComputeDistance() {
+        assertThat(GeoHash.distanceKm(13.0827, 80.2707, 12.9716, 77.5946)).isCloseTo(290, within(3.0));
+        assertThat(GeoHash.distanceKm(0, 179.99, 0, -179.99)).isCloseTo(2.2, within(0.1));
+    }
+
+    @Test
+    @DisplayName("Should reject coordinates out of range")
+    void shouldRejectInvalidCoordinates() {
+        assertThatThrownBy(() -> GeoHash.encode(91, 0, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoHash.encode(0, 10, 13)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
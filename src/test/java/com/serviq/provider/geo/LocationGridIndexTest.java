@@ -0,0 +1,81 @@
+package com.serviq.provider.geo;
+
+import com.serviq.provider.dto.projection.LocationCoordinates;
+import com.serviq.provider.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LocationGridIndex tests")
+class LocationGridIndexTest {
+
+    private final UUID tNagar = UUID.randomUUID();
+    private final UUID adyar = UUID.randomUUID();
+    private final UUID tambaram = UUID.randomUUID();
+    private final UUID bengaluru = UUID.randomUUID();
+    private final UUID fijiEast = UUID.randomUUID();
+    private final UUID fijiWest = UUID.randomUUID();
+
+    private LocationGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findActiveCoordinates()).thenReturn(List.of(
+                coordinates(tNagar, "13.04180000", "80.23410000"),
+                coordinates(adyar, "13.00120000", "80.25650000"),
+                coordinates(tambaram, "12.92490000", "80.12700000"),
+                coordinates(bengaluru, "12.97160000", "77.59460000"),
+                coordinates(fijiEast, "-17.00000000", "179.99000000"),
+                coordinates(fijiWest, "-17.00000000", "-179.99000000"),
+                new LocationCoordinates(UUID.randomUUID(), null, null)));
+
+        index = new LocationGridIndex(locationRepository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should skip locations without coordinates")
+    void shouldIndexLocationsWithCoordinates() {
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should return locations inside the radius, nearest first")
+    void shouldFindWithinRadius() {
+        List<NearbyLocation> found = index.withinRadius(13.0400, 80.2400, 10);
+
+        assertThat(found).extracting(NearbyLocation::locationId).containsExactly(tNagar, adyar);
+        assertThat(found.get(0).distanceKm()).isCloseTo(0.67, within(0.05));
+    }
+
+    @Test
+    @DisplayName("Should find locations across the antimeridian")
+    void shouldWrapLongitude() {
+        assertThat(index.withinRadius(-17.0, 179.999, 5)).extracting(NearbyLocation::locationId)
+                .containsExactly(fijiEast, fijiWest);
+    }
+
+    @Test
+    @DisplayName("Should widen the search until k locations are found")
+    void shouldFindNearest() {
+        assertThat(index.nearest(13.0400, 80.2400, 3, 100)).extracting(NearbyLocation::locationId)
+                .containsExactly(tNagar, adyar, tambaram);
+        assertThat(index.nearest(13.0400, 80.2400, 10, 100)).hasSize(3);
+        assertThat(index.nearest(13.0400, 80.2400, 10, 500)).extracting(NearbyLocation::locationId)
+                .containsExactly(tNagar, adyar, tambaram, bengaluru);
+    }
+
+    private static LocationCoordinates coordinates(UUID id, String latitude, String longitude) {
+        return new LocationCoordinates(id, new BigDecimal(latitude), new BigDecimal(longitude));
+    }
+}
@@ -0,0 +1,127 @@
+package com.serviq.provider.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serviq.provider.dto.request.BatchRequest;
+import com.serviq.provider.entity.Provider;
+import com.serviq.provider.entity.enums.ProviderType;
+import com.serviq.provider.entity.enums.VerificationStatus;
+import com.serviq.provider.repository.ProviderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs batches through the real controllers, validation and exception
+ * handling. Not transactional, since sub-requests run on their own threads
+ * and only see committed rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Batch integration tests")
+public class BatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private UUID providerId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The container initializes the dispatcher servlet on its first request; MockMvc brings its own
+        if (dispatcherServlet.getServletConfig() == null) {
+            dispatcherServlet.init(new MockServletConfig(webApplicationContext.getServletContext()));
+        }
+
+        providerId = providerRepository.save(Provider.builder()
+                .orgId(UUID.randomUUID())
+                .name("Batch Provider " + UUID.randomUUID())
+                .displayName("Batch Provider")
+                .providerType(ProviderType.CLINIC)
+                .verificationStatus(VerificationStatus.PENDING)
+                .onboardingCompleted(false)
+                .timezone("UTC")
+                .isActive(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        providerRepository.deleteById(providerId);
+    }
+
+    @Test
+    @DisplayName("Sub-requests reach the controllers and come back with their own status and body")
+    void batchRunsAgainstRealControllers() throws Exception {
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest("found", "GET", "/api/v1/providers/" + providerId + "?include=none", null),
+                subRequest("missing", "GET", "/api/v1/providers/" + UUID.randomUUID(), null),
+                subRequest("invalid", "POST", "/api/v1/providers", "{}")))
+                .build();
+
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses[0].id").value("found"))
+                .andExpect(jsonPath("$.responses[0].status").value(200))
+                .andExpect(jsonPath("$.responses[0].body.id").value(providerId.toString()))
+                .andExpect(jsonPath("$.responses[0].body.name").value(startsWith("Batch Provider")))
+                .andExpect(jsonPath("$.responses[1].status").value(404))
+                .andExpect(jsonPath("$.responses[1].body.message").exists())
+                .andExpect(jsonPath("$.responses[2].status").value(400))
+                .andExpect(jsonPath("$.responses[2].body.validationErrors").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("A percent-encoded batch path is rejected")
+    void encodedBatchPathIsRejected() throws Exception {
+        BatchRequest batch = BatchRequest.builder().requests(List.of(
+                subRequest(null, "POST", "/api/v1/%62atch", "{\"requests\":[]}")))
+                .build();
+
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private BatchRequest.SubRequest subRequest(String id, String method, String path, String body) throws Exception {
+        return BatchRequest.SubRequest.builder()
+                .id(id)
+                .method(method)
+                .path(path)
+                .body(body != null ? objectMapper.readTree(body) : null)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.serviq.provider.integration;
+
+import com.serviq.provider.entity.Provider;
+import com.serviq.provider.entity.ProviderContact;
+import com.serviq.provider.entity.ProviderLocation;
+import com.serviq.provider.entity.enums.ProviderType;
+import com.serviq.provider.entity.enums.VerificationStatus;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.support.SqlStatementCollector;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the provider aggregate read loads the full aggregate by
+ * default, only the requested associations otherwise, and never more than
+ * two statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Provider aggregate fetch plan tests")
+public class ProviderAggregateFetchPlanTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private UUID providerId;
+
+    @BeforeEach
+    void setUp() {
+        Provider provider = Provider.builder()
+                .orgId(UUID.randomUUID())
+                .name("Aggregate Provider")
+                .displayName("Aggregate Provider")
+                .providerType(ProviderType.CLINIC)
+                .verificationStatus(VerificationStatus.PENDING)
+                .onboardingCompleted(false)
+                .timezone("UTC")
+                .isActive(true)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            provider.addContact(ProviderContact.builder()
+                    .email("aggregate-" + UUID.randomUUID() + "@example.com")
+                    .phone("+1234567890")
+                    .isActive(i < 2)
+                    .build());
+            provider.addLocation(ProviderLocation.builder()
+                    .name("Branch " + i)
+                    .addressLine1("1 Main Street")
+                    .city("Chennai")
+                    .state("Tamil Nadu")
+                    .country("India")
+                    .postalCode("600001")
+                    .isPrimary(i == 0)
+                    .isActive(i < 2)
+                    .build());
+        }
+        providerId = providerRepository.save(provider).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCollector.reset();
+    }
+
+    @Test
+    @DisplayName("Plain get returns the full aggregate in two statements")
+    void plainGetReturnsFullAggregate() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/{id}", providerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts", hasSize(2)))
+                .andExpect(jsonPath("$.locations", hasSize(2)));
+
+        assertThat(SqlStatementCollector.statements()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Include none loads only the provider row")
+    void includeNoneLoadsProviderOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/{id}", providerId)
+                        .param("include", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Aggregate Provider"))
+                .andExpect(jsonPath("$.contacts").doesNotExist())
+                .andExpect(jsonPath("$.locations").doesNotExist());
+
+        assertThat(SqlStatementCollector.statements()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Including contacts and locations uses two statements and returns active rows only")
+    void includeContactsAndLocationsUsesTwoStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/{id}", providerId)
+                        .param("include", "contacts,locations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts", hasSize(2)))
+                .andExpect(jsonPath("$.locations", hasSize(2)));
+
+        assertThat(SqlStatementCollector.statements()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Unsupported include is rejected")
+    void unsupportedIncludeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/{id}", providerId)
+                        .param("include", "services"))
+                .andExpect(status().isBadRequest());
+    }
+}
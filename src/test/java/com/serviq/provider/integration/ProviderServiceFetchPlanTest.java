@@ -0,0 +1,172 @@
+package com.serviq.provider.integration;
+
+import com.serviq.provider.entity.Location;
+import com.serviq.provider.entity.Provider;
+import com.serviq.provider.entity.ProviderService;
+import com.serviq.provider.entity.ServiceLocation;
+import com.serviq.provider.entity.enums.ProviderType;
+import com.serviq.provider.entity.enums.VerificationStatus;
+import com.serviq.provider.repository.LocationRepository;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.support.SqlStatementCollector;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that provider service reads load in a constant number of
+ * statements regardless of how many services and locations are returned.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ProviderService fetch plan tests")
+public class ProviderServiceFetchPlanTest {
+
+    private static final int SERVICES = 10;
+    private static final int LOCATIONS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ProviderServiceRepository providerServiceRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private UUID orgId;
+    private UUID providerId;
+    private List<ProviderService> services;
+
+    @BeforeEach
+    void setUp() {
+        orgId = UUID.randomUUID();
+
+        Provider provider = providerRepository.save(Provider.builder()
+                .orgId(orgId)
+                .name("Fetch Plan Provider")
+                .displayName("Fetch Plan Provider")
+                .providerType(ProviderType.CLINIC)
+                .verificationStatus(VerificationStatus.PENDING)
+                .onboardingCompleted(false)
+                .timezone("UTC")
+                .isActive(true)
+                .build());
+        providerId = provider.getId();
+
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < LOCATIONS; i++) {
+            locations.add(locationRepository.save(Location.builder()
+                    .orgId(orgId)
+                    .name("Branch " + i)
+                    .city("Chennai")
+                    .state("Tamil Nadu")
+                    .country("India")
+                    .latitude(new BigDecimal("13.08268000"))
+                    .longitude(new BigDecimal("80.27072000"))
+                    .build()));
+        }
+
+        services = new ArrayList<>();
+        for (int i = 0; i < SERVICES; i++) {
+            ProviderService service = ProviderService.builder()
+                    .orgId(orgId)
+                    .providerId(providerId)
+                    .categoryId(UUID.randomUUID())
+                    .title("Service " + i)
+                    .duration(30)
+                    .price(new BigDecimal("250.00"))
+                    .build();
+            for (int j = 0; j < LOCATIONS; j++) {
+                service.getServiceLocations().add(ServiceLocation.builder()
+                        .orgId(orgId)
+                        .service(service)
+                        .location(locations.get(j))
+                        .isPrimary(j == 0)
+                        .build());
+            }
+            services.add(providerServiceRepository.save(service));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCollector.reset();
+    }
+
+    @Test
+    @DisplayName("Provider listing loads services and locations in two statements")
+    void providerListingUsesConstantStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/provider-services/provider/{providerId}", providerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(SERVICES)))
+                .andExpect(jsonPath("$[0].locations", hasSize(LOCATIONS)))
+                .andExpect(jsonPath("$[0].primaryLocation").value("Branch 0"))
+                .andExpect(jsonPath("$[0].providerName").value("Fetch Plan Provider"));
+
+        assertThat(SqlStatementCollector.statements()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Paged organization listing does not grow with page size")
+    void pagedListingUsesConstantStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/provider-services/organization/{orgId}", orgId)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(5)));
+
+        // page, count and locations for the whole page
+        assertThat(SqlStatementCollector.statements()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Get by id loads the service, provider name and locations in two statements")
+    void getByIdUsesConstantStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/provider-services/{id}", services.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locations", hasSize(LOCATIONS)))
+                .andExpect(jsonPath("$.providerName").value("Fetch Plan Provider"));
+
+        assertThat(SqlStatementCollector.statements()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Update loads the service with its locations in one read")
+    void updateUsesSingleRead() throws Exception {
+        mockMvc.perform(put("/api/v1/provider-services/{id}", services.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Updated Service\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locations", hasSize(LOCATIONS)));
+
+        assertThat(SqlStatementCollector.reads()).hasSize(1);
+    }
+}
@@ -0,0 +1,257 @@
+package com.serviq.provider.integration;
+
+import com.serviq.provider.entity.AvailabilityConfig;
+import com.serviq.provider.entity.Provider;
+import com.serviq.provider.entity.ProviderContact;
+import com.serviq.provider.entity.ProviderLocation;
+import com.serviq.provider.entity.ProviderService;
+import com.serviq.provider.entity.Slot;
+import com.serviq.provider.entity.enums.ProviderType;
+import com.serviq.provider.entity.enums.SlotStatus;
+import com.serviq.provider.entity.enums.VerificationStatus;
+import com.serviq.provider.repository.AvailabilityConfigRepository;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.SlotRepository;
+import com.serviq.provider.support.SqlStatementCollector;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that state transition endpoints are executed as a single write
+ * statement, without loading the entity first.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("State transition statement count tests")
+public class StateTransitionStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private ProviderServiceRepository providerServiceRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private AvailabilityConfigRepository availabilityConfigRepository;
+
+    private UUID orgId;
+    private Provider provider;
+    private ProviderService providerService;
+
+    @BeforeEach
+    void setUp() {
+        orgId = UUID.randomUUID();
+
+        provider = Provider.builder()
+                .orgId(orgId)
+                .name("Statement Count Provider")
+                .displayName("Statement Count Provider")
+                .providerType(ProviderType.CLINIC)
+                .verificationStatus(VerificationStatus.PENDING)
+                .onboardingCompleted(false)
+                .timezone("UTC")
+                .isActive(true)
+                .build();
+        provider = providerRepository.save(provider);
+
+        providerService = providerServiceRepository.save(ProviderService.builder()
+                .orgId(orgId)
+                .providerId(provider.getId())
+                .categoryId(UUID.randomUUID())
+                .title("General Consultation")
+                .duration(30)
+                .price(new BigDecimal("500.00"))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Slot status update is a single UPDATE ... RETURNING")
+    void updateSlotStatusUsesSingleStatement() throws Exception {
+        // Given
+        Slot slot = slotRepository.save(Slot.builder()
+                .orgId(orgId)
+                .providerId(provider.getId())
+                .providerServiceId(providerService.getId())
+                .slotDate(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(9, 30))
+                .durationMinutes(30)
+                .build());
+        flushAndReset();
+
+        // When
+        mockMvc.perform(patch("/api/v1/slots/{slotId}/status", slot.getId())
+                        .param("status", SlotStatus.BLOCKED.name()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(SlotStatus.BLOCKED.name()));
+
+        // Then
+        assertSingleWriteOn("slots");
+    }
+
+    @Test
+    @DisplayName("Service deactivate and activate are single UPDATE statements")
+    void toggleServiceUsesSingleStatement() throws Exception {
+        // Given
+        flushAndReset();
+
+        // When
+        mockMvc.perform(patch("/api/v1/provider-services/{id}/deactivate", providerService.getId()))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("provider_service");
+
+        // When
+        SqlStatementCollector.reset();
+        mockMvc.perform(patch("/api/v1/provider-services/{id}/activate", providerService.getId()))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("provider_service");
+    }
+
+    @Test
+    @DisplayName("Service delete is a single statement")
+    void deleteServiceUsesSingleStatement() throws Exception {
+        // Given
+        flushAndReset();
+
+        // When
+        mockMvc.perform(delete("/api/v1/provider-services/{id}", providerService.getId()))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("provider_service");
+        assertThat(providerServiceRepository.findById(providerService.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Unknown service id still returns not found")
+    void deactivateUnknownServiceReturnsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/v1/provider-services/{id}/deactivate", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Availability config deactivate is a single UPDATE statement")
+    void deactivateConfigUsesSingleStatement() throws Exception {
+        // Given
+        AvailabilityConfig config = availabilityConfigRepository.save(AvailabilityConfig.builder()
+                .providerId(provider.getId())
+                .serviceId(providerService.getId())
+                .startDate(LocalDate.now())
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .recurrenceConfig(Map.of("days", List.of("MONDAY")))
+                .build());
+        flushAndReset();
+
+        // When
+        mockMvc.perform(patch("/api/v1/availability-configs/{id}/deactivate", config.getId())
+                        .param("providerId", provider.getId().toString()))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("availability_config");
+    }
+
+    @Test
+    @DisplayName("Contact and non-primary location delete are single UPDATE statements")
+    void deleteContactAndLocationUseSingleStatement() throws Exception {
+        // Given
+        ProviderContact contact = ProviderContact.builder()
+                .email("statement-count-" + UUID.randomUUID() + "@example.com")
+                .phone("+1234567890")
+                .isActive(true)
+                .build();
+        provider.addContact(contact);
+
+        ProviderLocation primary = newLocation("Main Branch", true);
+        ProviderLocation secondary = newLocation("Second Branch", false);
+        provider.addLocation(primary);
+        provider.addLocation(secondary);
+        provider = providerRepository.save(provider);
+        flushAndReset();
+
+        UUID contactId = provider.getContacts().get(0).getId();
+        UUID secondaryId = provider.getLocations().stream()
+                .filter(location -> !location.getIsPrimary())
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        // When
+        mockMvc.perform(delete("/api/v1/providers/{providerId}/contacts/{contactId}", provider.getId(), contactId))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("provider_contact");
+
+        // When
+        SqlStatementCollector.reset();
+        mockMvc.perform(delete("/api/v1/providers/{providerId}/locations/{locationId}", provider.getId(), secondaryId))
+                .andExpect(status().is2xxSuccessful());
+
+        // Then
+        assertSingleWriteOn("provider_location");
+    }
+
+    private ProviderLocation newLocation(String name, boolean isPrimary) {
+        return ProviderLocation.builder()
+                .name(name)
+                .addressLine1("1 Main Street")
+                .city("Chennai")
+                .state("Tamil Nadu")
+                .country("India")
+                .postalCode("600001")
+                .isPrimary(isPrimary)
+                .isActive(true)
+                .build();
+    }
+
+    private void flushAndReset() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCollector.reset();
+    }
+
+    private void assertSingleWriteOn(String table) {
+        assertThat(SqlStatementCollector.statementsOn(table)).hasSize(1);
+        assertThat(SqlStatementCollector.writesOn(table)).hasSize(1);
+        assertThat(SqlStatementCollector.reads()).isEmpty();
+    }
+}
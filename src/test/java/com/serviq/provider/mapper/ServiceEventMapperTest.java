@@ -0,0 +1,111 @@
+package com.serviq.provider.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventType;
+import com.serviq.provider.service.events.ServiceEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ServiceEventMapper tests")
+class ServiceEventMapperTest {
+
+    private final ServiceEventMapper eventMapper = new ServiceEventMapper();
+
+    @Test
+    @DisplayName("Should write the typed fields and the deprecated string fields in their old format")
+    void shouldWriteTypedAndDeprecatedFields() {
+        // Given
+        Instant occurredOn = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        ServiceEventDto event = ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, UUID.randomUUID())
+                .occurredOn(occurredOn)
+                .price(new BigDecimal("12.5"))
+                .latitude(12.971599)
+                .longitude(77.594566)
+                .build();
+
+        // When
+        ServiceEvent record = eventMapper.toServiceEventAvro(event);
+
+        // Then
+        assertThat(record.getOccurredAt()).isEqualTo(occurredOn);
+        assertThat(record.getOccurredOn()).isEqualTo(String.valueOf(Date.from(occurredOn)));
+        assertThat(record.getPriceAmount()).isEqualTo(new BigDecimal("12.50"));
+        assertThat(record.getPrice()).isEqualTo("12.50");
+        assertThat(record.getLatitudeDegrees()).isEqualTo(12.971599);
+        assertThat(record.getLatitude()).isEqualTo("12.971599");
+        assertThat(record.getLongitude()).isEqualTo("77.594566");
+    }
+
+    @Test
+    @DisplayName("Should read events that only carry the deprecated string fields")
+    void shouldReadDeprecatedFields() {
+        // Given
+        Instant occurredOn = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        ServiceEvent record = eventMapper.toServiceEventAvro(
+                ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, UUID.randomUUID())
+                        .occurredOn(occurredOn)
+                        .price(new BigDecimal("99.90"))
+                        .latitude(-33.8688)
+                        .build());
+        record.setOccurredAt(null);
+        record.setPriceAmount(null);
+        record.setLatitudeDegrees(null);
+
+        // When
+        ServiceEventDto event = eventMapper.toServiceEventDto(record);
+
+        // Then
+        assertThat(event.getOccurredOn()).isEqualTo(occurredOn);
+        assertThat(event.getPrice()).isEqualByComparingTo("99.90");
+        assertThat(event.getLatitude()).isEqualTo(-33.8688);
+        assertThat(event.getLongitude()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read outbox payloads written before the event time became an instant")
+    void shouldReadLegacyOutboxPayload() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Instant occurredOn = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String payload = """
+                {"eventId": "%s", "eventType": "SERVICE_CREATED", "occurredOn": "%s", "serviceId": "%s",
+                 "price": 250.00, "latitude": "12.971599", "longitude": "77.594566", "changedFields": []}
+                """.formatted(UUID.randomUUID(), Date.from(occurredOn), UUID.randomUUID());
+
+        // When
+        ServiceEventDto event = objectMapper.readValue(payload, ServiceEventDto.class);
+
+        // Then
+        assertThat(event.getOccurredOn()).isEqualTo(occurredOn);
+        assertThat(event.getPrice()).isEqualByComparingTo("250.00");
+        assertThat(event.getLatitude()).isEqualTo(12.971599);
+        assertThat(event.getLongitude()).isEqualTo(77.594566);
+    }
+
+    @Test
+    @DisplayName("Should keep reading outbox payloads written with an instant")
+    void shouldReadCurrentOutboxPayload() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ServiceEventDto written = ServiceEventDto.forService(ServiceEventType.SERVICE_UPDATED, UUID.randomUUID())
+                .changedFields(List.of())
+                .build();
+
+        // When
+        ServiceEventDto read = objectMapper.readValue(objectMapper.writeValueAsString(written), ServiceEventDto.class);
+
+        // Then
+        assertThat(read.getOccurredOn()).isEqualTo(written.getOccurredOn());
+    }
+}
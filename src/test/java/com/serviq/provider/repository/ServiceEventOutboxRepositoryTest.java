@@ -0,0 +1,85 @@
+package com.serviq.provider.repository;
+
+import com.serviq.provider.config.JpaAuditingConfig;
+import com.serviq.provider.entity.ServiceEventOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JpaAuditingConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ServiceEventOutboxRepositoryTest {
+
+    @Autowired
+    private ServiceEventOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final UUID claimedServiceId = UUID.randomUUID();
+    private final UUID freeServiceId = UUID.randomUUID();
+
+    // Stands in for another relay holding a batch
+    private Connection otherRelay;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        for (UUID serviceId : new UUID[]{claimedServiceId, freeServiceId, claimedServiceId, freeServiceId}) {
+            jdbcTemplate.update("INSERT INTO provider.service_event_outbox (service_id, event_type, payload, created_at) " +
+                    "VALUES (?, 'SERVICE_UPDATED', '{}'::jsonb, now() - interval '1 hour')", serviceId);
+        }
+        otherRelay = dataSource.getConnection();
+        otherRelay.setAutoCommit(false);
+        try (PreparedStatement claim = otherRelay.prepareStatement(
+                "SELECT pg_advisory_xact_lock(hashtext('service_event_outbox'), hashtext(?))")) {
+            claim.setString(1, claimedServiceId.toString());
+            claim.execute();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        otherRelay.rollback();
+        otherRelay.close();
+    }
+
+    @Test
+    void lockNextBatch_SkipsServicesClaimedByAnotherRelay() {
+        List<ServiceEventOutbox> batch = outboxRepository.lockNextBatch(100);
+
+        assertThat(batch).extracting(ServiceEventOutbox::getServiceId)
+                .contains(freeServiceId)
+                .doesNotContain(claimedServiceId);
+        assertThat(batch).filteredOn(row -> row.getServiceId().equals(freeServiceId)).hasSize(2);
+    }
+
+    @Test
+    void lockNextSettledBatch_SkipsServicesClaimedByAnotherRelay() {
+        List<ServiceEventOutbox> batch = outboxRepository.lockNextSettledBatch(100, 1_000, 60_000);
+
+        assertThat(batch).extracting(ServiceEventOutbox::getServiceId)
+                .contains(freeServiceId)
+                .doesNotContain(claimedServiceId);
+        assertThat(batch).filteredOn(row -> row.getServiceId().equals(freeServiceId)).hasSize(2);
+    }
+}
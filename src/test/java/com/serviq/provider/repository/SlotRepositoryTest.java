@@ -0,0 +1,101 @@
+package com.serviq.provider.repository;
+
+import com.serviq.provider.config.JpaAuditingConfig;
+import com.serviq.provider.entity.Slot;
+import com.serviq.provider.entity.enums.SlotStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JpaAuditingConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SlotRepositoryTest {
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID providerId = UUID.randomUUID();
+    private final UUID serviceId = UUID.randomUUID();
+    private final UUID otherServiceId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO provider.provider (id, org_id, name, display_name, created_at) " +
+                "VALUES (?, ?, 'Slot Provider', 'Slot Provider', now())", providerId, orgId);
+        for (UUID id : new UUID[]{serviceId, otherServiceId}) {
+            jdbcTemplate.update("INSERT INTO provider.provider_service (id, org_id, provider_id, category_id, title, duration) " +
+                    "VALUES (?, ?, ?, ?, 'Slot Service', 30)", id, orgId, providerId, UUID.randomUUID());
+        }
+    }
+
+    @Test
+    void bulkUpdateStatus_UpdatesOnlyMatchingUnbookedSlots() {
+        Slot matching = slot(serviceId, date, LocalTime.of(10, 0), 0);
+        Slot booked = slot(serviceId, date, LocalTime.of(11, 0), 1);
+        Slot otherService = slot(otherServiceId, date, LocalTime.of(10, 0), 0);
+        Slot otherDate = slot(serviceId, date.plusDays(1), LocalTime.of(10, 0), 0);
+        Slot outsideWindow = slot(serviceId, date, LocalTime.of(18, 0), 0);
+
+        int updated = slotRepository.bulkUpdateStatus(providerId, serviceId, date, date,
+                LocalTime.of(9, 0), LocalTime.of(13, 0), SlotStatus.BLOCKED, LocalDateTime.now());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(statusOf(matching)).isEqualTo("BLOCKED");
+        assertThat(statusOf(booked)).isEqualTo("AVAILABLE");
+        assertThat(statusOf(otherService)).isEqualTo("AVAILABLE");
+        assertThat(statusOf(otherDate)).isEqualTo("AVAILABLE");
+        assertThat(statusOf(outsideWindow)).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void bulkUpdateStatus_AllServicesWithoutTimeWindow_SkipsSlotsAlreadyInStatus() {
+        Slot first = slot(serviceId, date, LocalTime.of(10, 0), 0);
+        Slot second = slot(otherServiceId, date, LocalTime.of(18, 0), 0);
+        Slot alreadyBlocked = slot(serviceId, date, LocalTime.of(12, 0), 0);
+        jdbcTemplate.update("UPDATE provider.slots SET status = 'BLOCKED' WHERE id = ?", alreadyBlocked.getId());
+
+        int updated = slotRepository.bulkUpdateStatus(providerId, null, date, date,
+                null, null, SlotStatus.BLOCKED, LocalDateTime.now());
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(statusOf(first)).isEqualTo("BLOCKED");
+        assertThat(statusOf(second)).isEqualTo("BLOCKED");
+    }
+
+    private Slot slot(UUID providerServiceId, LocalDate slotDate, LocalTime startTime, int bookedCount) {
+        return slotRepository.saveAndFlush(Slot.builder()
+                .orgId(orgId)
+                .providerId(providerId)
+                .providerServiceId(providerServiceId)
+                .slotDate(slotDate)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .durationMinutes(30)
+                .capacity(2)
+                .bookedCount(bookedCount)
+                .build());
+    }
+
+    private String statusOf(Slot slot) {
+        return jdbcTemplate.queryForObject("SELECT status FROM provider.slots WHERE id = ?", String.class, slot.getId());
+    }
+}
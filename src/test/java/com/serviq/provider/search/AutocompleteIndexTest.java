@@ -0,0 +1,104 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.projection.ServiceLocationView;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
+import com.serviq.provider.repository.LocationRepository;
+import com.serviq.provider.repository.ProviderRepository;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AutocompleteIndex tests")
+class AutocompleteIndexTest {
+
+    private final ProviderServiceRepository providerServiceRepository = mock(ProviderServiceRepository.class);
+    private final ServiceLocationRepository serviceLocationRepository = mock(ServiceLocationRepository.class);
+    private final AutocompleteIndex index = new AutocompleteIndex(mock(LocationRepository.class),
+            mock(ProviderRepository.class), providerServiceRepository, serviceLocationRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "incrementalUpdates", true);
+    }
+
+    @Test
+    @DisplayName("Should only queue service changes on the publishing thread")
+    void shouldQueueServiceChanges() {
+        // When
+        index.onServiceChanged(new ProviderServiceChangedEvent(UUID.randomUUID()));
+
+        // Then
+        verifyNoInteractions(providerServiceRepository, serviceLocationRepository);
+    }
+
+    @Test
+    @DisplayName("Should add queued active services to the suggestions in one batch")
+    void shouldApplyQueuedChangesInOneBatch() {
+        // Given
+        UUID cleaningId = UUID.randomUUID();
+        UUID inactiveId = UUID.randomUUID();
+        when(providerServiceRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                service(cleaningId, "Dental Cleaning", true),
+                service(inactiveId, "Dental Implants", false)));
+        when(serviceLocationRepository.findViewsByServiceIds(any())).thenReturn(List.of(
+                new ServiceLocationView(cleaningId, UUID.randomUUID(), "Anna Nagar Branch", "Chennai",
+                        null, null, null, null, null, true, true)));
+        index.onServiceChanged(new ProviderServiceChangedEvent(cleaningId));
+        index.onServiceChanged(new ProviderServiceChangedEvent(cleaningId));
+        index.onServiceChanged(new ProviderServiceChangedEvent(inactiveId));
+
+        // When
+        index.applyServiceChanges();
+        index.applyServiceChanges();
+
+        // Then
+        verify(providerServiceRepository, times(1)).findResponsesByIdIn(argThatHasIds(cleaningId, inactiveId));
+        verify(serviceLocationRepository, times(1)).findViewsByServiceIds(List.of(cleaningId));
+        Set<SuggestionType> allTypes = EnumSet.allOf(SuggestionType.class);
+        assertThat(index.suggest("dent", allTypes, 10)).extracting(Suggestion::text)
+                .containsExactly("Dental Cleaning");
+        assertThat(index.suggest("chen", allTypes, 10)).extracting(Suggestion::type)
+                .containsExactly(SuggestionType.CITY);
+    }
+
+    @Test
+    @DisplayName("Should drop changes when incremental updates are disabled")
+    void shouldIgnoreChangesWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(index, "incrementalUpdates", false);
+        index.onServiceChanged(new ProviderServiceChangedEvent(UUID.randomUUID()));
+
+        // When
+        index.applyServiceChanges();
+
+        // Then
+        verifyNoInteractions(providerServiceRepository, serviceLocationRepository);
+    }
+
+    private static Collection<UUID> argThatHasIds(UUID... ids) {
+        return argThat(collection -> collection.size() == ids.length && collection.containsAll(List.of(ids)));
+    }
+
+    private static ProviderServiceResponse service(UUID id, String title, boolean active) {
+        return ProviderServiceResponse.builder()
+                .id(id)
+                .title(title)
+                .isActive(active)
+                .build();
+    }
+}
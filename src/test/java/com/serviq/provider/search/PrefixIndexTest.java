@@ -0,0 +1,55 @@
+package com.serviq.provider.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PrefixIndex tests")
+class PrefixIndexTest {
+
+    private final PrefixIndex index = PrefixIndex.build(List.of(
+            new Suggestion("Dental Cleaning", SuggestionType.SERVICE, 40),
+            new Suggestion("Family Dental Care", SuggestionType.SERVICE, 90),
+            new Suggestion("Dermatology Consultation", SuggestionType.SERVICE, 10),
+            new Suggestion("Dentist Day Visit", SuggestionType.SERVICE, 70),
+            new Suggestion("Physiotherapy", SuggestionType.SERVICE, 100)));
+
+    @Test
+    @DisplayName("Should return matches of any word start by weight")
+    void shouldReturnTopKByWeight() {
+        assertThat(index.top("den", 10)).extracting(Suggestion::text)
+                .containsExactly("Family Dental Care", "Dentist Day Visit", "Dental Cleaning");
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void shouldLimitResults() {
+        assertThat(index.top("d", 2)).extracting(Suggestion::text)
+                .containsExactly("Family Dental Care", "Dentist Day Visit");
+    }
+
+    @Test
+    @DisplayName("Should list a suggestion once when several of its words match")
+    void shouldNotRepeatSuggestion() {
+        assertThat(index.top("d", 10)).extracting(Suggestion::text)
+                .containsExactly("Family Dental Care", "Dentist Day Visit", "Dental Cleaning", "Dermatology Consultation");
+    }
+
+    @Test
+    @DisplayName("Should ignore case, accents and punctuation")
+    void shouldNormalizePrefix() {
+        assertThat(index.top("  PHYSIO-", 10)).extracting(Suggestion::text).containsExactly("Physiotherapy");
+        assertThat(PrefixIndex.normalize("Café  Crème")).isEqualTo("cafe creme");
+    }
+
+    @Test
+    @DisplayName("Should return nothing for unknown or blank prefixes")
+    void shouldReturnEmptyForNoMatch() {
+        assertThat(index.top("xyz", 10)).isEmpty();
+        assertThat(index.top(" ", 10)).isEmpty();
+        assertThat(PrefixIndex.EMPTY.top("den", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.serviq.provider.search;
+
+import com.serviq.provider.dto.response.FacetValue;
+import com.serviq.provider.dto.response.ServiceSearchHit;
+import com.serviq.provider.dto.response.ServiceSearchResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("ServiceSearchIndex tests")
+class ServiceSearchIndexTest {
+
+    @TempDir
+    Path indexPath;
+
+    private ServiceSearchIndex index;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID dentalCategory = UUID.randomUUID();
+    private final UUID physioCategory = UUID.randomUUID();
+    private ServiceDocument cleaning;
+    private ServiceDocument whitening;
+    private ServiceDocument physio;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ServiceSearchIndex(indexPath);
+
+        cleaning = document(orgId, dentalCategory, "Dental Cleaning", "Smile Clinic", 30, "400.00", List.of("Chennai"));
+        whitening = document(orgId, dentalCategory, "Teeth Whitening", "Smile Clinic", 60, "2800.00",
+                List.of("Chennai", "Bengaluru"));
+        physio = document(UUID.randomUUID(), physioCategory, "Sports Physiotherapy", "Active Care", 45, "900.00",
+                List.of("Bengaluru"));
+        List.of(cleaning, whitening, physio).forEach(index::index);
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Should rank title matches and return facet counts")
+    void shouldSearchTitleWithFacets() {
+        ServiceSearchResponse response = index.search(query("dental", null, null, null));
+
+        assertThat(response.getTotalHits()).isEqualTo(1);
+        assertThat(response.getHits()).extracting(ServiceSearchHit::getServiceId).containsExactly(cleaning.serviceId());
+        assertThat(response.getHits().get(0).getPrice()).isEqualByComparingTo("400.00");
+        assertThat(response.getFacets().get(ServiceSearchIndex.FACET_PRICE_BAND))
+                .extracting(FacetValue::getValue).containsExactly("0-499");
+    }
+
+    @Test
+    @DisplayName("Should match provider and city text")
+    void shouldMatchProviderAndLocationText() {
+        assertThat(index.search(query("smile", null, null, null)).getTotalHits()).isEqualTo(2);
+        assertThat(index.search(query("bengaluru", null, null, null)).getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drill down on facets and count multi-valued cities")
+    void shouldDrillDownOnFacets() {
+        ServiceSearchResponse all = index.search(query(null, null, null, null));
+
+        assertThat(all.getTotalHits()).isEqualTo(3);
+        assertThat(all.getFacets().get(ServiceSearchIndex.FACET_CITY))
+                .extracting(FacetValue::getValue, FacetValue::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple("Chennai", 2L),
+                        tuple("Bengaluru", 2L));
+
+        ServiceSearchResponse filtered = index.search(query(null, null, "Bengaluru", "2500+"));
+
+        assertThat(filtered.getHits()).extracting(ServiceSearchHit::getServiceId).containsExactly(whitening.serviceId());
+    }
+
+    @Test
+    @DisplayName("Should scope results to an organization")
+    void shouldFilterByOrganization() {
+        ServiceSearchResponse response = index.search(query(null, orgId, null, null));
+
+        assertThat(response.getHits()).extracting(ServiceSearchHit::getServiceId)
+                .containsExactlyInAnyOrder(cleaning.serviceId(), whitening.serviceId());
+    }
+
+    @Test
+    @DisplayName("Should replace and delete documents by service id")
+    void shouldUpdateAndDeleteDocuments() {
+        index.index(document(cleaning.serviceId(), orgId, dentalCategory, "Deep Scaling", "Smile Clinic", 30,
+                "400.00", List.of("Chennai")));
+        index.delete(physio.serviceId());
+        index.refresh();
+
+        assertThat(index.search(query("cleaning", null, null, null)).getTotalHits()).isZero();
+        assertThat(index.search(query("scaling", null, null, null)).getTotalHits()).isEqualTo(1);
+        assertThat(index.search(query(null, null, null, null)).getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should map prices and durations to bands")
+    void shouldComputeBands() {
+        assertThat(ServiceSearchIndex.priceBand(new BigDecimal("499.99"))).isEqualTo("0-499");
+        assertThat(ServiceSearchIndex.priceBand(new BigDecimal("1000"))).isEqualTo("1000-2499");
+        assertThat(ServiceSearchIndex.durationBand(30)).isEqualTo("16-30");
+        assertThat(ServiceSearchIndex.durationBand(90)).isEqualTo("60+");
+    }
+
+    private ServiceSearchQuery query(String text, UUID orgId, String city, String priceBand) {
+        return new ServiceSearchQuery(text, orgId, null, city, priceBand, null, 0, 10);
+    }
+
+    private ServiceDocument document(UUID orgId, UUID categoryId, String title, String providerName,
+                                     int duration, String price, List<String> cities) {
+        return document(UUID.randomUUID(), orgId, categoryId, title, providerName, duration, price, cities);
+    }
+
+    private ServiceDocument document(UUID serviceId, UUID orgId, UUID categoryId, String title, String providerName,
+                                     int duration, String price, List<String> cities) {
+        return new ServiceDocument(serviceId, orgId, UUID.randomUUID(), categoryId, title, null, providerName,
+                duration, new BigDecimal(price), "INR", cities.get(0) + " Branch",
+                cities.stream().map(city -> city + " Branch").toList(), cities);
+    }
+}
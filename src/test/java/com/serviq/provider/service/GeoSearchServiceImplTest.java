@@ -0,0 +1,136 @@
+package com.serviq.provider.service;
+
+import com.serviq.provider.dto.projection.ServiceAtLocation;
+import com.serviq.provider.dto.projection.SlotAtLocation;
+import com.serviq.provider.dto.response.NearbyServiceResponse;
+import com.serviq.provider.dto.response.NearbySlotResponse;
+import com.serviq.provider.dto.response.ProviderServiceResponse;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.geo.LocationGridIndex;
+import com.serviq.provider.geo.NearbyLocation;
+import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
+import com.serviq.provider.repository.SlotRepository;
+import com.serviq.provider.service.impl.GeoSearchServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeoSearchService Unit Tests")
+public class GeoSearchServiceImplTest {
+
+    private static final double LAT = 13.04;
+    private static final double LON = 80.24;
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+    private static final LocalTime SIX_PM = LocalTime.of(18, 0);
+    private static final LocalTime NINE_PM = LocalTime.of(21, 0);
+
+    @Mock
+    private LocationGridIndex locationGridIndex;
+
+    @Mock
+    private ServiceLocationRepository serviceLocationRepository;
+
+    @Mock
+    private ProviderServiceRepository providerServiceRepository;
+
+    @Mock
+    private SlotRepository slotRepository;
+
+    @InjectMocks
+    private GeoSearchServiceImpl service;
+
+    private final UUID near = UUID.randomUUID();
+    private final UUID far = UUID.randomUUID();
+    private final UUID cleaning = UUID.randomUUID();
+    private final UUID massage = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should return each service once at its nearest location")
+    void shouldReturnServicesAtNearestLocation() {
+        // Given
+        when(locationGridIndex.withinRadius(LAT, LON, 5)).thenReturn(List.of(
+                new NearbyLocation(near, 0.4), new NearbyLocation(far, 3.2)));
+        when(serviceLocationRepository.findActiveServicesAtLocations(anyCollection(), eq(null))).thenReturn(List.of(
+                new ServiceAtLocation(cleaning, far, "Far Branch", "Chennai"),
+                new ServiceAtLocation(massage, far, "Far Branch", "Chennai"),
+                new ServiceAtLocation(cleaning, near, "Near Branch", "Chennai")));
+        when(providerServiceRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(
+                ProviderServiceResponse.builder().id(cleaning).title("Cleaning").build(),
+                ProviderServiceResponse.builder().id(massage).title("Massage").build()));
+
+        // When
+        List<NearbyServiceResponse> result = service.findServicesWithinRadius(LAT, LON, 5, null, 10);
+
+        // Then
+        assertThat(result).extracting(nearby -> nearby.getService().getTitle(), NearbyServiceResponse::getLocationId)
+                .containsExactly(
+                        tuple("Cleaning", near),
+                        tuple("Massage", far));
+    }
+
+    @Test
+    @DisplayName("Should order slots by distance then start time and list shared slots once")
+    void shouldMergeSlotsByDistanceAndTime() {
+        // Given
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        UUID farOnly = UUID.randomUUID();
+        when(locationGridIndex.withinRadius(LAT, LON, 5)).thenReturn(List.of(
+                new NearbyLocation(near, 0.4), new NearbyLocation(far, 3.2)));
+        when(slotRepository.findAvailableSlotsAtLocations(anyCollection(), eq(null), eq(TODAY), eq(SIX_PM), eq(NINE_PM)))
+                .thenReturn(List.of(
+                        slot(farOnly, massage, far, LocalTime.of(18, 0)),
+                        slot(late, cleaning, near, LocalTime.of(20, 0)),
+                        slot(early, cleaning, far, LocalTime.of(18, 30)),
+                        slot(early, cleaning, near, LocalTime.of(18, 30)),
+                        slot(late, cleaning, far, LocalTime.of(20, 0))));
+
+        // When
+        Slice<NearbySlotResponse> firstPage = service.findAvailableSlotsNearby(LAT, LON, 5, null, TODAY,
+                SIX_PM, NINE_PM, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(firstPage.getContent()).extracting(NearbySlotResponse::getSlotId, NearbySlotResponse::getLocationId)
+                .containsExactly(
+                        tuple(early, near),
+                        tuple(late, near));
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(firstPage.getContent().get(0).getRemainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty time window or a radius over the limit")
+    void shouldRejectInvalidSlotSearch() {
+        assertThatThrownBy(() -> service.findAvailableSlotsNearby(LAT, LON, 5, null, TODAY,
+                NINE_PM, SIX_PM, PageRequest.of(0, 20)))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> service.findServicesWithinRadius(LAT, LON, 500, null, 10))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(locationGridIndex);
+    }
+
+    private SlotAtLocation slot(UUID slotId, UUID serviceId, UUID locationId, LocalTime start) {
+        return new SlotAtLocation(slotId, serviceId, UUID.randomUUID(), UUID.randomUUID(), "Service", locationId,
+                "Branch", "Chennai", TODAY, start, start.plusMinutes(30), 3, 1);
+    }
+}
@@ -1,9 +1,15 @@
 package com.serviq.provider.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.serviq.provider.dto.ProviderDTO;
+import com.serviq.provider.dto.request.BatchGetRequest;
+import com.serviq.provider.dto.response.BatchGetResponse;
 import com.serviq.provider.entity.Provider;
+import com.serviq.provider.entity.ProviderContact;
+import com.serviq.provider.entity.ProviderLocation;
 import com.serviq.provider.entity.enums.ProviderType;
 import com.serviq.provider.entity.enums.VerificationStatus;
+import com.serviq.provider.exception.BusinessValidationException;
 import com.serviq.provider.exception.DuplicateResourceException;
 import com.serviq.provider.exception.ResourceNotFoundException;
 import com.serviq.provider.mapper.ProviderMapper;
@@ -24,7 +30,9 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -110,27 +118,102 @@ public class ProviderManagementServiceImplTest {
 
     @Test
     void getProviderById_Success() {
+        List<ProviderLocation> locations = List.of(ProviderLocation.builder().name("Main").isActive(true).build());
+        when(providerRepository.findWithContactsByIdAndIsActiveTrue(testId)).thenReturn(Optional.of(testProvider));
+        when(providerMapper.toDTO(testProvider)).thenReturn(testProviderDTO);
+        when(providerMapper.toContactDTOList(List.of())).thenReturn(new ArrayList<>());
+        when(locationRepository.findByProviderIdAndIsActiveTrue(testId)).thenReturn(locations);
+        when(providerMapper.toLocationDTOList(locations)).thenReturn(new ArrayList<>());
+
+        ProviderDTO result = providerService.getProviderById(testId, null);
+
+        assertNotNull(result);
+        assertEquals(testId, result.getId());
+        assertNotNull(result.getContacts());
+        assertNotNull(result.getLocations());
+        verify(providerRepository, never()).findByIdAndIsActiveTrue(any());
+    }
+
+    @Test
+    void getProviderById_IncludeNone_ReturnsProviderOnly() {
         when(providerRepository.findByIdAndIsActiveTrue(testId)).thenReturn(Optional.of(testProvider));
         when(providerMapper.toDTO(testProvider)).thenReturn(testProviderDTO);
-        when(providerMapper.toContactDTOList(any())).thenReturn(new ArrayList<>());
-        when(providerMapper.toLocationDTOList(any())).thenReturn(new ArrayList<>());
 
-        ProviderDTO result = providerService.getProviderById(testId);
+        ProviderDTO result = providerService.getProviderById(testId, Set.of("none"));
 
         assertNotNull(result);
         assertEquals(testId, result.getId());
         verify(providerRepository, times(1)).findByIdAndIsActiveTrue(testId);
+        verifyNoInteractions(locationRepository);
+        verify(providerMapper, never()).toContactDTOList(any());
+    }
+
+    @Test
+    void getProviderById_IncludeNoneWithOthers_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () ->
+                providerService.getProviderById(testId, Set.of("none", "contacts"))
+        );
+
+        verifyNoInteractions(providerRepository);
+    }
+
+    @Test
+    void getProviderById_WithContactsAndLocations_Success() {
+        ProviderContact activeContact = ProviderContact.builder().email("active@example.com").isActive(true).build();
+        ProviderContact inactiveContact = ProviderContact.builder().email("inactive@example.com").isActive(false).build();
+        testProvider.addContact(activeContact);
+        testProvider.addContact(inactiveContact);
+        List<ProviderLocation> locations = List.of(ProviderLocation.builder().name("Main").isActive(true).build());
+
+        when(providerRepository.findWithContactsByIdAndIsActiveTrue(testId)).thenReturn(Optional.of(testProvider));
+        when(providerMapper.toDTO(testProvider)).thenReturn(testProviderDTO);
+        when(providerMapper.toContactDTOList(List.of(activeContact))).thenReturn(new ArrayList<>());
+        when(locationRepository.findByProviderIdAndIsActiveTrue(testId)).thenReturn(locations);
+        when(providerMapper.toLocationDTOList(locations)).thenReturn(new ArrayList<>());
+
+        ProviderDTO result = providerService.getProviderById(testId, Set.of("contacts", "LOCATIONS"));
+
+        assertNotNull(result);
+        assertNotNull(result.getContacts());
+        assertNotNull(result.getLocations());
+        verify(providerRepository, never()).findByIdAndIsActiveTrue(any());
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    void getProviderById_UnsupportedInclude_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () ->
+                providerService.getProviderById(testId, Set.of("services"))
+        );
+
+        verifyNoInteractions(providerRepository);
     }
 
     @Test
     void getProviderById_NotFound_ThrowsException() {
-        when(providerRepository.findByIdAndIsActiveTrue(testId)).thenReturn(Optional.empty());
+        when(providerRepository.findWithContactsByIdAndIsActiveTrue(testId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
-                providerService.getProviderById(testId)
+                providerService.getProviderById(testId, null)
         );
     }
 
+    @Test
+    void getProvidersByIds_ReportsMissingIds() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        UUID otherMissingId = UUID.randomUUID();
+        BatchGetRequest request = new ObjectMapper().readValue("{\"ids\": [\"" + otherMissingId + "\", \"" + testId
+                + "\", \"" + missingId + "\", \"" + otherMissingId + "\"]}", BatchGetRequest.class);
+        when(providerRepository.findByIdInAndIsActiveTrue(request.getIds())).thenReturn(List.of(testProvider));
+        when(providerMapper.toDTO(testProvider)).thenReturn(testProviderDTO);
+
+        BatchGetResponse<ProviderDTO> result = providerService.getProvidersByIds(request);
+
+        assertEquals(Map.of(testId, testProviderDTO), result.getFound());
+        assertEquals(List.of(otherMissingId, missingId), result.getMissing());
+        verify(providerRepository, never()).findByIdAndIsActiveTrue(any());
+    }
+
     @Test
     void updateProvider_Success() {
         when(providerRepository.findByIdAndIsActiveTrue(testId)).thenReturn(Optional.of(testProvider));
@@ -1,28 +1,38 @@
 package com.serviq.provider.service;
 
+import com.serviq.provider.dto.event.ServiceEventDto;
+import com.serviq.provider.dto.event.ServiceEventFields;
+import com.serviq.provider.dto.event.ServiceEventType;
 import com.serviq.provider.dto.request.CreateProviderServiceRequest;
 import com.serviq.provider.dto.request.UpdateProviderServiceRequest;
 import com.serviq.provider.dto.response.ProviderServiceResponse;
 import com.serviq.provider.entity.Location;
 import com.serviq.provider.entity.Provider;
 import com.serviq.provider.entity.ProviderService;
+import com.serviq.provider.events.EventPublisher;
+import com.serviq.provider.events.ProviderServiceChangedEvent;
 import com.serviq.provider.exception.ProviderServiceNotFoundException;
 import com.serviq.provider.mapper.ProviderServiceMapper;
 import com.serviq.provider.repository.LocationRepository;
 import com.serviq.provider.repository.ProviderRepository;
 import com.serviq.provider.repository.ProviderServiceRepository;
+import com.serviq.provider.repository.ServiceDensityTileRepository;
+import com.serviq.provider.repository.ServiceLocationRepository;
 import com.serviq.provider.service.impl.ProviderServiceServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -46,9 +56,21 @@ public class ProviderServiceServiceImplTest {
     @Mock
     private LocationRepository locationRepository;
 
+    @Mock
+    private ServiceLocationRepository serviceLocationRepository;
+
+    @Mock
+    private ServiceDensityTileRepository tileRepository;
+
     @Mock
     private ProviderServiceMapper mapper;
 
+    @Mock
+    private EventPublisher<ServiceEventDto> serviceEventPublisher;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @InjectMocks
     private ProviderServiceServiceImpl service;
 
@@ -130,6 +152,7 @@ public class ProviderServiceServiceImplTest {
         location = Location.builder()
                 .id(locationId)
                 .name("Location")
+                .geohash("tf2fm8g2kcwz")
                 .isActive(true)
                 .build();
 
@@ -152,6 +175,8 @@ public class ProviderServiceServiceImplTest {
         // When
         ProviderServiceResponse result = service.createService(createRequest);
 
+        // Then
+        verify(tileRepository, times(1)).adjustCounts("tf2fm8g2kcwz", categoryId, 1);
         //verify(repository, times(1)).findByCategoryId(categoryId);
     }
 
@@ -159,63 +184,73 @@ public class ProviderServiceServiceImplTest {
     @DisplayName("Should deactivate provider service successfully")
     void shouldDeactivateProviderServiceSuccessfully() {
         // Given
-        when(repository.findById(serviceId)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(entity);
+        when(repository.updateActiveStatus(eq(serviceId), eq(false), any(LocalDateTime.class))).thenReturn(1);
 
         // When
         service.deactivateService(serviceId);
 
         // Then
-        assertThat(entity.getIsActive()).isFalse();
-        verify(repository, times(1)).findById(serviceId);
-        verify(repository, times(1)).save(entity);
+        verify(repository, times(1)).updateActiveStatus(eq(serviceId), eq(false), any(LocalDateTime.class));
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+        verify(applicationEventPublisher, times(1)).publishEvent(new ProviderServiceChangedEvent(serviceId));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when deactivating non-existent service")
+    void shouldThrowExceptionWhenDeactivatingNonExistentService() {
+        // Given
+        when(repository.updateActiveStatus(eq(serviceId), eq(false), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> service.deactivateService(serviceId))
+                .isInstanceOf(ProviderServiceNotFoundException.class)
+                .hasMessageContaining(serviceId.toString());
+
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
     @DisplayName("Should activate provider service successfully")
     void shouldActivateProviderServiceSuccessfully() {
         // Given
-        entity.setIsActive(false);
-        when(repository.findById(serviceId)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(entity);
+        when(repository.updateActiveStatus(eq(serviceId), eq(true), any(LocalDateTime.class))).thenReturn(1);
 
         // When
         service.activateService(serviceId);
 
         // Then
-        assertThat(entity.getIsActive()).isTrue();
-        verify(repository, times(1)).findById(serviceId);
-        verify(repository, times(1)).save(entity);
+        verify(repository, times(1)).updateActiveStatus(eq(serviceId), eq(true), any(LocalDateTime.class));
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
     }
 
     @Test
     @DisplayName("Should delete provider service successfully")
     void shouldDeleteProviderServiceSuccessfully() {
         // Given
-        when(repository.existsById(serviceId)).thenReturn(true);
-        doNothing().when(repository).deleteById(serviceId);
+        when(repository.deleteServiceById(serviceId)).thenReturn(1);
 
         // When
         service.deleteService(serviceId);
 
         // Then
-        verify(repository, times(1)).existsById(serviceId);
-        verify(repository, times(1)).deleteById(serviceId);
+        verify(repository, times(1)).deleteServiceById(serviceId);
+        verify(repository, never()).existsById(any());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent service")
     void shouldThrowExceptionWhenDeletingNonExistentService() {
         // Given
-        when(repository.existsById(serviceId)).thenReturn(false);
+        when(repository.deleteServiceById(serviceId)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> service.deleteService(serviceId))
                 .isInstanceOf(ProviderServiceNotFoundException.class)
                 .hasMessageContaining(serviceId.toString());
 
-        verify(repository, times(1)).existsById(serviceId);
-        verify(repository, never()).deleteById(any());
+        verify(repository, times(1)).deleteServiceById(serviceId);
     }
 
 
@@ -223,7 +258,7 @@ public class ProviderServiceServiceImplTest {
     @DisplayName("Should update provider service successfully")
     void shouldUpdateProviderServiceSuccessfully() {
         // Given
-        when(repository.findById(serviceId)).thenReturn(Optional.of(entity));
+        when(repository.findWithLocationsById(serviceId)).thenReturn(Optional.of(entity));
         doNothing().when(mapper).updateEntityFromRequest(updateRequest, entity);
         when(repository.save(entity)).thenReturn(entity);
         when(mapper.toResponse(entity)).thenReturn(response);
@@ -233,23 +268,74 @@ public class ProviderServiceServiceImplTest {
 
         // Then
         assertThat(result).isNotNull();
-        verify(repository, times(1)).findById(serviceId);
+        verify(repository, times(1)).findWithLocationsById(serviceId);
         verify(mapper, times(1)).updateEntityFromRequest(updateRequest, entity);
         verify(repository, times(1)).save(entity);
     }
 
+    @Test
+    @DisplayName("Should publish an update event carrying only the changed fields")
+    void shouldPublishUpdateDeltaWithChangedFieldsOnly() {
+        // Given
+        ReflectionTestUtils.setField(service, "eventPublisherEnabled", true);
+        when(repository.findWithLocationsById(serviceId)).thenReturn(Optional.of(entity));
+        doAnswer(invocation -> {
+            entity.setTitle("Updated Consultation Service");
+            entity.setDuration(45);
+            entity.setPrice(new BigDecimal("100"));
+            return null;
+        }).when(mapper).updateEntityFromRequest(updateRequest, entity);
+        when(repository.save(entity)).thenReturn(entity);
+        when(mapper.toResponse(entity)).thenReturn(response);
+
+        // When
+        service.updateService(serviceId, updateRequest);
+
+        // Then
+        ArgumentCaptor<ServiceEventDto> event = ArgumentCaptor.forClass(ServiceEventDto.class);
+        verify(serviceEventPublisher, times(1)).publish(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo(ServiceEventType.SERVICE_UPDATED.name());
+        assertThat(event.getValue().getServiceId()).isEqualTo(serviceId.toString());
+        // The price only changed scale
+        assertThat(event.getValue().getChangedFields())
+                .containsExactly(ServiceEventFields.TITLE, ServiceEventFields.DURATION);
+        assertThat(event.getValue().getTitle()).isEqualTo("Updated Consultation Service");
+        assertThat(event.getValue().getDuration()).isEqualTo(45);
+        assertThat(event.getValue().getPrice()).isNull();
+        assertThat(event.getValue().getOrgId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should publish a deactivation delta without loading the service")
+    void shouldPublishDeactivationDelta() {
+        // Given
+        ReflectionTestUtils.setField(service, "eventPublisherEnabled", true);
+        when(repository.updateActiveStatus(eq(serviceId), eq(false), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        service.deactivateService(serviceId);
+
+        // Then
+        ArgumentCaptor<ServiceEventDto> event = ArgumentCaptor.forClass(ServiceEventDto.class);
+        verify(serviceEventPublisher, times(1)).publish(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo(ServiceEventType.SERVICE_DEACTIVATED.name());
+        assertThat(event.getValue().getIsActive()).isFalse();
+        assertThat(event.getValue().getChangedFields()).containsExactly(ServiceEventFields.IS_ACTIVE);
+        verify(repository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when updating non-existent service")
     void shouldThrowExceptionWhenUpdatingNonExistentService() {
         // Given
-        when(repository.findById(serviceId)).thenReturn(Optional.empty());
+        when(repository.findWithLocationsById(serviceId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> service.updateService(serviceId, updateRequest))
                 .isInstanceOf(ProviderServiceNotFoundException.class)
                 .hasMessageContaining(serviceId.toString());
 
-        verify(repository, times(1)).findById(serviceId);
+        verify(repository, times(1)).findWithLocationsById(serviceId);
         verify(repository, never()).save(any());
     }
 
@@ -257,9 +343,8 @@ public class ProviderServiceServiceImplTest {
     @DisplayName("Should get provider service by ID successfully")
     void shouldGetProviderServiceByIdSuccessfully() {
         // Given
-        when(repository.findById(serviceId)).thenReturn(Optional.of(entity));
-        when(providerRepository.findById(providerId)).thenReturn(Optional.of(provider));
-        when(mapper.toResponse(entity)).thenReturn(response);
+        response.setProviderName(provider.getName());
+        when(repository.findResponseById(serviceId)).thenReturn(Optional.of(response));
 
         // When
         ProviderServiceResponse result = service.getServiceById(serviceId);
@@ -267,30 +352,31 @@ public class ProviderServiceServiceImplTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(serviceId);
-        verify(repository, times(1)).findById(serviceId);
-        verify(mapper, times(1)).toResponse(entity);
+        assertThat(result.getProviderName()).isEqualTo(provider.getName());
+        verify(repository, times(1)).findResponseById(serviceId);
+        verify(serviceLocationRepository, times(1)).findViewsByServiceIds(List.of(serviceId));
+        verify(providerRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should throw exception when service not found by ID")
     void shouldThrowExceptionWhenServiceNotFoundById() {
         // Given
-        when(repository.findById(serviceId)).thenReturn(Optional.empty());
+        when(repository.findResponseById(serviceId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> service.getServiceById(serviceId))
                 .isInstanceOf(ProviderServiceNotFoundException.class)
                 .hasMessageContaining(serviceId.toString());
 
-        verify(repository, times(1)).findById(serviceId);
+        verify(repository, times(1)).findResponseById(serviceId);
     }
 
     @Test
     @DisplayName("Should get provider service by ID and Org ID successfully")
     void shouldGetProviderServiceByIdAndOrgIdSuccessfully() {
         // Given
-        when(repository.findByIdAndOrgId(serviceId, orgId)).thenReturn(Optional.of(entity));
-        when(mapper.toResponse(entity)).thenReturn(response);
+        when(repository.findResponseByIdAndOrgId(serviceId, orgId)).thenReturn(Optional.of(response));
 
         // When
         ProviderServiceResponse result = service.getServiceByIdAndOrgId(serviceId, orgId);
@@ -299,16 +385,14 @@ public class ProviderServiceServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(serviceId);
         assertThat(result.getOrgId()).isEqualTo(orgId);
-        verify(repository, times(1)).findByIdAndOrgId(serviceId, orgId);
+        verify(repository, times(1)).findResponseByIdAndOrgId(serviceId, orgId);
     }
 
     @Test
     @DisplayName("Should get services by provider ID successfully")
     void shouldGetServicesByProviderIdSuccessfully() {
         // Given
-        List<ProviderService> entities = Arrays.asList(entity);
-        when(repository.findByProviderId(providerId)).thenReturn(entities);
-        when(mapper.toResponse(entity)).thenReturn(response);
+        when(repository.findResponsesByProviderId(providerId)).thenReturn(List.of(response));
 
         // When
         List<ProviderServiceResponse> results = service.getServicesByProviderId(providerId);
@@ -317,16 +401,36 @@ public class ProviderServiceServiceImplTest {
         assertThat(results).isNotEmpty();
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getProviderId()).isEqualTo(providerId);
-        verify(repository, times(1)).findByProviderId(providerId);
+        verify(repository, times(1)).findResponsesByProviderId(providerId);
+        verify(serviceLocationRepository, times(1)).findViewsByServiceIds(List.of(serviceId));
+        verify(mapper, never()).toResponse(any());
+    }
+
+    @Test
+    @DisplayName("Should return search results in relevance order")
+    void shouldReturnSearchResultsInRelevanceOrder() {
+        // Given
+        UUID otherId = UUID.randomUUID();
+        ProviderServiceResponse other = ProviderServiceResponse.builder().id(otherId).title("Dental Cleaning").build();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.searchIdsByTitle("dentl", pageable))
+                .thenReturn(new PageImpl<>(List.of(otherId, serviceId), pageable, 2));
+        when(repository.findResponsesByIdIn(List.of(otherId, serviceId))).thenReturn(List.of(response, other));
+
+        // When
+        Page<ProviderServiceResponse> results = service.searchServices("dentl", pageable);
+
+        // Then
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThat(results.getContent()).extracting(ProviderServiceResponse::getId).containsExactly(otherId, serviceId);
+        verify(serviceLocationRepository, times(1)).findViewsByServiceIds(List.of(otherId, serviceId));
     }
 
     @Test
     @DisplayName("Should get active services by provider ID successfully")
     void shouldGetActiveServicesByProviderIdSuccessfully() {
         // Given
-        List<ProviderService> entities = Arrays.asList(entity);
-        when(repository.findByProviderIdAndIsActiveTrue(providerId)).thenReturn(entities);
-        when(mapper.toResponse(entity)).thenReturn(response);
+        when(repository.findActiveResponsesByProviderId(providerId)).thenReturn(List.of(response));
 
         // When
         List<ProviderServiceResponse> results = service.getActiveServicesByProviderId(providerId);
@@ -335,7 +439,7 @@ public class ProviderServiceServiceImplTest {
         assertThat(results).isNotEmpty();
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getIsActive()).isTrue();
-        verify(repository, times(1)).findByProviderIdAndIsActiveTrue(providerId);
+        verify(repository, times(1)).findActiveResponsesByProviderId(providerId);
     }
 
     @Test
@@ -343,9 +447,8 @@ public class ProviderServiceServiceImplTest {
     void shouldGetServicesByOrgIdWithPagination() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ProviderService> entityPage = new PageImpl<>(Arrays.asList(entity));
-        when(repository.findByOrgId(orgId, pageable)).thenReturn(entityPage);
-        when(mapper.toResponse(entity)).thenReturn(response);
+        Page<ProviderServiceResponse> responsePage = new PageImpl<>(List.of(response));
+        when(repository.findResponsesByOrgId(orgId, pageable)).thenReturn(responsePage);
 
         // When
         Page<ProviderServiceResponse> results = service.getServicesByOrgId(orgId, pageable);
@@ -353,6 +456,6 @@ public class ProviderServiceServiceImplTest {
         // Then
         assertThat(results).isNotEmpty();
         assertThat(results.getTotalElements()).isEqualTo(1);
-        verify(repository, times(1)).findByOrgId(orgId, pageable);
+        verify(repository, times(1)).findResponsesByOrgId(orgId, pageable);
     }
 }
@@ -0,0 +1,114 @@
+package com.serviq.provider.service;
+
+import com.serviq.provider.dto.response.DensityMapResponse;
+import com.serviq.provider.dto.response.DensityTileResponse;
+import com.serviq.provider.entity.ServiceDensityTile;
+import com.serviq.provider.entity.ServiceDensityTileId;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.geo.GeoBounds;
+import com.serviq.provider.repository.ServiceDensityTileRepository;
+import com.serviq.provider.service.impl.ServiceDensityServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ServiceDensityService Unit Tests")
+public class ServiceDensityServiceImplTest {
+
+    private static final GeoBounds CHENNAI = new GeoBounds(12.9, 80.1, 13.1, 80.3);
+
+    @Mock
+    private ServiceDensityTileRepository tileRepository;
+
+    @InjectMocks
+    private ServiceDensityServiceImpl service;
+
+    private final UUID dental = UUID.randomUUID();
+    private final UUID physio = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should sum category counts per tile")
+    void shouldReturnTilesWithCategoryCounts() {
+        // Given
+        when(tileRepository.findNonEmptyByGeohashIn(anyCollection())).thenReturn(List.of(
+                tile("tf2fm", dental, 3),
+                tile("tf2fm", physio, 2),
+                tile("tf341", dental, 1)));
+
+        // When
+        DensityMapResponse response = service.getTiles(CHENNAI, 10, null);
+
+        // Then
+        assertThat(response.getPrecision()).isEqualTo(5);
+        assertThat(response.getTotalServices()).isEqualTo(6);
+        assertThat(response.getTiles()).extracting(DensityTileResponse::getGeohash, DensityTileResponse::getServiceCount)
+                .containsExactly(
+                        tuple("tf2fm", 5L),
+                        tuple("tf341", 1L));
+        assertThat(response.getTiles().get(0).getCountsByCategory()).isEqualTo(Map.of(dental, 3L, physio, 2L));
+    }
+
+    @Test
+    @DisplayName("Should count only the requested categories")
+    void shouldFilterCategories() {
+        // Given
+        when(tileRepository.findNonEmptyByGeohashIn(anyCollection())).thenReturn(List.of(
+                tile("tf2fm", dental, 3),
+                tile("tf2fm", physio, 2),
+                tile("tf341", dental, 1)));
+
+        // When
+        DensityMapResponse response = service.getTiles(CHENNAI, 10, Set.of(physio));
+
+        // Then
+        assertThat(response.getTotalServices()).isEqualTo(2);
+        assertThat(response.getTiles()).extracting(DensityTileResponse::getGeohash).containsExactly("tf2fm");
+    }
+
+    @Test
+    @DisplayName("Should fall back to coarser tiles when the box is large for the zoom")
+    void shouldCoarsenPrecisionForLargeBoxes() {
+        // Given
+        when(tileRepository.findNonEmptyByGeohashIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        DensityMapResponse response = service.getTiles(new GeoBounds(-90, -180, 90, 180), 12, null);
+
+        // Then
+        assertThat(response.getPrecision()).isEqualTo(2);
+        assertThat(response.getTiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid zoom or bounding box")
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> service.getTiles(CHENNAI, 23, null))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> service.getTiles(new GeoBounds(13.1, 80.1, 12.9, 80.3), 10, null))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(tileRepository);
+    }
+
+    private static ServiceDensityTile tile(String geohash, UUID categoryId, int count) {
+        return ServiceDensityTile.builder()
+                .id(new ServiceDensityTileId(geohash, categoryId))
+                .serviceCount(count)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.serviq.provider.service;
+
+import com.serviq.provider.dto.projection.SlotCell;
+import com.serviq.provider.dto.request.NextAvailableSlotsRequestDto;
+import com.serviq.provider.dto.response.CompactAvailabilityResponseDto;
+import com.serviq.provider.dto.response.NextAvailableSlotsResponseDto;
+import com.serviq.provider.dto.response.SlotResponseDto;
+import com.serviq.provider.entity.Slot;
+import com.serviq.provider.exception.BusinessValidationException;
+import com.serviq.provider.exception.ResourceNotFoundException;
+import com.serviq.provider.mapper.SlotMapper;
+import com.serviq.provider.repository.SlotRepository;
+import com.serviq.provider.service.impl.SlotServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlotService Unit Tests")
+public class SlotServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 2, 14, 30);
+
+    @Mock
+    private SlotRepository slotRepository;
+
+    @Mock
+    private SlotMapper slotMapper;
+
+    @InjectMocks
+    private SlotServiceImpl slotService;
+
+    @Test
+    @DisplayName("Should return the first bookable slot of a service")
+    void shouldReturnNextAvailableSlot() {
+        // Given
+        UUID providerServiceId = UUID.randomUUID();
+        SlotResponseDto slot = SlotResponseDto.builder().id(UUID.randomUUID()).build();
+        when(slotRepository.findNextAvailableSlotResponses(providerServiceId,
+                LocalDate.of(2026, 3, 2), LocalTime.of(14, 30), Limit.of(1))).thenReturn(List.of(slot));
+
+        // When
+        SlotResponseDto result = slotService.getNextAvailableSlot(providerServiceId, FROM);
+
+        // Then
+        assertThat(result).isSameAs(slot);
+    }
+
+    @Test
+    @DisplayName("Should throw when a provider has no bookable slot")
+    void shouldThrowWhenProviderHasNoAvailableSlot() {
+        // Given
+        UUID providerId = UUID.randomUUID();
+        when(slotRepository.findNextAvailableSlotResponsesByProvider(eq(providerId), any(), any(), eq(Limit.of(1))))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> slotService.getNextAvailableSlotForProvider(providerId, FROM))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(providerId.toString());
+    }
+
+    @Test
+    @DisplayName("Should key next slots by service and list services without one")
+    void shouldReturnNextAvailableSlotsPerService() {
+        // Given
+        UUID booked = UUID.randomUUID();
+        UUID open = UUID.randomUUID();
+        Slot slot = Slot.builder().id(UUID.randomUUID()).providerServiceId(open).build();
+        SlotResponseDto response = SlotResponseDto.builder().id(slot.getId()).providerServiceId(open).build();
+        when(slotRepository.findNextAvailableSlots(any(), eq(FROM.toLocalDate()), eq(FROM.toLocalTime())))
+                .thenReturn(List.of(slot));
+        when(slotMapper.toResponseDto(slot)).thenReturn(response);
+
+        NextAvailableSlotsRequestDto request = NextAvailableSlotsRequestDto.builder()
+                .providerServiceIds(new LinkedHashSet<>(List.of(booked, open)))
+                .from(FROM)
+                .build();
+
+        // When
+        NextAvailableSlotsResponseDto result = slotService.getNextAvailableSlots(request);
+
+        // Then
+        assertThat(result.getFrom()).isEqualTo(FROM);
+        assertThat(result.getSlots()).containsOnlyKeys(open);
+        assertThat(result.getSlots().get(open)).isSameAs(response);
+        assertThat(result.getUnavailable()).containsExactly(booked);
+    }
+
+    @Test
+    @DisplayName("Should encode free and booked cells per day on a shared grid")
+    void shouldEncodeCompactAvailability() {
+        // Given
+        UUID providerServiceId = UUID.randomUUID();
+        LocalDate startDate = LocalDate.of(2026, 3, 2);
+        when(slotRepository.findSlotCells(providerServiceId, startDate, startDate.plusDays(1))).thenReturn(List.of(
+                new SlotCell(startDate, LocalTime.of(9, 0), LocalTime.of(9, 30), true),
+                new SlotCell(startDate, LocalTime.of(9, 30), LocalTime.of(10, 0), false),
+                new SlotCell(startDate, LocalTime.of(10, 30), LocalTime.of(11, 0), true)));
+
+        // When
+        CompactAvailabilityResponseDto result = slotService.getCompactAvailability(providerServiceId, startDate, 2);
+
+        // Then
+        assertThat(result.getGridStart()).isEqualTo(LocalTime.of(9, 0));
+        assertThat(result.getCellMinutes()).isEqualTo(30);
+        assertThat(result.getCellsPerDay()).isEqualTo(4);
+        // Cells 0 and 3 free, cell 1 booked, nothing on the second day
+        assertThat(result.getFree()).containsExactly("CQ==", "");
+        assertThat(result.getBooked()).containsExactly("Ag==", "");
+    }
+
+    @Test
+    @DisplayName("Should reject a calendar longer than the maximum")
+    void shouldRejectTooManyCalendarDays() {
+        // When & Then
+        assertThatThrownBy(() -> slotService.getCompactAvailability(UUID.randomUUID(), LocalDate.now(), 90))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(slotRepository);
+    }
+}
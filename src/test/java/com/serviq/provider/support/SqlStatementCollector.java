@@ -0,0 +1,59 @@
+package com.serviq.provider.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Records every SQL statement Hibernate prepares so tests can assert on the
+ * exact number of round trips an operation performs. Registered through
+ * {@code hibernate.session_factory.statement_inspector} in the test profile.
+ */
+public class SqlStatementCollector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static List<String> statementsOn(String table) {
+        Pattern pattern = Pattern.compile("\\b(provider\\.)?" + Pattern.quote(table) + "\\b", Pattern.CASE_INSENSITIVE);
+        return STATEMENTS.stream()
+                .filter(sql -> pattern.matcher(sql).find())
+                .toList();
+    }
+
+    public static List<String> reads() {
+        return STATEMENTS.stream()
+                .filter(sql -> !isWrite(sql))
+                .toList();
+    }
+
+    public static List<String> writesOn(String table) {
+        return statementsOn(table).stream()
+                .filter(SqlStatementCollector::isWrite)
+                .toList();
+    }
+
+    public static boolean isWrite(String sql) {
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("insert")
+                || normalized.startsWith("update")
+                || normalized.startsWith("delete")
+                || (normalized.startsWith("with") && normalized.matches("(?s).*\\b(insert|update|delete)\\b.*"));
+    }
+}